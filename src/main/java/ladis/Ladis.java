@@ -1,20 +1,11 @@
 package ladis;
 
 import java.io.IOException;
-import java.util.stream.Collectors;
-import java.util.stream.IntStream;
 
-import ladis.command.ArchiveCommand;
 import ladis.command.Command;
-import ladis.command.DeleteCommand;
-import ladis.command.ExitCommand;
-import ladis.command.FindCommand;
-import ladis.command.ListCommand;
-import ladis.command.MarkCommand;
-import ladis.command.UnmarkCommand;
+import ladis.command.CommandResult;
 import ladis.exception.LadisException;
 import ladis.storage.Storage;
-import ladis.task.Task;
 import ladis.task.TaskList;
 import ladis.ui.UI;
 import ladis.util.Parser;
@@ -24,6 +15,8 @@ import ladis.util.Parser;
  * Manages the main application loop, coordinates between UI, Parser, Storage, and TaskList.
  */
 public class Ladis {
+    private static final int BACKUP_GENERATIONS = 2;
+
     private final Storage storage;
     private TaskList tasks;
     private final UI ui;
@@ -36,13 +29,16 @@ public class Ladis {
      * @param filePath The path to the file where task data is stored.
      */
     public Ladis(String filePath) {
-        this.storage = new Storage(filePath);
+        this.storage = new Storage(filePath, true, true);
+        this.storage.setBackupGenerations(BACKUP_GENERATIONS);
         this.ui = new UI();
         this.parser = new Parser();
         this.tasks = new TaskList();
         this.commandType = "";
+        // Changes are written on a background thread, so save them however the process ends
+        Runtime.getRuntime().addShutdownHook(new Thread(this::closeStorage, "ladis-shutdown"));
         try {
-            tasks = new TaskList(storage.load());
+            tasks = storage.loadTaskList();
         } catch (IOException e) {
             ui.showError("Oops! Something went wrong when loading from disk!");
         }
@@ -57,7 +53,7 @@ public class Ladis {
         ui.showWelcome();
 
         try {
-            tasks = new TaskList(storage.load());
+            tasks = storage.loadTaskList();
         } catch (IOException e) {
             ui.showError("Oops! Something went wrong when loading from disk!");
         }
@@ -73,9 +69,26 @@ public class Ladis {
             }
         }
 
+        closeStorage();
         ui.close();
     }
 
+    /**
+     * Writes any pending changes to disk and stops the storage's background threads.
+     * Called on exit, when the GUI window closes, and at shutdown; calling it again is harmless.
+     *
+     * @return true if everything was saved, false otherwise.
+     */
+    public boolean closeStorage() {
+        try {
+            storage.close();
+            return true;
+        } catch (IOException e) {
+            ui.showError("Oops! Something went wrong when saving to disk!");
+            return false;
+        }
+    }
+
     /**
      * Entry point for the Ladis application.
      *
@@ -87,7 +100,7 @@ public class Ladis {
 
     /**
      * Generates a response for the user's chat message.
-     * Used by the GUI to process commands.
+     * Used by the GUI to process commands: the input is parsed once and the command's result is shown as is.
      *
      * @param input The user's input command.
      * @return The response from executing the command.
@@ -100,209 +113,17 @@ public class Ladis {
             commandType = command.getClass().getSimpleName();
             assert commandType != null && !commandType.isEmpty() : "Command type should be set after parsing";
 
-            if (command instanceof ExitCommand) {
-                return "Goodbye! Hope to see you again soon!";
-            } else if (command instanceof ListCommand) {
-                return handleListCommand();
-            } else if (command instanceof FindCommand) {
-                return handleFindCommand(input);
-            } else if (command instanceof MarkCommand) {
-                return handleMarkCommand(input);
-            } else if (command instanceof UnmarkCommand) {
-                return handleUnmarkCommand(input);
-            } else if (command instanceof DeleteCommand) {
-                return handleDeleteCommand(input);
-            } else if (command instanceof ArchiveCommand) {
-                return handleArchiveCommand(input);
-            } else {
-                return handleAddCommand(command);
+            CommandResult result = command.execute(tasks, storage);
+            if (result.isExit() && !closeStorage()) {
+                return "Goodbye! Some changes could not be saved to disk.";
             }
+            return result.getText();
         } catch (LadisException e) {
             commandType = "";
             return "Error: " + e.getMessage();
         }
     }
 
-    /**
-     * Handles the list command by building a formatted list of all tasks.
-     *
-     * @return Formatted list of tasks or empty list message.
-     */
-    private String handleListCommand() {
-        if (tasks.size() == 0) {
-            return "You have no tasks.";
-        }
-        return IntStream.rangeClosed(1, tasks.size())
-                .mapToObj(i -> i + ". " + tasks.getTask(i - 1))
-                .collect(Collectors.joining("\n", "", "\n"));
-    }
-
-    /**
-     * Handles the find command by searching tasks by keyword.
-     *
-     * @param input The user input containing the search keyword.
-     * @return Formatted list of matching tasks or no matches message.
-     */
-    private String handleFindCommand(String input) {
-        String keyword = getKeywordFromInput(input).toLowerCase();
-        String results = IntStream.range(0, tasks.size())
-                .mapToObj(i -> tasks.getTask(i))
-                .filter(task -> task.getDescription().toLowerCase().contains(keyword))
-                .map(Object::toString)
-                .collect(Collectors.joining("\n", "", ""));
-
-        if (results.isEmpty()) {
-            return "No matching tasks found.";
-        }
-        return "Here are the matching tasks in your list:\n" + results + "\n";
-    }
-
-    /**
-     * Handles the mark command by marking a task as done.
-     *
-     * @param input The user input containing the task index.
-     * @return Status message about the marked task.
-     * @throws LadisException If an error occurs during task marking.
-     */
-    private String handleMarkCommand(String input) throws LadisException {
-        int index = getLastTaskIndexFromMarkCommand(input);
-        if (!isValidTaskIndex(index)) {
-            return "Task marked as done!";
-        }
-        try {
-            tasks.markTask(index);
-            storage.save(tasks.getTasks());
-            return "Nice! I've marked this task as done:\n  " + tasks.getTask(index);
-        } catch (IOException e) {
-            return "Task marked, but failed to save: " + e.getMessage();
-        }
-    }
-
-    /**
-     * Handles the unmark command by marking a task as not done.
-     *
-     * @param input The user input containing the task index.
-     * @return Status message about the unmarked task.
-     * @throws LadisException If an error occurs during task unmarking.
-     */
-    private String handleUnmarkCommand(String input) throws LadisException {
-        int index = getLastTaskIndexFromMarkCommand(input);
-        if (!isValidTaskIndex(index)) {
-            return "Task unmarked!";
-        }
-        try {
-            tasks.unmarkTask(index);
-            storage.save(tasks.getTasks());
-            return "OK, I've marked this task as not done yet:\n  " + tasks.getTask(index);
-        } catch (IOException e) {
-            return "Task unmarked, but failed to save: " + e.getMessage();
-        }
-    }
-
-    /**
-     * Handles the delete command by removing a task from the list.
-     *
-     * @param input The user input containing the task index.
-     * @return Status message about the deleted task.
-     */
-    private String handleDeleteCommand(String input) {
-        int index = getLastTaskIndexFromMarkCommand(input);
-        if (!isValidTaskIndex(index)) {
-            return "Task deleted!";
-        }
-        Task deletedTask = tasks.getTask(index);
-        tasks.removeTask(index);
-        try {
-            storage.save(tasks.getTasks());
-            return "Noted. I've removed this task:\n  " + deletedTask
-                    + "\nNow you have " + tasks.size() + " task(s) in the list.";
-        } catch (IOException e) {
-            return "Task deleted, but failed to save: " + e.getMessage();
-        }
-    }
-
-    /**
-     * Handles the archive command by archiving a task to the archive file.
-     *
-     * @param input The user input containing the task index.
-     * @return Status message about the archived task.
-     */
-    private String handleArchiveCommand(String input) {
-        int index = getLastTaskIndexFromMarkCommand(input);
-        if (!isValidTaskIndex(index)) {
-            return "Task archived!";
-        }
-        Task archivedTask = tasks.getTask(index);
-        tasks.removeTask(index);
-        try {
-            storage.saveArchived(archivedTask);
-            storage.save(tasks.getTasks());
-            return "Archived! I've moved this task to the archive:\n  " + archivedTask
-                    + "\nNow you have " + tasks.size() + " task(s) in the list.";
-        } catch (IOException e) {
-            return "Task archived, but failed to save: " + e.getMessage();
-        }
-    }
-
-    /**
-     * Handles add commands by executing the command and returning a status message.
-     *
-     * @param command The add command to execute.
-     * @return Status message about the added task.
-     * @throws LadisException If an error occurs during command execution.
-     */
-    private String handleAddCommand(Command command) throws LadisException {
-        int beforeSize = tasks.size();
-        command.execute(tasks, ui, storage);
-        int afterSize = tasks.size();
-
-        if (afterSize > beforeSize) {
-            Task newTask = tasks.getTask(afterSize - 1);
-            return "Got it. I've added this task:\n  " + newTask
-                    + "\nNow you have " + afterSize + " task(s) in the list.";
-        }
-        return "Command executed successfully!";
-    }
-
-    /**
-     * Checks if a task index is valid for the current task list.
-     *
-     * @param index The index to check.
-     * @return true if the index is valid (non-negative and within bounds).
-     */
-    private boolean isValidTaskIndex(int index) {
-        return index >= 0 && index < tasks.size();
-    }
-
-    /**
-     * Helper method to extract the task index from mark/unmark/delete commands.
-     */
-    private int getLastTaskIndexFromMarkCommand(String input) {
-        try {
-            assert input != null : "Input should not be null";
-            String[] parts = input.trim().split("\\s+");
-            if (parts.length > 1) {
-                int index = Integer.parseInt(parts[1]) - 1; // Convert to 0-indexed
-                assert index >= -1 : "Parsed task index should be a valid integer";
-                return index;
-            }
-        } catch (NumberFormatException e) {
-            // Ignore and return -1
-        }
-        return -1;
-    }
-
-    /**
-     * Helper method to extract the keyword from find command.
-     */
-    private String getKeywordFromInput(String input) {
-        String[] parts = input.trim().split("\\s+", 2);
-        if (parts.length > 1) {
-            return parts[1];
-        }
-        return "";
-    }
-
     /**
      * Gets the type of the last command that was executed.
      *
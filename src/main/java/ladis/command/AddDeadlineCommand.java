@@ -1,13 +1,10 @@
 package ladis.command;
 
-import java.io.IOException;
-
 import ladis.exception.DateTimeParseException;
 import ladis.exception.LadisException;
 import ladis.storage.Storage;
 import ladis.task.Deadline;
 import ladis.task.TaskList;
-import ladis.ui.UI;
 
 /**
  * Command to add a new deadline task.
@@ -25,22 +22,13 @@ public class AddDeadlineCommand extends Command {
     }
 
     @Override
-    public boolean execute(TaskList tasks, UI ui, Storage storage) throws LadisException {
+    public CommandResult execute(TaskList tasks, Storage storage) throws LadisException {
         try {
-            tasks.addTask(new Deadline(parts[0], parts[1]));
-            ui.showTaskAdded("[D][ ] " + parts[0] + " (by: " + parts[1] + ")", tasks.size());
-            saveToStorage(tasks, ui, storage);
+            Deadline deadline = new Deadline(parts[0], parts[1]);
+            tasks.addTask(deadline);
+            return taskAdded(tasks, deadline).withWarning(save(tasks, storage));
         } catch (DateTimeParseException e) {
             throw new LadisException(e.getMessage());
         }
-        return false;
-    }
-
-    private void saveToStorage(TaskList tasks, UI ui, Storage storage) {
-        try {
-            storage.save(tasks.getTasks());
-        } catch (IOException e) {
-            ui.showWarning("Could not save task to disk.");
-        }
     }
 }
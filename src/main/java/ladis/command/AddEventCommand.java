@@ -1,13 +1,12 @@
 package ladis.command;
 
-import java.io.IOException;
+import java.util.List;
 
 import ladis.exception.DateTimeParseException;
 import ladis.exception.LadisException;
 import ladis.storage.Storage;
 import ladis.task.Event;
 import ladis.task.TaskList;
-import ladis.ui.UI;
 
 /**
  * Command to add a new event task.
@@ -25,24 +24,35 @@ public class AddEventCommand extends Command {
     }
 
     @Override
-    public boolean execute(TaskList tasks, UI ui, Storage storage) throws LadisException {
+    public CommandResult execute(TaskList tasks, Storage storage) throws LadisException {
         try {
-            tasks.addTask(new Event(eventParts[0], eventParts[1], eventParts[2]));
-            String eventInfo = "[E][ ] " + eventParts[0] + " (from: " + eventParts[1]
-                    + " to: " + eventParts[2] + ")";
-            ui.showTaskAdded(eventInfo, tasks.size());
-            saveToStorage(tasks, ui, storage);
+            Event event = new Event(eventParts[0], eventParts[1], eventParts[2]);
+            tasks.addTask(event);
+            return taskAdded(tasks, event)
+                    .withWarning(getConflictWarning(tasks, event))
+                    .withWarning(save(tasks, storage));
         } catch (DateTimeParseException e) {
             throw new LadisException(e.getMessage());
         }
-        return false;
     }
 
-    private void saveToStorage(TaskList tasks, UI ui, Storage storage) {
-        try {
-            storage.save(tasks.getTasks());
-        } catch (IOException e) {
-            ui.showWarning("Could not save task to disk.");
+    /**
+     * Describes the events in the list that the given event overlaps.
+     *
+     * @param tasks The task list holding the event.
+     * @param event The event to check.
+     * @return A warning naming the clashing events, or an empty string if there are none.
+     */
+    public static String getConflictWarning(TaskList tasks, Event event) {
+        List<Event> clashes = tasks.findOverlappingEvents(event);
+        if (clashes.isEmpty()) {
+            return "";
+        }
+        StringBuilder warning = new StringBuilder("This event clashes with ")
+                .append(clashes.size()).append(" other event(s):");
+        for (Event clash : clashes) {
+            warning.append("\n  ").append(clash);
         }
+        return warning.toString();
     }
 }
@@ -1,11 +1,8 @@
 package ladis.command;
 
-import java.io.IOException;
-
 import ladis.storage.Storage;
 import ladis.task.TaskList;
 import ladis.task.Todo;
-import ladis.ui.UI;
 
 /**
  * Command to add a new todo task.
@@ -23,18 +20,9 @@ public class AddTodoCommand extends Command {
     }
 
     @Override
-    public boolean execute(TaskList tasks, UI ui, Storage storage) {
-        tasks.addTask(new Todo(description));
-        ui.showTaskAdded("[T][ ] " + description, tasks.size());
-        saveToStorage(tasks, ui, storage);
-        return false;
-    }
-
-    private void saveToStorage(TaskList tasks, UI ui, Storage storage) {
-        try {
-            storage.save(tasks.getTasks());
-        } catch (IOException e) {
-            ui.showWarning("Could not save task to disk.");
-        }
+    public CommandResult execute(TaskList tasks, Storage storage) {
+        Todo todo = new Todo(description);
+        tasks.addTask(todo);
+        return taskAdded(tasks, todo).withWarning(save(tasks, storage));
     }
 }
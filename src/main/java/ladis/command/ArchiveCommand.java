@@ -6,14 +6,14 @@ import ladis.exception.LadisException;
 import ladis.storage.Storage;
 import ladis.task.Task;
 import ladis.task.TaskList;
-import ladis.ui.UI;
+import ladis.task.TaskReference;
 
 /**
  * Command to archive a task from the list.
  * Archived tasks are moved to a separate archive file and removed from the main list.
  */
 public class ArchiveCommand extends Command {
-    private final int index;
+    private final TaskReference task;
 
     /**
      * Constructs an ArchiveCommand with the specified task index.
@@ -21,22 +21,37 @@ public class ArchiveCommand extends Command {
      * @param index The zero-indexed position of the task to archive.
      */
     public ArchiveCommand(int index) {
-        this.index = index;
+        this(TaskReference.ofIndex(index));
     }
 
+    /**
+     * Constructs an ArchiveCommand for the referenced task, given by position or by ID.
+     *
+     * @param task The task to archive.
+     */
+    public ArchiveCommand(TaskReference task) {
+        this.task = task;
+    }
+
+    /**
+     * Executes the archive command by moving the task to the archive and saving the task list.
+     *
+     * @param tasks The task list to take the task from.
+     * @param storage The storage holding the archive.
+     * @return The archived task and the new task count, and a warning if the change could not be saved.
+     * @throws LadisException If the task index is invalid.
+     */
     @Override
-    public boolean execute(TaskList tasks, UI ui, Storage storage) throws LadisException {
-        if (index < 0 || index >= tasks.size()) {
-            throw new LadisException("Very funny. Now give me a valid task number.");
-        }
-        Task archived = tasks.removeTask(index);
+    public CommandResult execute(TaskList tasks, Storage storage) throws LadisException {
+        Task archived = task.removeFrom(tasks);
+        CommandResult result = new CommandResult("Archived! I've moved this task to the archive:\n  " + archived
+                + "\nNow you have " + tasks.size() + " task(s) in the list.");
         try {
             storage.saveArchived(archived);
-            storage.save(tasks.getTasks());
+            storage.save(tasks);
+            return result;
         } catch (IOException e) {
-            ui.showWarning("Could not save archived task to disk.");
+            return result.withWarning("Could not save archived task to disk.");
         }
-        ui.showTaskArchived(archived.toString(), tasks.size());
-        return false;
     }
 }
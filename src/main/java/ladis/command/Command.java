@@ -1,17 +1,31 @@
 package ladis.command;
 
+import java.io.IOException;
+
 import ladis.exception.LadisException;
 import ladis.storage.Storage;
+import ladis.task.Task;
 import ladis.task.TaskList;
 import ladis.ui.UI;
 
 /**
  * Abstract base class for all commands.
- * All command types extend this class to implement the execute method.
+ * Every command carries its already-parsed arguments and builds a {@link CommandResult} from them, which
+ * the console shows through the {@link UI} and the GUI shows as a chat reply, so both run the same code.
  */
 public abstract class Command {
     /**
-     * Executes the command with access to the task list, UI, and storage.
+     * Executes the command and returns its outcome without displaying anything.
+     *
+     * @param tasks The task list to operate on.
+     * @param storage The storage to persist changes.
+     * @return The reply, any warning, and whether to exit.
+     * @throws LadisException If an error occurs during command execution.
+     */
+    public abstract CommandResult execute(TaskList tasks, Storage storage) throws LadisException;
+
+    /**
+     * Executes the command and displays its outcome on the console.
      *
      * @param tasks The task list to operate on.
      * @param ui The UI to display output.
@@ -19,5 +33,41 @@ public abstract class Command {
      * @return true if this command is an exit command (terminates the program), false otherwise.
      * @throws LadisException If an error occurs during command execution.
      */
-    public abstract boolean execute(TaskList tasks, UI ui, Storage storage) throws LadisException;
+    public boolean execute(TaskList tasks, UI ui, Storage storage) throws LadisException {
+        CommandResult result = execute(tasks, storage);
+        ui.showMessage(result.getMessage());
+        if (result.hasWarning()) {
+            ui.showWarning(result.getWarning());
+        }
+        return result.isExit();
+    }
+
+    /**
+     * Builds the reply confirming that a task was added.
+     *
+     * @param tasks The task list the task was added to.
+     * @param task The added task.
+     * @return The reply naming the task and the new task count.
+     */
+    protected static CommandResult taskAdded(TaskList tasks, Task task) {
+        return new CommandResult("Got it. I've added this task:\n  " + task
+                + "\nNow you have " + tasks.size() + " task(s) in the list.");
+    }
+
+    /**
+     * Saves the task list after a change. A failed save does not undo the change, so it is reported as a
+     * warning rather than thrown.
+     *
+     * @param tasks The task list to save.
+     * @param storage The storage to save to.
+     * @return An empty string if the list was saved, or the warning to show otherwise.
+     */
+    protected static String save(TaskList tasks, Storage storage) {
+        try {
+            storage.save(tasks);
+            return "";
+        } catch (IOException e) {
+            return "Could not save task to disk.";
+        }
+    }
 }
@@ -0,0 +1,86 @@
+package ladis.command;
+
+/**
+ * Outcome of executing a command: the reply to show the user, an optional warning about something that went
+ * wrong on the side, such as a failed save, and whether the application should exit.
+ * Results are immutable; {@link #withWarning(String)} returns a copy.
+ */
+public class CommandResult {
+    private final String message;
+    private final String warning;
+    private final boolean isExit;
+
+    /**
+     * Constructs a result carrying a reply, with no warning, that keeps the application running.
+     *
+     * @param message The reply to show the user.
+     */
+    public CommandResult(String message) {
+        this(message, "", false);
+    }
+
+    private CommandResult(String message, String warning, boolean isExit) {
+        assert message != null : "Result message should not be null";
+        this.message = message;
+        this.warning = warning;
+        this.isExit = isExit;
+    }
+
+    /**
+     * Returns a result carrying a reply that ends the application.
+     *
+     * @param message The farewell to show the user.
+     * @return The exit result.
+     */
+    public static CommandResult exit(String message) {
+        return new CommandResult(message, "", true);
+    }
+
+    /**
+     * Returns a copy of this result with a warning added after any it already has.
+     *
+     * @param warning The warning, or an empty string for none.
+     * @return The result with the warning, or this result if the warning is empty.
+     */
+    public CommandResult withWarning(String warning) {
+        if (warning.isEmpty()) {
+            return this;
+        }
+        return new CommandResult(message, hasWarning() ? this.warning + "\n" + warning : warning, isExit);
+    }
+
+    public String getMessage() {
+        return message;
+    }
+
+    public String getWarning() {
+        return warning;
+    }
+
+    /**
+     * Checks if the result carries a warning.
+     *
+     * @return true if there is a warning to show.
+     */
+    public boolean hasWarning() {
+        return !warning.isEmpty();
+    }
+
+    /**
+     * Checks if the application should exit after this command.
+     *
+     * @return true for the result of an exit command.
+     */
+    public boolean isExit() {
+        return isExit;
+    }
+
+    /**
+     * Returns the reply followed by any warning, as one block of text for the chat window.
+     *
+     * @return The text to show.
+     */
+    public String getText() {
+        return hasWarning() ? message + "\n\nHeads up! " + warning : message;
+    }
+}
@@ -0,0 +1,45 @@
+package ladis.command;
+
+import java.util.List;
+
+import ladis.storage.Storage;
+import ladis.task.EventConflict;
+import ladis.task.TaskList;
+
+/**
+ * Command to list every pair of events whose time spans overlap.
+ */
+public class ConflictsCommand extends Command {
+    /**
+     * Executes the command by listing the clashing events.
+     *
+     * @param tasks The task list to check.
+     * @param storage The storage (not used).
+     * @return The clashing events.
+     */
+    @Override
+    public CommandResult execute(TaskList tasks, Storage storage) {
+        return new CommandResult(getConflicts(tasks));
+    }
+
+    /**
+     * Builds the list of clashing event pairs.
+     *
+     * @param tasks The task list to check.
+     * @return The formatted clashes, or a message saying there are none.
+     */
+    public String getConflicts(TaskList tasks) {
+        List<EventConflict> conflicts = tasks.findEventConflicts();
+        if (conflicts.isEmpty()) {
+            return "No clashing events. Your schedule is clear!";
+        }
+
+        StringBuilder result = new StringBuilder("These events clash:\n");
+        for (int i = 0; i < conflicts.size(); i++) {
+            EventConflict conflict = conflicts.get(i);
+            result.append(i + 1).append(". ").append(conflict.getFirst()).append("\n")
+                    .append("   overlaps ").append(conflict.getSecond()).append("\n");
+        }
+        return result.toString();
+    }
+}
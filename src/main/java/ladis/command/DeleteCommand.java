@@ -1,18 +1,16 @@
 package ladis.command;
 
-import java.io.IOException;
-
 import ladis.exception.LadisException;
 import ladis.storage.Storage;
 import ladis.task.Task;
 import ladis.task.TaskList;
-import ladis.ui.UI;
+import ladis.task.TaskReference;
 
 /**
  * Command to delete a task from the list.
  */
 public class DeleteCommand extends Command {
-    private final int index;
+    private final TaskReference task;
 
     /**
      * Constructs a DeleteCommand with the specified task index.
@@ -20,25 +18,30 @@ public class DeleteCommand extends Command {
      * @param index The zero-indexed position of the task to delete.
      */
     public DeleteCommand(int index) {
-        this.index = index;
+        this(TaskReference.ofIndex(index));
     }
 
-    @Override
-    public boolean execute(TaskList tasks, UI ui, Storage storage) throws LadisException {
-        if (index < 0 || index >= tasks.size()) {
-            throw new LadisException("Very funny. Now give me a valid task number.");
-        }
-        Task removed = tasks.removeTask(index);
-        ui.showTaskRemoved(removed.toString(), tasks.size());
-        saveToStorage(tasks, ui, storage);
-        return false;
+    /**
+     * Constructs a DeleteCommand for the referenced task, given by position or by ID.
+     *
+     * @param task The task to delete.
+     */
+    public DeleteCommand(TaskReference task) {
+        this.task = task;
     }
 
-    private void saveToStorage(TaskList tasks, UI ui, Storage storage) {
-        try {
-            storage.save(tasks.getTasks());
-        } catch (IOException e) {
-            ui.showWarning("Could not save task to disk.");
-        }
+    /**
+     * Executes the delete command by removing the task and saving to storage.
+     *
+     * @param tasks The task list to remove the task from.
+     * @param storage The storage to persist the change.
+     * @return The removed task and the new task count, and a warning if the change could not be saved.
+     * @throws LadisException If the task index is invalid.
+     */
+    @Override
+    public CommandResult execute(TaskList tasks, Storage storage) throws LadisException {
+        Task removed = task.removeFrom(tasks);
+        return new CommandResult("Noted. I've removed this task:\n  " + removed
+                + "\nNow you have " + tasks.size() + " task(s) in the list.").withWarning(save(tasks, storage));
     }
 }
@@ -0,0 +1,65 @@
+package ladis.command;
+
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.List;
+
+import ladis.storage.Storage;
+import ladis.task.Task;
+import ladis.task.TaskList;
+import ladis.util.DateTimeParser;
+
+/**
+ * Command to show the deadlines and events falling due within a range of days.
+ * Deadlines count on their deadline day and events on their start day.
+ */
+public class DueCommand extends Command {
+    private final LocalDate from;
+    private final LocalDate to;
+
+    /**
+     * Constructs a DueCommand for the inclusive range of days.
+     *
+     * @param from The first day of the range.
+     * @param to The last day of the range.
+     */
+    public DueCommand(LocalDate from, LocalDate to) {
+        assert !to.isBefore(from) : "Range should not end before it starts";
+        this.from = from;
+        this.to = to;
+    }
+
+    /**
+     * Executes the command by listing the tasks due in the range.
+     *
+     * @param tasks The task list to query.
+     * @param storage The storage (not used).
+     * @return The tasks due.
+     */
+    @Override
+    public CommandResult execute(TaskList tasks, Storage storage) {
+        return new CommandResult(getAgenda(tasks));
+    }
+
+    /**
+     * Builds the list of tasks due in the range, earliest first.
+     *
+     * @param tasks The task list to query.
+     * @return The formatted tasks, or a message saying nothing is due.
+     */
+    public String getAgenda(TaskList tasks) {
+        List<Task> due = tasks.findTasksBetween(from.atStartOfDay(), to.atTime(LocalTime.MAX));
+        String range = from.equals(to)
+                ? "on " + DateTimeParser.formatDate(from)
+                : "between " + DateTimeParser.formatDate(from) + " and " + DateTimeParser.formatDate(to);
+        if (due.isEmpty()) {
+            return "Nothing is due " + range + ".";
+        }
+
+        StringBuilder result = new StringBuilder("Here are the tasks due ").append(range).append(":\n");
+        for (int i = 0; i < due.size(); i++) {
+            result.append(i + 1).append(". ").append(due.get(i)).append("\n");
+        }
+        return result.toString();
+    }
+}
@@ -1,25 +1,30 @@
 package ladis.command;
 
+import java.io.IOException;
+
 import ladis.storage.Storage;
 import ladis.task.TaskList;
-import ladis.ui.UI;
 
 /**
  * Command to exit the application.
- * Displays a goodbye message and signals the program to terminate.
+ * Waits for pending writes to reach disk, displays a goodbye message and signals the program to terminate.
  */
 public class ExitCommand extends Command {
     /**
-     * Executes the exit command by showing a goodbye message.
+     * Executes the exit command by flushing storage and saying goodbye.
      *
      * @param tasks The task list (not used).
-     * @param ui The UI to display the goodbye message.
-     * @param storage The storage (not used).
-     * @return true to signal program termination.
+     * @param storage The storage whose pending writes are flushed.
+     * @return The goodbye, which ends the application.
      */
     @Override
-    public boolean execute(TaskList tasks, UI ui, Storage storage) {
-        ui.showGoodbye();
-        return true;
+    public CommandResult execute(TaskList tasks, Storage storage) {
+        CommandResult result = CommandResult.exit("Goodbye! Hope to see you again soon!");
+        try {
+            storage.flush();
+            return result;
+        } catch (IOException e) {
+            return result.withWarning("Could not save all changes to disk.");
+        }
     }
 }
@@ -1,17 +1,29 @@
 package ladis.command;
 
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.Iterator;
+import java.util.stream.Stream;
+
 import ladis.exception.LadisException;
+import ladis.storage.ArchiveQuery;
 import ladis.storage.Storage;
 import ladis.task.Task;
 import ladis.task.TaskList;
-import ladis.ui.UI;
 
 /**
  * Command to find tasks matching a given keyword.
  * Displays all tasks whose descriptions contain the search keyword (case-insensitive).
+ * An archive search streams through the archive instead and shows at most {@link #MAX_ARCHIVE_RESULTS} matches.
  */
 public class FindCommand extends Command {
+    /**
+     * Maximum number of archived matches listed; further matches are only counted.
+     */
+    public static final int MAX_ARCHIVE_RESULTS = 50;
+
     private final String keyword;
+    private final boolean isArchiveSearch;
 
     /**
      * Constructs a FindCommand with the given search keyword.
@@ -19,37 +31,89 @@ public class FindCommand extends Command {
      * @param keyword The keyword to search for in task descriptions.
      */
     public FindCommand(String keyword) {
+        this(keyword, false);
+    }
+
+    /**
+     * Constructs a FindCommand that searches either the task list or the archive.
+     *
+     * @param keyword The keyword to search for in task descriptions.
+     * @param isArchiveSearch true to search archived tasks instead of the task list.
+     */
+    public FindCommand(String keyword, boolean isArchiveSearch) {
         this.keyword = keyword;
+        this.isArchiveSearch = isArchiveSearch;
     }
 
     /**
-     * Executes the find command by searching all tasks and displaying matching results.
+     * Checks if this command searches the archive rather than the task list.
+     *
+     * @return true for an archive search.
+     */
+    public boolean isArchiveSearch() {
+        return isArchiveSearch;
+    }
+
+    /**
+     * Executes the find command by searching all tasks for the keyword.
      *
      * @param tasks The TaskList to search through.
-     * @param ui The UI instance to display results.
-     * @param storage The Storage instance (not used for this command).
-     * @return false to continue execution (find command does not exit).
-     * @throws LadisException If no keyword is provided.
+     * @param storage The Storage holding the archive, for an archive search.
+     * @return The numbered matching tasks, or a message saying nothing matched.
+     * @throws LadisException If the archive cannot be read.
      */
     @Override
-    public boolean execute(TaskList tasks, UI ui, Storage storage) throws LadisException {
+    public CommandResult execute(TaskList tasks, Storage storage) throws LadisException {
+        if (isArchiveSearch) {
+            return new CommandResult(searchArchive(storage));
+        }
         StringBuilder results = new StringBuilder("Here are the matching tasks in your list:\n");
         int count = 0;
 
-        for (int i = 0; i < tasks.size(); i++) {
-            Task task = tasks.getTask(i);
-            if (task.getDescription().toLowerCase().contains(keyword.toLowerCase())) {
+        for (Task task : tasks.findTasks(keyword)) {
+            count++;
+            results.append(count).append(". ").append(task.toString()).append("\n");
+        }
+
+        if (count == 0) {
+            return new CommandResult("No matching tasks found.");
+        }
+        return new CommandResult(results.toString());
+    }
+
+    /**
+     * Searches the archive for tasks matching the keyword, reading it as a stream.
+     *
+     * @param storage The storage holding the archive.
+     * @return The formatted matches, or a message saying nothing matched.
+     * @throws LadisException If the archive cannot be read.
+     */
+    public String searchArchive(Storage storage) throws LadisException {
+        String lowerKeyword = keyword.toLowerCase();
+        StringBuilder results = new StringBuilder("Here are the matching tasks in your archive:\n");
+        long count = 0;
+        try (Stream<Task> archived = storage.streamArchived(ArchiveQuery.all())) {
+            Iterator<Task> iterator = archived
+                    .filter(task -> task.getDescription().toLowerCase().contains(lowerKeyword))
+                    .iterator();
+            while (iterator.hasNext()) {
+                Task task = iterator.next();
                 count++;
-                results.append(count).append(". ").append(task.toString()).append("\n");
+                if (count <= MAX_ARCHIVE_RESULTS) {
+                    results.append(count).append(". ").append(task).append("\n");
+                }
             }
+        } catch (IOException | UncheckedIOException e) {
+            throw new LadisException("I couldn't read the archive: " + e.getMessage());
         }
 
         if (count == 0) {
-            ui.showMessage("No matching tasks found.");
-        } else {
-            ui.showMessage(results.toString());
+            return "No matching tasks found in the archive.";
         }
-
-        return false;
+        if (count > MAX_ARCHIVE_RESULTS) {
+            results.append("...and ").append(count - MAX_ARCHIVE_RESULTS)
+                    .append(" more. Try a more specific keyword.\n");
+        }
+        return results.toString();
     }
 }
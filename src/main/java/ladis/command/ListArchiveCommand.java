@@ -0,0 +1,80 @@
+package ladis.command;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.Iterator;
+import java.util.stream.Stream;
+
+import ladis.exception.LadisException;
+import ladis.storage.Storage;
+import ladis.task.Task;
+import ladis.task.TaskList;
+
+/**
+ * Command to display one page of archived tasks.
+ * Only the requested page is read from the archive, so browsing stays cheap however large the archive grows.
+ */
+public class ListArchiveCommand extends Command {
+    /**
+     * Number of archived tasks shown per page.
+     */
+    public static final int PAGE_SIZE = 20;
+
+    private final int page;
+
+    /**
+     * Constructs a ListArchiveCommand for the given page.
+     *
+     * @param page The zero-indexed page of the archive to show.
+     */
+    public ListArchiveCommand(int page) {
+        this.page = page;
+    }
+
+    /**
+     * Executes the command by reading the requested page of the archive.
+     *
+     * @param tasks The task list (not used).
+     * @param storage The storage holding the archive.
+     * @return The page of archived tasks.
+     * @throws LadisException If the page does not exist or the archive cannot be read.
+     */
+    @Override
+    public CommandResult execute(TaskList tasks, Storage storage) throws LadisException {
+        return new CommandResult(getPage(storage));
+    }
+
+    /**
+     * Builds the text of the requested archive page, numbering tasks by their position in the archive.
+     *
+     * @param storage The storage holding the archive.
+     * @return The formatted page, or a message saying the archive is empty.
+     * @throws LadisException If the page does not exist or the archive cannot be read.
+     */
+    public String getPage(Storage storage) throws LadisException {
+        try {
+            long total = storage.countArchived();
+            if (total == 0) {
+                return "Your archive is empty.";
+            }
+            long pageCount = (total + PAGE_SIZE - 1) / PAGE_SIZE;
+            if (page < 0 || page >= pageCount) {
+                throw new LadisException("The archive only has " + pageCount + " page(s).");
+            }
+
+            long position = (long) page * PAGE_SIZE;
+            StringBuilder result = new StringBuilder("Here are your archived tasks (page ")
+                    .append(page + 1).append(" of ").append(pageCount).append("):\n");
+            try (Stream<Task> archived = storage.streamArchived(position)) {
+                Iterator<Task> iterator = archived.limit(PAGE_SIZE).iterator();
+                while (iterator.hasNext()) {
+                    position++;
+                    result.append(position).append(". ").append(iterator.next()).append("\n");
+                }
+            }
+            return result.toString();
+        } catch (IOException | UncheckedIOException e) {
+            throw new LadisException("I couldn't read the archive: " + e.getMessage());
+        }
+    }
+}
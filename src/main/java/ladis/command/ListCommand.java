@@ -1,25 +1,95 @@
 package ladis.command;
 
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Set;
+
 import ladis.storage.Storage;
+import ladis.task.Task;
 import ladis.task.TaskList;
-import ladis.ui.UI;
+import ladis.task.TaskType;
 
 /**
  * Command to display all tasks in the task list.
- * Shows all tasks to the user including their status and details.
+ * Shows all tasks to the user including their status and details, or only those of some types or status.
  */
 public class ListCommand extends Command {
+    private static final int ESTIMATED_LINE_LENGTH = 64;
+
+    private final Set<TaskType> types;
+    private final Boolean isDone;
+
+    /**
+     * Constructs a ListCommand showing every task.
+     */
+    public ListCommand() {
+        this(EnumSet.noneOf(TaskType.class), null);
+    }
+
+    /**
+     * Constructs a ListCommand showing only the tasks that pass the filters.
+     *
+     * @param types The task types to show; all types if empty.
+     * @param isDone Whether to show only done (true) or pending (false) tasks; both if null.
+     */
+    public ListCommand(Set<TaskType> types, Boolean isDone) {
+        this.types = types.isEmpty() ? EnumSet.noneOf(TaskType.class) : EnumSet.copyOf(types);
+        this.isDone = isDone;
+    }
+
+    /**
+     * Checks if this command shows only some of the tasks.
+     *
+     * @return true if a type or status filter was given.
+     */
+    public boolean isFiltered() {
+        return !types.isEmpty() || isDone != null;
+    }
+
     /**
-     * Executes the list command by displaying all tasks.
+     * Executes the list command by listing all tasks, or those passing the filters.
      *
      * @param tasks The task list to display.
-     * @param ui The UI to show the task list.
      * @param storage The storage (not used).
-     * @return false to continue execution (list command does not exit).
+     * @return The numbered tasks with their IDs.
      */
     @Override
-    public boolean execute(TaskList tasks, UI ui, Storage storage) {
-        ui.showList(tasks);
-        return false;
+    public CommandResult execute(TaskList tasks, Storage storage) {
+        if (isFiltered()) {
+            return new CommandResult(getFilteredList(tasks));
+        }
+        List<Task> snapshot = tasks.getSnapshot();
+        if (snapshot.isEmpty()) {
+            return new CommandResult("You have no tasks.");
+        }
+        return new CommandResult(formatTasks("Here are the tasks in your list:\n", snapshot));
+    }
+
+    /**
+     * Builds the list of tasks passing the filters, in list order with their IDs.
+     *
+     * @param tasks The task list to filter.
+     * @return The formatted tasks, or a message saying none match.
+     */
+    public String getFilteredList(TaskList tasks) {
+        List<Task> matches = tasks.filterTasks(types, isDone);
+        if (matches.isEmpty()) {
+            return "No tasks match those filters.";
+        }
+        return formatTasks("Here are the matching tasks in your list:\n", matches);
+    }
+
+    /**
+     * Numbers the tasks under a heading. The builder is sized up front for typical lines, and tasks keep
+     * their display strings, so a long list is copied into place rather than formatted again.
+     */
+    private static String formatTasks(String heading, List<Task> tasks) {
+        StringBuilder result = new StringBuilder(heading.length() + tasks.size() * ESTIMATED_LINE_LENGTH);
+        result.append(heading);
+        int number = 1;
+        for (Task task : tasks) {
+            result.append(number++).append(". ").append(task).append(" (#").append(task.getId()).append(")\n");
+        }
+        return result.toString();
     }
 }
@@ -1,18 +1,17 @@
 package ladis.command;
 
-import java.io.IOException;
-
 import ladis.exception.LadisException;
 import ladis.storage.Storage;
+import ladis.task.Task;
 import ladis.task.TaskList;
-import ladis.ui.UI;
+import ladis.task.TaskReference;
 
 /**
  * Command to mark a task as done.
  * Marks the specified task as complete and persists the change to storage.
  */
 public class MarkCommand extends Command {
-    private final int index;
+    private final TaskReference task;
 
     /**
      * Constructs a MarkCommand with the specified task index.
@@ -20,38 +19,30 @@ public class MarkCommand extends Command {
      * @param index The zero-indexed position of the task to mark as done.
      */
     public MarkCommand(int index) {
-        this.index = index;
+        this(TaskReference.ofIndex(index));
     }
 
     /**
-     * Executes the mark command by marking the task and saving to storage.
+     * Constructs a MarkCommand for the referenced task, given by position or by ID.
      *
-     * @param tasks The task list containing the task to mark.
-     * @param ui The UI to display the result.
-     * @param storage The storage to persist the change.
-     * @return false to continue execution (mark command does not exit).
-     * @throws LadisException If the task index is invalid.
+     * @param task The task to mark as done.
      */
-    @Override
-    public boolean execute(TaskList tasks, UI ui, Storage storage) throws LadisException {
-        tasks.markTask(index);
-        ui.showTaskMarked(tasks.getTask(index).toString());
-        saveToStorage(tasks, ui, storage);
-        return false;
+    public MarkCommand(TaskReference task) {
+        this.task = task;
     }
 
     /**
-     * Saves the task list to storage.
+     * Executes the mark command by marking the task and saving to storage.
      *
-     * @param tasks The task list to save.
-     * @param ui The UI to show warnings if saving fails.
-     * @param storage The storage to save tasks to.
+     * @param tasks The task list containing the task to mark.
+     * @param storage The storage to persist the change.
+     * @return The marked task, and a warning if it could not be saved.
+     * @throws LadisException If the task index is invalid.
      */
-    private void saveToStorage(TaskList tasks, UI ui, Storage storage) {
-        try {
-            storage.save(tasks.getTasks());
-        } catch (IOException e) {
-            ui.showWarning("Could not save task to disk.");
-        }
+    @Override
+    public CommandResult execute(TaskList tasks, Storage storage) throws LadisException {
+        Task marked = task.markIn(tasks);
+        return new CommandResult("Nice! I've marked this task as done:\n  " + marked)
+                .withWarning(save(tasks, storage));
     }
 }
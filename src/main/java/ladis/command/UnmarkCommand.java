@@ -1,18 +1,17 @@
 package ladis.command;
 
-import java.io.IOException;
-
 import ladis.exception.LadisException;
 import ladis.storage.Storage;
+import ladis.task.Task;
 import ladis.task.TaskList;
-import ladis.ui.UI;
+import ladis.task.TaskReference;
 
 /**
  * Command to mark a task as not done.
  * Marks the specified task as incomplete and persists the change to storage.
  */
 public class UnmarkCommand extends Command {
-    private final int index;
+    private final TaskReference task;
 
     /**
      * Constructs an UnmarkCommand with the specified task index.
@@ -20,38 +19,30 @@ public class UnmarkCommand extends Command {
      * @param index The zero-indexed position of the task to unmark.
      */
     public UnmarkCommand(int index) {
-        this.index = index;
+        this(TaskReference.ofIndex(index));
     }
 
     /**
-     * Executes the unmark command by unmarking the task and saving to storage.
+     * Constructs an UnmarkCommand for the referenced task, given by position or by ID.
      *
-     * @param tasks The task list containing the task to unmark.
-     * @param ui The UI to display the result.
-     * @param storage The storage to persist the change.
-     * @return false to continue execution (unmark command does not exit).
-     * @throws LadisException If the task index is invalid.
+     * @param task The task to unmark.
      */
-    @Override
-    public boolean execute(TaskList tasks, UI ui, Storage storage) throws LadisException {
-        tasks.unmarkTask(index);
-        ui.showTaskUnmarked(tasks.getTask(index).toString());
-        saveToStorage(tasks, ui, storage);
-        return false;
+    public UnmarkCommand(TaskReference task) {
+        this.task = task;
     }
 
     /**
-     * Saves the task list to storage.
+     * Executes the unmark command by unmarking the task and saving to storage.
      *
-     * @param tasks The task list to save.
-     * @param ui The UI to show warnings if saving fails.
-     * @param storage The storage to save tasks to.
+     * @param tasks The task list containing the task to unmark.
+     * @param storage The storage to persist the change.
+     * @return The unmarked task, and a warning if it could not be saved.
+     * @throws LadisException If the task index is invalid.
      */
-    private void saveToStorage(TaskList tasks, UI ui, Storage storage) {
-        try {
-            storage.save(tasks.getTasks());
-        } catch (IOException e) {
-            ui.showWarning("Could not save task to disk.");
-        }
+    @Override
+    public CommandResult execute(TaskList tasks, Storage storage) throws LadisException {
+        Task unmarked = task.unmarkIn(tasks);
+        return new CommandResult("OK, I've marked this task as not done yet:\n  " + unmarked)
+                .withWarning(save(tasks, storage));
     }
 }
@@ -0,0 +1,149 @@
+package ladis.storage;
+
+import java.time.LocalDate;
+
+import ladis.task.Deadline;
+import ladis.task.Event;
+import ladis.task.Task;
+import ladis.task.TaskType;
+
+/**
+ * Describes which archived tasks to read back.
+ * Queries are immutable; each {@code with...} method returns a narrowed copy.
+ * The archive uses the same criteria to skip whole segments whose index rules out a match.
+ */
+public class ArchiveQuery {
+    private static final ArchiveQuery ALL = new ArchiveQuery(null, null, null, null);
+
+    private final TaskType type;
+    private final LocalDate from;
+    private final LocalDate to;
+    private final Boolean isDone;
+
+    private ArchiveQuery(TaskType type, LocalDate from, LocalDate to, Boolean isDone) {
+        this.type = type;
+        this.from = from;
+        this.to = to;
+        this.isDone = isDone;
+    }
+
+    /**
+     * Returns a query matching every archived task.
+     *
+     * @return The unrestricted query.
+     */
+    public static ArchiveQuery all() {
+        return ALL;
+    }
+
+    /**
+     * Returns a copy of this query restricted to one task type.
+     *
+     * @param type The task type to match.
+     * @return The narrowed query.
+     */
+    public ArchiveQuery withType(TaskType type) {
+        return new ArchiveQuery(type, from, to, isDone);
+    }
+
+    /**
+     * Returns a copy of this query restricted to dated tasks touching the given range.
+     * A deadline matches if its day is in the range; an event matches if its span overlaps it.
+     * Todos carry no date and never match a date-restricted query.
+     *
+     * @param from The first day of the range, inclusive, or null for no lower bound.
+     * @param to The last day of the range, inclusive, or null for no upper bound.
+     * @return The narrowed query.
+     */
+    public ArchiveQuery withDateRange(LocalDate from, LocalDate to) {
+        return new ArchiveQuery(type, from, to, isDone);
+    }
+
+    /**
+     * Returns a copy of this query restricted to done or pending tasks.
+     *
+     * @param isDone true to match only done tasks, false to match only pending ones.
+     * @return The narrowed query.
+     */
+    public ArchiveQuery withDone(boolean isDone) {
+        return new ArchiveQuery(type, from, to, isDone);
+    }
+
+    /**
+     * Checks whether the given task satisfies every criterion of this query.
+     *
+     * @param task The task to test.
+     * @return true if the task matches.
+     */
+    public boolean matches(Task task) {
+        return matches(task.getTaskType(), task.isDone(), startDateOf(task), endDateOf(task));
+    }
+
+    /**
+     * Checks whether a task with the given fields meets every criterion of this query, so that stored
+     * records can be filtered before they are turned into tasks.
+     *
+     * @param taskType The task's type.
+     * @param isTaskDone Whether the task is done.
+     * @param start The task's first date, or null if it has none.
+     * @param end The task's last date, or null if it has none.
+     * @return true if the task matches.
+     */
+    boolean matches(TaskType taskType, boolean isTaskDone, LocalDate start, LocalDate end) {
+        if (type != null && taskType != type) {
+            return false;
+        }
+        if (isDone != null && isTaskDone != isDone) {
+            return false;
+        }
+        if (!hasDateRange()) {
+            return true;
+        }
+        return start != null && overlaps(start, end);
+    }
+
+    TaskType getType() {
+        return type;
+    }
+
+    Boolean getDone() {
+        return isDone;
+    }
+
+    boolean hasDateRange() {
+        return from != null || to != null;
+    }
+
+    /**
+     * Checks whether the inclusive span {@code [start, end]} overlaps this query's date range.
+     */
+    boolean overlaps(LocalDate start, LocalDate end) {
+        return (from == null || !end.isBefore(from)) && (to == null || !start.isAfter(to));
+    }
+
+    /**
+     * Returns the first day a task is tied to, or null for undated tasks.
+     */
+    static LocalDate startDateOf(Task task) {
+        if (task instanceof Deadline) {
+            return ((Deadline) task).getDeadlineDay();
+        }
+        if (task instanceof Event) {
+            return ((Event) task).getStartDate();
+        }
+        return null;
+    }
+
+    /**
+     * Returns the last day a task is tied to, or null for undated tasks.
+     */
+    static LocalDate endDateOf(Task task) {
+        if (task instanceof Deadline) {
+            return ((Deadline) task).getDeadlineDay();
+        }
+        if (task instanceof Event) {
+            return ((Event) task).getEndDate();
+        }
+        return null;
+    }
+}
@@ -0,0 +1,168 @@
+package ladis.storage;
+
+import java.time.LocalDate;
+import java.time.YearMonth;
+
+import ladis.task.Task;
+
+/**
+ * Index entry summarising one archive segment file.
+ * The summary records which task types, done states and dates occur in the segment, so queries can
+ * rule the segment out without opening it.
+ *
+ * Index line format: id | month | state | first | count | done | typeMask | minDate | maxDate | bytes,
+ * where {@code first} is the archive-wide position of the segment's first task and an absent date is "-".
+ */
+class ArchiveSegment {
+    /**
+     * Lifecycle of a segment: only the active segment is appended to; sealed ones may be compressed.
+     */
+    enum State {
+        ACTIVE, SEALED, COMPRESSED
+    }
+
+    private static final String NO_DATE = "-";
+    private static final int FIELD_COUNT = 10;
+
+    private final int id;
+    private final YearMonth month;
+    private final long firstOrdinal;
+    private State state;
+    private int count;
+    private int doneCount;
+    private int typeMask;
+    private LocalDate minDate;
+    private LocalDate maxDate;
+    private long byteLength;
+
+    ArchiveSegment(int id, YearMonth month, long firstOrdinal) {
+        this.id = id;
+        this.month = month;
+        this.firstOrdinal = firstOrdinal;
+        this.state = State.ACTIVE;
+    }
+
+    /**
+     * Folds one appended task into the summary.
+     *
+     * @param task The task written to the segment.
+     * @param bytes The number of bytes its line occupies in the segment file.
+     */
+    void add(Task task, long bytes) {
+        count++;
+        if (task.isDone()) {
+            doneCount++;
+        }
+        typeMask |= 1 << task.getTaskType().ordinal();
+        LocalDate start = ArchiveQuery.startDateOf(task);
+        if (start != null) {
+            LocalDate end = ArchiveQuery.endDateOf(task);
+            minDate = minDate == null || start.isBefore(minDate) ? start : minDate;
+            maxDate = maxDate == null || end.isAfter(maxDate) ? end : maxDate;
+        }
+        byteLength += bytes;
+    }
+
+    /**
+     * Accounts for a line in the segment file that holds no readable task.
+     *
+     * @param bytes The number of bytes the line occupies.
+     */
+    void skip(long bytes) {
+        byteLength += bytes;
+    }
+
+    /**
+     * Checks whether the segment could hold a task matching the query, judging by its summary alone.
+     *
+     * @param query The archive query.
+     * @return false only if no task in the segment can match.
+     */
+    boolean mayContain(ArchiveQuery query) {
+        if (count == 0) {
+            return false;
+        }
+        if (query.getType() != null && (typeMask & (1 << query.getType().ordinal())) == 0) {
+            return false;
+        }
+        if (query.getDone() != null && (query.getDone() ? doneCount == 0 : doneCount == count)) {
+            return false;
+        }
+        if (query.hasDateRange()) {
+            return minDate != null && query.overlaps(minDate, maxDate);
+        }
+        return true;
+    }
+
+    String getFileName() {
+        return String.format("segment-%06d.txt", id) + (state == State.COMPRESSED ? ".gz" : "");
+    }
+
+    int getId() {
+        return id;
+    }
+
+    YearMonth getMonth() {
+        return month;
+    }
+
+    long getFirstOrdinal() {
+        return firstOrdinal;
+    }
+
+    State getState() {
+        return state;
+    }
+
+    void setState(State state) {
+        this.state = state;
+    }
+
+    int getCount() {
+        return count;
+    }
+
+    long getByteLength() {
+        return byteLength;
+    }
+
+    String toIndexLine() {
+        return id + " | " + month + " | " + state + " | " + firstOrdinal + " | " + count + " | " + doneCount
+                + " | " + typeMask + " | " + formatDate(minDate) + " | " + formatDate(maxDate) + " | " + byteLength;
+    }
+
+    /**
+     * Parses an index line written by {@link #toIndexLine()}.
+     *
+     * @param line The index line.
+     * @return The segment summary, or null if the line is malformed.
+     */
+    static ArchiveSegment fromIndexLine(String line) {
+        String[] parts = line.split(" \\| ");
+        if (parts.length != FIELD_COUNT) {
+            return null;
+        }
+        try {
+            ArchiveSegment segment = new ArchiveSegment(Integer.parseInt(parts[0]), YearMonth.parse(parts[1]),
+                    Long.parseLong(parts[3]));
+            segment.state = State.valueOf(parts[2]);
+            segment.count = Integer.parseInt(parts[4]);
+            segment.doneCount = Integer.parseInt(parts[5]);
+            segment.typeMask = Integer.parseInt(parts[6]);
+            segment.minDate = parseDate(parts[7]);
+            segment.maxDate = parseDate(parts[8]);
+            segment.byteLength = Long.parseLong(parts[9]);
+            return segment;
+        } catch (RuntimeException e) {
+            return null;
+        }
+    }
+
+    private static String formatDate(LocalDate date) {
+        return date == null ? NO_DATE : date.toString();
+    }
+
+    private static LocalDate parseDate(String text) {
+        return NO_DATE.equals(text) ? null : LocalDate.parse(text);
+    }
+}
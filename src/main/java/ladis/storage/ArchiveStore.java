@@ -0,0 +1,338 @@
+package ladis.storage;
+
+import java.io.BufferedReader;
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.time.Clock;
+import java.time.YearMonth;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
+
+import ladis.task.Task;
+
+/**
+ * Segmented store for archived tasks.
+ * Archived tasks are appended to an active segment file inside the archive directory. A segment is sealed
+ * once it grows past the size limit or the calendar month changes, and sealed segments are gzip-compressed
+ * without touching the active one. A small index file keeps a summary per segment
+ * (see {@link ArchiveSegment}) so queries only open segments that can contain a match.
+ *
+ * Reads are streamed segment by segment, so browsing the archive runs in constant memory.
+ * An archive written by older versions as a single flat file is adopted as the first, sealed segment.
+ */
+class ArchiveStore {
+    static final long DEFAULT_MAX_SEGMENT_BYTES = 256 * 1024;
+    private static final String INDEX_FILE_NAME = "index.txt";
+    private static final String COMPRESSED_SUFFIX = ".gz";
+
+    private final File directory;
+    private final File legacyFile;
+    private final long maxSegmentBytes;
+    private final Clock clock;
+    private final ArrayList<ArchiveSegment> segments = new ArrayList<>();
+    private boolean isOpen;
+
+    ArchiveStore(File directory, File legacyFile) {
+        this(directory, legacyFile, DEFAULT_MAX_SEGMENT_BYTES, Clock.systemDefaultZone());
+    }
+
+    ArchiveStore(File directory, File legacyFile, long maxSegmentBytes, Clock clock) {
+        this.directory = directory;
+        this.legacyFile = legacyFile;
+        this.maxSegmentBytes = maxSegmentBytes;
+        this.clock = clock;
+    }
+
+    /**
+     * Appends a task to the active segment, starting a new segment first if the current one is full
+     * or belongs to an earlier month.
+     *
+     * @param task The task to archive.
+     * @throws IOException If the segment or index cannot be written.
+     */
+    synchronized void append(Task task) throws IOException {
+        open();
+        ArchiveSegment active = getActiveSegment();
+        YearMonth month = YearMonth.now(clock);
+        if (active == null || active.getByteLength() >= maxSegmentBytes || !active.getMonth().equals(month)) {
+            if (active != null) {
+                seal(active);
+            }
+            active = new ArchiveSegment(nextSegmentId(), month, getTotalCount());
+            segments.add(active);
+        }
+
+        directory.mkdirs();
+        ByteBuffer line = Utf8BufferWriter.encodeLine(task);
+        int length = line.remaining();
+        try (FileOutputStream out = new FileOutputStream(segmentFile(active), true)) {
+            out.write(line.array(), 0, length);
+        }
+        active.add(task, length);
+        writeIndex();
+    }
+
+    /**
+     * Reads the archived tasks matching the query, in archive order.
+     * Segments whose summary rules out a match are skipped without being read.
+     *
+     * @param query The archive query.
+     * @return The matching tasks.
+     * @throws IOException If a segment cannot be read.
+     */
+    ArrayList<Task> query(ArchiveQuery query) throws IOException {
+        try (Stream<Task> matches = stream(query, 0)) {
+            return matches.collect(Collectors.toCollection(ArrayList::new));
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        }
+    }
+
+    /**
+     * Returns a lazy stream over the archived tasks matching the query, starting at the given archive
+     * position. Segment files are opened one at a time as the stream reaches them, so memory use does not
+     * grow with the archive, and segments wholly before {@code fromPosition} are never opened.
+     * The stream must be closed to release the segment being read; read failures surface as
+     * {@link UncheckedIOException}.
+     *
+     * @param query The archive query.
+     * @param fromPosition The archive-wide position of the first task to consider.
+     * @return The matching tasks, in archive order.
+     * @throws IOException If the archive index cannot be read.
+     */
+    Stream<Task> stream(ArchiveQuery query, long fromPosition) throws IOException {
+        List<ArchiveSegment> candidates = new ArrayList<>();
+        for (ArchiveSegment segment : candidateSegments(query)) {
+            if (segment.getFirstOrdinal() + segment.getCount() > fromPosition) {
+                candidates.add(segment);
+            }
+        }
+        return candidates.stream()
+                .flatMap(segment -> readSegment(segment, Math.max(0, fromPosition - segment.getFirstOrdinal())))
+                .filter(query::matches);
+    }
+
+    /**
+     * Returns the number of tasks in the archive, as recorded in the index.
+     *
+     * @return The archive size.
+     * @throws IOException If the archive index cannot be read.
+     */
+    synchronized long count() throws IOException {
+        open();
+        return getTotalCount();
+    }
+
+    /**
+     * Returns the segments that may hold tasks matching the query, judged by the index alone.
+     *
+     * @param query The archive query.
+     * @return The candidate segments, oldest first.
+     * @throws IOException If the archive cannot be opened.
+     */
+    synchronized List<ArchiveSegment> candidateSegments(ArchiveQuery query) throws IOException {
+        open();
+        List<ArchiveSegment> candidates = new ArrayList<>();
+        for (ArchiveSegment segment : segments) {
+            if (segment.mayContain(query)) {
+                candidates.add(segment);
+            }
+        }
+        return candidates;
+    }
+
+    synchronized List<ArchiveSegment> getSegments() throws IOException {
+        open();
+        return new ArrayList<>(segments);
+    }
+
+    /**
+     * Loads the index, adopting a legacy flat archive and repairing the active segment's summary if
+     * a crash left it out of step with the segment file.
+     */
+    private void open() throws IOException {
+        if (isOpen) {
+            return;
+        }
+        File indexFile = new File(directory, INDEX_FILE_NAME);
+        if (indexFile.exists()) {
+            for (String line : Files.readAllLines(indexFile.toPath(), StandardCharsets.UTF_8)) {
+                ArchiveSegment segment = ArchiveSegment.fromIndexLine(line);
+                if (segment != null) {
+                    segments.add(segment);
+                }
+            }
+        } else if (legacyFile != null && legacyFile.exists()) {
+            adoptLegacyFile();
+        }
+        isOpen = true;
+
+        ArchiveSegment active = getActiveSegment();
+        if (active != null && segmentFile(active).length() != active.getByteLength()) {
+            segments.set(segments.size() - 1, scan(active));
+            writeIndex();
+        }
+        for (ArchiveSegment segment : segments) {
+            if (segment.getState() == ArchiveSegment.State.SEALED) {
+                compress(segment);
+            }
+        }
+    }
+
+    /**
+     * Copies the legacy archive in as the first segment. The legacy file is only deleted once the index
+     * referencing the copy is on disk, so a crash midway simply repeats the adoption on the next start.
+     */
+    private void adoptLegacyFile() throws IOException {
+        directory.mkdirs();
+        ArchiveSegment segment = new ArchiveSegment(1, YearMonth.now(clock), 0);
+        Files.copy(legacyFile.toPath(), segmentFile(segment).toPath(), StandardCopyOption.REPLACE_EXISTING);
+        segment = scan(segment);
+        segment.setState(ArchiveSegment.State.SEALED);
+        segments.add(segment);
+        writeIndex();
+        Files.delete(legacyFile.toPath());
+    }
+
+    /**
+     * Rebuilds a segment's summary from the contents of its plain file.
+     * A last record cut short by a crash is cut off the file, so it is neither indexed as a shorter task nor
+     * run together with the next record appended.
+     */
+    private ArchiveSegment scan(ArchiveSegment segment) throws IOException {
+        ArchiveSegment rebuilt = new ArchiveSegment(segment.getId(), segment.getMonth(), segment.getFirstOrdinal());
+        File file = segmentFile(segment);
+        boolean isLastLineComplete = !file.exists() || Storage.endsWithLineBreak(file);
+        try (BufferedReader reader = openReader(segment)) {
+            String line = reader.readLine();
+            while (line != null) {
+                String nextLine = reader.readLine();
+                if (nextLine == null && !isLastLineComplete) {
+                    break;
+                }
+                long bytes = line.getBytes(StandardCharsets.UTF_8).length + 1;
+                Task task = Storage.parseTask(line);
+                if (task != null) {
+                    rebuilt.add(task, bytes);
+                } else {
+                    rebuilt.skip(bytes);
+                }
+                line = nextLine;
+            }
+        }
+        if (!isLastLineComplete) {
+            try (FileChannel channel = FileChannel.open(file.toPath(), StandardOpenOption.WRITE)) {
+                channel.truncate(rebuilt.getByteLength());
+            }
+        }
+        return rebuilt;
+    }
+
+    private void seal(ArchiveSegment segment) throws IOException {
+        segment.setState(ArchiveSegment.State.SEALED);
+        writeIndex();
+        compress(segment);
+    }
+
+    /**
+     * Replaces a sealed segment file with a gzip-compressed copy.
+     */
+    private void compress(ArchiveSegment segment) throws IOException {
+        File plainFile = segmentFile(segment);
+        ByteArrayOutputStream compressed = new ByteArrayOutputStream();
+        try (GZIPOutputStream out = new GZIPOutputStream(compressed)) {
+            Files.copy(plainFile.toPath(), out);
+        }
+        AtomicFileWriter.write(new File(directory, plainFile.getName() + COMPRESSED_SUFFIX),
+                ByteBuffer.wrap(compressed.toByteArray()), 0);
+        segment.setState(ArchiveSegment.State.COMPRESSED);
+        writeIndex();
+        Files.deleteIfExists(plainFile.toPath());
+    }
+
+    private void writeIndex() throws IOException {
+        StringBuilder index = new StringBuilder();
+        for (ArchiveSegment segment : segments) {
+            index.append(segment.toIndexLine()).append('\n');
+        }
+        AtomicFileWriter.write(new File(directory, INDEX_FILE_NAME),
+                ByteBuffer.wrap(index.toString().getBytes(StandardCharsets.UTF_8)), 0);
+    }
+
+    private Stream<Task> readSegment(ArchiveSegment segment, long skipCount) {
+        BufferedReader reader;
+        try {
+            reader = openReader(segment);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return reader.lines()
+                .onClose(() -> {
+                    try {
+                        reader.close();
+                    } catch (IOException e) {
+                        throw new UncheckedIOException(e);
+                    }
+                })
+                .map(Storage::parseTask)
+                .filter(Objects::nonNull)
+                .skip(skipCount);
+    }
+
+    /**
+     * Opens a reader over a segment's tasks. Synchronized with {@link #compress} so the reader sees either
+     * the plain file or the finished compressed one.
+     */
+    private synchronized BufferedReader openReader(ArchiveSegment segment) throws IOException {
+        File file = segmentFile(segment);
+        if (!file.exists()) {
+            return new BufferedReader(new InputStreamReader(InputStream.nullInputStream(), StandardCharsets.UTF_8));
+        }
+        InputStream in = new FileInputStream(file);
+        if (segment.getState() == ArchiveSegment.State.COMPRESSED) {
+            in = new GZIPInputStream(in);
+        }
+        return new BufferedReader(new InputStreamReader(in, StandardCharsets.UTF_8));
+    }
+
+    private File segmentFile(ArchiveSegment segment) {
+        return new File(directory, segment.getFileName());
+    }
+
+    private ArchiveSegment getActiveSegment() {
+        if (segments.isEmpty()) {
+            return null;
+        }
+        ArchiveSegment last = segments.get(segments.size() - 1);
+        return last.getState() == ArchiveSegment.State.ACTIVE ? last : null;
+    }
+
+    private int nextSegmentId() {
+        return segments.isEmpty() ? 1 : segments.get(segments.size() - 1).getId() + 1;
+    }
+
+    private long getTotalCount() {
+        if (segments.isEmpty()) {
+            return 0;
+        }
+        ArchiveSegment last = segments.get(segments.size() - 1);
+        return last.getFirstOrdinal() + last.getCount();
+    }
+}
@@ -0,0 +1,111 @@
+package ladis.storage;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * Replaces files crash-safely.
+ * New contents are written to a sibling temporary file, forced to disk and then atomically moved over
+ * the target, so a crash at any point leaves either the old or the new file intact, never a truncated one.
+ */
+class AtomicFileWriter {
+    private static final String TEMP_SUFFIX = ".tmp";
+
+    /**
+     * Atomically replaces the target file with the given contents.
+     *
+     * @param target The file to replace.
+     * @param contents The new contents; its position is left unchanged.
+     * @param backupGenerations How many previous versions to keep as {@code target.1}, {@code target.2}, ...
+     * @throws IOException If the file cannot be written.
+     */
+    static void write(File target, ByteBuffer contents, int backupGenerations) throws IOException {
+        File parentDir = target.getAbsoluteFile().getParentFile();
+        if (parentDir != null && !parentDir.exists()) {
+            parentDir.mkdirs();
+        }
+
+        Path tempPath = new File(target.getPath() + TEMP_SUFFIX).toPath();
+        try (FileChannel channel = FileChannel.open(tempPath, StandardOpenOption.CREATE,
+                StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING)) {
+            ByteBuffer source = contents.duplicate();
+            while (source.hasRemaining()) {
+                channel.write(source);
+            }
+            channel.force(true);
+        }
+
+        if (backupGenerations > 0 && target.exists()) {
+            rotateBackups(target, backupGenerations);
+        }
+
+        try {
+            Files.move(tempPath, target.toPath(), StandardCopyOption.REPLACE_EXISTING,
+                    StandardCopyOption.ATOMIC_MOVE);
+        } catch (AtomicMoveNotSupportedException e) {
+            Files.move(tempPath, target.toPath(), StandardCopyOption.REPLACE_EXISTING);
+        }
+        forceDirectory(parentDir);
+    }
+
+    /**
+     * Shifts existing backups up one generation and keeps the current target as generation 1.
+     * The current file is hard-linked rather than copied where the file system allows it,
+     * so keeping a backup costs no extra I/O.
+     *
+     * @param target The file about to be replaced.
+     * @param generations The number of backup generations to keep.
+     * @throws IOException If the backups cannot be rotated.
+     */
+    private static void rotateBackups(File target, int generations) throws IOException {
+        Files.deleteIfExists(backupPath(target, generations));
+        for (int generation = generations - 1; generation >= 1; generation--) {
+            Path backup = backupPath(target, generation);
+            if (Files.exists(backup)) {
+                Files.move(backup, backupPath(target, generation + 1), StandardCopyOption.REPLACE_EXISTING);
+            }
+        }
+
+        Path newest = backupPath(target, 1);
+        try {
+            Files.createLink(newest, target.toPath());
+        } catch (UnsupportedOperationException | IOException e) {
+            Files.copy(target.toPath(), newest, StandardCopyOption.REPLACE_EXISTING);
+        }
+    }
+
+    /**
+     * Returns the path of a backup generation of the given file.
+     *
+     * @param target The file being backed up.
+     * @param generation The generation number, starting at 1 for the most recent.
+     * @return The backup path.
+     */
+    static Path backupPath(File target, int generation) {
+        return new File(target.getPath() + "." + generation).toPath();
+    }
+
+    /**
+     * Flushes a directory entry so that a completed rename survives a crash.
+     * Not every platform allows opening a directory, in which case this is a no-op.
+     *
+     * @param directory The directory containing the renamed file.
+     */
+    private static void forceDirectory(File directory) {
+        if (directory == null) {
+            return;
+        }
+        try (FileChannel channel = FileChannel.open(directory.toPath(), StandardOpenOption.READ)) {
+            channel.force(true);
+        } catch (IOException e) {
+            // Directories cannot be opened for syncing on some platforms; the rename itself is still atomic.
+        }
+    }
+}
@@ -0,0 +1,309 @@
+package ladis.storage;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.StandardOpenOption;
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import ladis.task.Deadline;
+import ladis.task.Event;
+import ladis.task.Task;
+import ladis.task.TaskType;
+import ladis.task.Todo;
+
+/**
+ * Encodes and decodes task snapshots in a compact, versioned binary format.
+ *
+ * Layout: a fixed-width header (magic, version, task count, highest task ID handed out, journal sequence)
+ * followed by one record per task. Snapshots written before the highest ID was recorded hold 0 there.
+ * A record holds a done flag, a type code, the task ID, dates as epoch days with an optional
+ * minute-of-day (-1 when absent), and a length-prefixed UTF-8 description.
+ * Version 1 records, written before tasks had IDs, lack the ID and are still read.
+ * Snapshots are read into memory in one pass and decoded from there, so no text parsing happens on load.
+ * They are read rather than memory-mapped: a mapping stays open until the garbage collector drops it,
+ * and on Windows an open mapping stops the next save from atomically replacing the file.
+ */
+class BinarySnapshot {
+    static final int MAGIC = 0x4C444953; // "LDIS"
+    static final int VERSION = 2;
+    private static final int VERSION_WITHOUT_IDS = 1;
+    static final int HEADER_SIZE = 24;
+    static final int COUNT_OFFSET = 8;
+    private static final int LAST_ID_OFFSET = 12;
+    static final int DONE_FLAG_OFFSET = 0;
+    private static final int TYPE_OFFSET = 1;
+    private static final int DATES_OFFSET = 2 + Integer.BYTES;
+    private static final int DATE_FIELD_SIZE = Integer.BYTES + Short.BYTES;
+    private static final int SEQUENCE_OFFSET = 16;
+
+    private static final byte TYPE_TODO = 0;
+    private static final byte TYPE_DEADLINE = 1;
+    private static final byte TYPE_EVENT = 2;
+    private static final short NO_TIME = -1;
+    private static final int MINUTES_PER_HOUR = 60;
+
+    /**
+     * Encodes tasks into a binary snapshot image.
+     *
+     * @param tasks The tasks to encode.
+     * @param sequence The last journal sequence number covered by the snapshot.
+     * @param lastId The highest task ID handed out so far.
+     * @param recordOffsets If not null, receives the byte offset of each task's record.
+     * @return A buffer positioned at zero holding the whole snapshot.
+     */
+    static ByteBuffer encode(List<Task> tasks, long sequence, int lastId, List<Long> recordOffsets) {
+        ArrayList<byte[]> descriptions = new ArrayList<>(tasks.size());
+        int size = HEADER_SIZE;
+        for (Task task : tasks) {
+            byte[] description = task.getDescription().getBytes(StandardCharsets.UTF_8);
+            descriptions.add(description);
+            size += recordSize(task, description);
+        }
+
+        ByteBuffer buffer = ByteBuffer.allocate(size);
+        buffer.putInt(MAGIC).putInt(VERSION).putInt(tasks.size()).putInt(lastId).putLong(sequence);
+        int i = 0;
+        for (Task task : tasks) {
+            if (recordOffsets != null) {
+                recordOffsets.add((long) buffer.position());
+            }
+            writeRecord(buffer, task, descriptions.get(i++));
+        }
+        buffer.flip();
+        return buffer;
+    }
+
+    /**
+     * Encodes a single task record, e.g. for appending to an existing snapshot.
+     *
+     * @param task The task to encode.
+     * @return A buffer positioned at zero holding the record.
+     */
+    static ByteBuffer encodeRecord(Task task) {
+        byte[] description = task.getDescription().getBytes(StandardCharsets.UTF_8);
+        ByteBuffer buffer = ByteBuffer.allocate(recordSize(task, description));
+        writeRecord(buffer, task, description);
+        buffer.flip();
+        return buffer;
+    }
+
+    /**
+     * Reads a binary snapshot into the given list.
+     *
+     * @param file The snapshot file.
+     * @param tasks The list to append the decoded tasks to.
+     * @return The journal sequence number recorded in the snapshot.
+     * @throws IOException If the file cannot be read or is not a supported snapshot.
+     */
+    static long read(File file, ArrayList<Task> tasks) throws IOException {
+        ByteBuffer buffer = readFile(file);
+        if (buffer.remaining() < HEADER_SIZE || buffer.getInt() != MAGIC) {
+            throw new IOException("Not a Ladis snapshot: " + file);
+        }
+        int version = buffer.getInt();
+        if (version != VERSION && version != VERSION_WITHOUT_IDS) {
+            throw new IOException("Unsupported snapshot version " + version + ": " + file);
+        }
+        int count = buffer.getInt();
+        buffer.getInt();
+        long sequence = buffer.getLong();
+
+        tasks.ensureCapacity(tasks.size() + count);
+        try {
+            for (int i = 0; i < count; i++) {
+                tasks.add(readRecord(buffer, version != VERSION_WITHOUT_IDS));
+            }
+        } catch (RuntimeException e) {
+            throw new IOException("Corrupt snapshot: " + file, e);
+        }
+        return sequence;
+    }
+
+    /**
+     * Reads a whole snapshot file into a heap buffer, positioned at zero.
+     */
+    private static ByteBuffer readFile(File file) throws IOException {
+        try (FileChannel channel = FileChannel.open(file.toPath(), StandardOpenOption.READ)) {
+            long size = channel.size();
+            if (size > Integer.MAX_VALUE) {
+                throw new IOException("Snapshot too large: " + file);
+            }
+            ByteBuffer buffer = ByteBuffer.allocate((int) size);
+            while (buffer.hasRemaining() && channel.read(buffer) >= 0) {
+                // Keep reading until the buffer is full or the file ends
+            }
+            return buffer.flip();
+        }
+    }
+
+    /**
+     * Reads only the journal sequence number from a snapshot's header.
+     *
+     * @param file The snapshot file.
+     * @return The recorded sequence number, or 0 if the file is not a recognised snapshot.
+     * @throws IOException If the file cannot be read.
+     */
+    static long readSequence(File file) throws IOException {
+        ByteBuffer header = readHeader(file);
+        return header == null ? 0 : header.getLong(SEQUENCE_OFFSET);
+    }
+
+    /**
+     * Reads only the highest task ID handed out from a snapshot's header.
+     *
+     * @param file The snapshot file.
+     * @return The recorded ID, or 0 if the file is not a recognised snapshot or predates the field.
+     * @throws IOException If the file cannot be read.
+     */
+    static int readLastId(File file) throws IOException {
+        ByteBuffer header = readHeader(file);
+        return header == null ? 0 : header.getInt(LAST_ID_OFFSET);
+    }
+
+    /**
+     * Reads a snapshot's header, or returns null if the file does not start with a complete one.
+     */
+    private static ByteBuffer readHeader(File file) throws IOException {
+        try (FileChannel channel = FileChannel.open(file.toPath(), StandardOpenOption.READ)) {
+            ByteBuffer header = ByteBuffer.allocate(HEADER_SIZE);
+            while (header.hasRemaining() && channel.read(header) > 0) {
+                // Keep reading until the header is complete or the file ends
+            }
+            if (header.hasRemaining() || header.getInt(0) != MAGIC) {
+                return null;
+            }
+            return header;
+        }
+    }
+
+    private static int recordSize(Task task, byte[] description) {
+        int dateFields = switch (task.getTaskType()) {
+        case TODO -> 0;
+        case DEADLINE -> Integer.BYTES + Short.BYTES;
+        case EVENT -> 2 * (Integer.BYTES + Short.BYTES);
+        };
+        return 2 + Integer.BYTES + dateFields + Integer.BYTES + description.length;
+    }
+
+    private static void writeRecord(ByteBuffer buffer, Task task, byte[] description) {
+        buffer.put(task.isDone() ? (byte) 1 : (byte) 0);
+        switch (task.getTaskType()) {
+        case TODO -> buffer.put(TYPE_TODO).putInt(task.getId());
+        case DEADLINE -> {
+            Deadline deadline = (Deadline) task;
+            buffer.put(TYPE_DEADLINE).putInt(task.getId());
+            putDateTime(buffer, deadline.getDeadlineDay(), deadline.getDeadlineTime());
+        }
+        case EVENT -> {
+            Event event = (Event) task;
+            buffer.put(TYPE_EVENT).putInt(task.getId());
+            putDateTime(buffer, event.getStartDate(), event.getStartTime());
+            putDateTime(buffer, event.getEndDate(), event.getEndTime());
+        }
+        default -> throw new IllegalStateException("Unknown task type: " + task.getTaskType());
+        }
+        buffer.putInt(description.length).put(description);
+    }
+
+    /**
+     * Decodes the task record at the buffer's position, advancing past it.
+     *
+     * @param buffer The buffer holding the record.
+     * @param hasId Whether the record was written with a task ID, as from version 2 on.
+     * @return The decoded task.
+     */
+    static Task readRecord(ByteBuffer buffer, boolean hasId) {
+        boolean isDone = buffer.get() == 1;
+        byte type = buffer.get();
+        int id = hasId ? buffer.getInt() : 0;
+        Task task;
+        switch (type) {
+        case TYPE_TODO -> task = new Todo(readDescription(buffer));
+        case TYPE_DEADLINE -> {
+            LocalDate day = LocalDate.ofEpochDay(buffer.getInt());
+            LocalTime time = toTime(buffer.getShort());
+            task = new Deadline(readDescription(buffer), day, time);
+        }
+        case TYPE_EVENT -> {
+            LocalDate startDate = LocalDate.ofEpochDay(buffer.getInt());
+            LocalTime startTime = toTime(buffer.getShort());
+            LocalDate endDate = LocalDate.ofEpochDay(buffer.getInt());
+            LocalTime endTime = toTime(buffer.getShort());
+            task = new Event(readDescription(buffer), startDate, endDate, startTime, endTime);
+        }
+        default -> throw new IllegalStateException("Unknown task type code: " + type);
+        }
+        if (isDone) {
+            task.mark();
+        }
+        task.setId(id);
+        return task;
+    }
+
+    /**
+     * Reads the type of the current-version record at the given offset, leaving the buffer untouched.
+     */
+    static TaskType typeAt(ByteBuffer buffer, int offset) {
+        return switch (buffer.get(offset + TYPE_OFFSET)) {
+        case TYPE_TODO -> TaskType.TODO;
+        case TYPE_DEADLINE -> TaskType.DEADLINE;
+        case TYPE_EVENT -> TaskType.EVENT;
+        default -> throw new IllegalStateException("Unknown task type code at offset " + offset);
+        };
+    }
+
+    /**
+     * Reads the done flag of the record at the given offset, leaving the buffer untouched.
+     */
+    static boolean isDoneAt(ByteBuffer buffer, int offset) {
+        return buffer.get(offset + DONE_FLAG_OFFSET) == 1;
+    }
+
+    /**
+     * Reads the first date of the current-version record at the given offset, or null for a todo.
+     */
+    static LocalDate startDateAt(ByteBuffer buffer, int offset) {
+        if (typeAt(buffer, offset) == TaskType.TODO) {
+            return null;
+        }
+        return LocalDate.ofEpochDay(buffer.getInt(offset + DATES_OFFSET));
+    }
+
+    /**
+     * Reads the last date of the current-version record at the given offset, or null for a todo.
+     * A deadline's last date is its deadline; an event's is its end date.
+     */
+    static LocalDate endDateAt(ByteBuffer buffer, int offset) {
+        TaskType type = typeAt(buffer, offset);
+        if (type == TaskType.TODO) {
+            return null;
+        }
+        int field = type == TaskType.EVENT ? DATE_FIELD_SIZE : 0;
+        return LocalDate.ofEpochDay(buffer.getInt(offset + DATES_OFFSET + field));
+    }
+
+    private static void putDateTime(ByteBuffer buffer, LocalDate date, LocalTime time) {
+        buffer.putInt((int) date.toEpochDay());
+        buffer.putShort(time == null ? NO_TIME : (short) (time.getHour() * MINUTES_PER_HOUR + time.getMinute()));
+    }
+
+    private static LocalTime toTime(short minuteOfDay) {
+        if (minuteOfDay == NO_TIME) {
+            return null;
+        }
+        return LocalTime.of(minuteOfDay / MINUTES_PER_HOUR, minuteOfDay % MINUTES_PER_HOUR);
+    }
+
+    private static String readDescription(ByteBuffer buffer) {
+        int length = buffer.getInt();
+        byte[] bytes = new byte[length];
+        buffer.get(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+}
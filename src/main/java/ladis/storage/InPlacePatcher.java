@@ -0,0 +1,122 @@
+package ladis.storage;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+
+import ladis.task.Task;
+import ladis.task.TaskChange;
+
+/**
+ * Applies task list changes directly to the regions of a snapshot file they affect.
+ * Marking or unmarking overwrites a single done-flag byte and adding appends one record, so the cost
+ * of a save depends on the size of the change rather than the size of the list.
+ * Removals shift every later record and are left to a full, atomic rewrite.
+ */
+class InPlacePatcher {
+    private static final int TEXT_DONE_FLAG_OFFSET = 4; // "T | 0 | ..."
+
+    private final File file;
+    private final boolean isBinary;
+    private final ArrayList<Long> recordOffsets;
+    private long length;
+
+    /**
+     * Constructs an InPlacePatcher for a snapshot that was just written.
+     *
+     * @param file The snapshot file.
+     * @param isBinary true if the snapshot is in the binary format.
+     * @param recordOffsets The byte offset of each task's record in the file.
+     * @param length The length of the file in bytes.
+     */
+    InPlacePatcher(File file, boolean isBinary, List<Long> recordOffsets, long length) {
+        this.file = file;
+        this.isBinary = isBinary;
+        this.recordOffsets = new ArrayList<>(recordOffsets);
+        this.length = length;
+    }
+
+    /**
+     * Applies changes to the file in order, stopping at the first one that cannot be patched in place.
+     *
+     * @param changes The changes to apply, oldest first.
+     * @return true if every change was applied, false if the file has to be rewritten in full.
+     * @throws IOException If the file cannot be written.
+     */
+    boolean apply(List<TaskChange> changes) throws IOException {
+        if (file.length() != length) {
+            return false;
+        }
+        try (FileChannel channel = FileChannel.open(file.toPath(), StandardOpenOption.WRITE)) {
+            for (TaskChange change : changes) {
+                if (!apply(channel, change)) {
+                    return false;
+                }
+            }
+            channel.force(false);
+        }
+        return true;
+    }
+
+    private boolean apply(FileChannel channel, TaskChange change) throws IOException {
+        int index = change.getIndex();
+        switch (change.getKind()) {
+        case MARKED, UNMARKED -> {
+            if (index < 0 || index >= recordOffsets.size()) {
+                return false;
+            }
+            boolean isDone = change.getKind() == TaskChange.Kind.MARKED;
+            writeFully(channel, ByteBuffer.wrap(new byte[] {doneFlag(isDone)}),
+                    recordOffsets.get(index) + doneFlagOffset());
+            return true;
+        }
+        case ADDED -> {
+            if (index != recordOffsets.size()) {
+                return false;
+            }
+            ByteBuffer record = encodeRecord(change.getTask());
+            int recordLength = record.remaining();
+            writeFully(channel, record, length);
+            recordOffsets.add(length);
+            length += recordLength;
+            if (isBinary) {
+                ByteBuffer count = ByteBuffer.allocate(Integer.BYTES).putInt(0, recordOffsets.size());
+                writeFully(channel, count, BinarySnapshot.COUNT_OFFSET);
+            }
+            return true;
+        }
+        default -> {
+            return false;
+        }
+        }
+    }
+
+    private ByteBuffer encodeRecord(Task task) {
+        if (isBinary) {
+            return BinarySnapshot.encodeRecord(task);
+        }
+        return Utf8BufferWriter.encodeLine(task);
+    }
+
+    private byte doneFlag(boolean isDone) {
+        if (isBinary) {
+            return isDone ? (byte) 1 : (byte) 0;
+        }
+        return (byte) (isDone ? '1' : '0');
+    }
+
+    private int doneFlagOffset() {
+        return isBinary ? BinarySnapshot.DONE_FLAG_OFFSET : TEXT_DONE_FLAG_OFFSET;
+    }
+
+    private static void writeFully(FileChannel channel, ByteBuffer buffer, long position) throws IOException {
+        long offset = position;
+        while (buffer.hasRemaining()) {
+            offset += channel.write(buffer, offset);
+        }
+    }
+}
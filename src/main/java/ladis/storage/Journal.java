@@ -0,0 +1,201 @@
+package ladis.storage;
+
+import java.io.BufferedReader;
+import java.io.File;
+import java.io.FileReader;
+import java.io.FileWriter;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Append-only log of task list mutations.
+ * Each line holds a sequence number so that entries already folded into a snapshot can be skipped.
+ */
+class Journal {
+    private final File file;
+    private long lastSequence;
+
+    private boolean isOpen;
+
+    /**
+     * Constructs a Journal backed by the given file.
+     * The journal must be opened before entries are appended.
+     *
+     * @param filePath The path of the journal file.
+     */
+    Journal(String filePath) {
+        this.file = new File(filePath);
+        this.lastSequence = 0;
+        this.isOpen = false;
+    }
+
+    /**
+     * Opens the journal, resuming numbering after both its own last entry and the given snapshot.
+     * A last line cut short by a crash is dropped first, so that new entries are not appended onto it.
+     *
+     * @param snapshotSequence The sequence number already covered by the snapshot.
+     * @throws IOException If the existing journal cannot be read or repaired.
+     */
+    void open(long snapshotSequence) throws IOException {
+        ArrayList<String> lines = readLines();
+        if (file.exists() && !Storage.endsWithLineBreak(file)) {
+            rewrite(lines);
+        }
+        lastSequence = snapshotSequence;
+        for (String line : lines) {
+            lastSequence = Math.max(lastSequence, JournalEntry.sequenceOf(line));
+        }
+        isOpen = true;
+    }
+
+    boolean isOpen() {
+        return isOpen;
+    }
+
+    /**
+     * Appends an entry to the journal.
+     *
+     * @param entry The entry to append.
+     * @return The sequence number assigned to the entry.
+     * @throws IOException If the entry cannot be written.
+     */
+    long append(JournalEntry entry) throws IOException {
+        return appendAll(List.of(entry));
+    }
+
+    /**
+     * Appends several entries to the journal in a single write.
+     *
+     * @param entries The entries to append, in order.
+     * @return The sequence number assigned to the last entry.
+     * @throws IOException If the entries cannot be written.
+     */
+    long appendAll(List<JournalEntry> entries) throws IOException {
+        List<String> lines = new ArrayList<>(entries.size());
+        for (JournalEntry entry : entries) {
+            lines.add(entry.toJournalLine(nextSequence()));
+        }
+        write(lines);
+        return lastSequence;
+    }
+
+    /**
+     * Reserves the next sequence number without writing anything.
+     * Used when entries are numbered on one thread and written on another.
+     *
+     * @return The reserved sequence number.
+     */
+    long nextSequence() {
+        assert isOpen : "Journal should be opened before numbering entries";
+        lastSequence++;
+        return lastSequence;
+    }
+
+    /**
+     * Appends already numbered journal lines in a single write.
+     *
+     * @param lines The journal lines, in sequence order.
+     * @throws IOException If the lines cannot be written.
+     */
+    void write(List<String> lines) throws IOException {
+        File parentDir = file.getParentFile();
+        if (parentDir != null && !parentDir.exists()) {
+            parentDir.mkdirs();
+        }
+        StringBuilder batch = new StringBuilder();
+        for (String line : lines) {
+            batch.append(line).append("\n");
+        }
+        try (FileWriter writer = new FileWriter(file, StandardCharsets.UTF_8, true)) {
+            writer.write(batch.toString());
+        }
+    }
+
+    /**
+     * Returns all entries with a sequence number greater than the given one, in sequence order.
+     *
+     * @param sequence The last sequence number already applied.
+     * @return The entries still to be replayed.
+     * @throws IOException If the journal cannot be read.
+     */
+    ArrayList<JournalEntry> readAfter(long sequence) throws IOException {
+        ArrayList<JournalEntry> entries = new ArrayList<>();
+        for (String line : readLines()) {
+            if (JournalEntry.sequenceOf(line) <= sequence) {
+                continue;
+            }
+            JournalEntry entry = JournalEntry.fromJournalLine(line);
+            if (entry != null) {
+                entries.add(entry);
+            }
+        }
+        return entries;
+    }
+
+    /**
+     * Drops every entry with a sequence number up to and including the given one.
+     * Called once those entries have been folded into a snapshot. The journal is replaced atomically
+     * so that entries not yet in the snapshot survive a crash during the rewrite.
+     *
+     * @param sequence The sequence number covered by the snapshot.
+     * @throws IOException If the journal cannot be rewritten.
+     */
+    void truncateUpTo(long sequence) throws IOException {
+        ArrayList<String> remaining = new ArrayList<>();
+        for (String line : readLines()) {
+            if (JournalEntry.sequenceOf(line) > sequence) {
+                remaining.add(line);
+            }
+        }
+        rewrite(remaining);
+    }
+
+    private void rewrite(List<String> lines) throws IOException {
+        StringBuilder contents = new StringBuilder();
+        for (String line : lines) {
+            contents.append(line).append("\n");
+        }
+        AtomicFileWriter.write(file, ByteBuffer.wrap(contents.toString().getBytes(StandardCharsets.UTF_8)), 0);
+    }
+
+    long getLastSequence() {
+        return lastSequence;
+    }
+
+    /**
+     * Returns the current size of the journal file in bytes.
+     *
+     * @return The journal size, or 0 if it does not exist yet.
+     */
+    long size() {
+        return file.length();
+    }
+
+    /**
+     * Reads the journal's lines, leaving out a last line cut short by a crash while it was being appended.
+     */
+    private ArrayList<String> readLines() throws IOException {
+        ArrayList<String> lines = new ArrayList<>();
+        if (!file.exists()) {
+            return lines;
+        }
+        boolean isLastLineComplete = Storage.endsWithLineBreak(file);
+        try (BufferedReader reader = new BufferedReader(new FileReader(file, StandardCharsets.UTF_8))) {
+            String line = reader.readLine();
+            while (line != null) {
+                String nextLine = reader.readLine();
+                if (nextLine == null && !isLastLineComplete) {
+                    break;
+                }
+                if (!line.trim().isEmpty()) {
+                    lines.add(line);
+                }
+                line = nextLine;
+            }
+        }
+        return lines;
+    }
+}
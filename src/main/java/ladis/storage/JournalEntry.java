@@ -0,0 +1,131 @@
+package ladis.storage;
+
+import ladis.task.Task;
+
+/**
+ * Represents a single mutation recorded in the storage journal.
+ * Each entry describes one change to the task list so that it can be replayed on top of a snapshot.
+ */
+public class JournalEntry {
+    /**
+     * Kinds of mutations that can be recorded in the journal.
+     */
+    public enum Operation {
+        ADD, MARK, UNMARK, DELETE
+    }
+
+    private final Operation operation;
+    private final String payload;
+
+    private JournalEntry(Operation operation, String payload) {
+        this.operation = operation;
+        this.payload = payload;
+    }
+
+    /**
+     * Creates an entry recording that a task was appended to the list.
+     *
+     * @param task The task that was added.
+     * @return The journal entry.
+     */
+    public static JournalEntry add(Task task) {
+        assert task != null : "Task to journal should not be null";
+        return new JournalEntry(Operation.ADD, task.toFileString());
+    }
+
+    /**
+     * Creates an entry recording that the task at the given index was marked as done.
+     *
+     * @param index The zero-indexed position of the task.
+     * @return The journal entry.
+     */
+    public static JournalEntry mark(int index) {
+        return new JournalEntry(Operation.MARK, String.valueOf(index));
+    }
+
+    /**
+     * Creates an entry recording that the task at the given index was marked as not done.
+     *
+     * @param index The zero-indexed position of the task.
+     * @return The journal entry.
+     */
+    public static JournalEntry unmark(int index) {
+        return new JournalEntry(Operation.UNMARK, String.valueOf(index));
+    }
+
+    /**
+     * Creates an entry recording that the task at the given index was deleted.
+     *
+     * @param index The zero-indexed position of the task.
+     * @return The journal entry.
+     */
+    public static JournalEntry delete(int index) {
+        return new JournalEntry(Operation.DELETE, String.valueOf(index));
+    }
+
+    public Operation getOperation() {
+        return operation;
+    }
+
+    public String getPayload() {
+        return payload;
+    }
+
+    /**
+     * Returns the task index this entry refers to.
+     * Only meaningful for entries other than {@link Operation#ADD}.
+     *
+     * @return The zero-indexed position of the affected task.
+     * @throws NumberFormatException If the payload is not an index.
+     */
+    public int getIndex() {
+        return Integer.parseInt(payload);
+    }
+
+    /**
+     * Converts the entry to a line in the journal file.
+     * Format: sequence | operation | payload
+     *
+     * @param sequence The sequence number assigned to this entry.
+     * @return The journal line.
+     */
+    public String toJournalLine(long sequence) {
+        return sequence + " | " + operation + " | " + payload;
+    }
+
+    /**
+     * Parses a line from the journal file back into an entry.
+     *
+     * @param line The journal line.
+     * @return The parsed entry, or null if the line is malformed.
+     */
+    public static JournalEntry fromJournalLine(String line) {
+        String[] parts = line.split(" \\| ", 3);
+        if (parts.length < 3) {
+            return null;
+        }
+        try {
+            return new JournalEntry(Operation.valueOf(parts[1]), parts[2]);
+        } catch (IllegalArgumentException e) {
+            return null;
+        }
+    }
+
+    /**
+     * Extracts the sequence number from a journal line.
+     *
+     * @param line The journal line.
+     * @return The sequence number, or -1 if the line is malformed.
+     */
+    public static long sequenceOf(String line) {
+        int end = line.indexOf(" | ");
+        if (end <= 0) {
+            return -1;
+        }
+        try {
+            return Long.parseLong(line.substring(0, end));
+        } catch (NumberFormatException e) {
+            return -1;
+        }
+    }
+}
@@ -0,0 +1,86 @@
+package ladis.storage;
+
+import java.nio.ByteBuffer;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+
+import ladis.task.Task;
+
+/**
+ * Append-only store of tasks kept outside the Java heap, holding the archive for the rest of a session once
+ * it has been read. Tasks are encoded as binary snapshot records in a direct buffer, with each record's
+ * offset in a second direct buffer, so the heap holds only this object and its two buffer handles however
+ * many tasks it holds, and the garbage collector never has to trace them.
+ *
+ * {@link #stream(ArchiveQuery, long)} checks the type, done flag and dates straight from the records and
+ * only decodes the tasks that match, so each returned task is a new copy. A stream covers the tasks stored
+ * when it was opened: it reads duplicates of the buffers taken under this object's monitor, and appending
+ * only ever writes past them. Outgrown buffers are released once the garbage collector drops them.
+ */
+class OffHeapTaskStore {
+    private static final int INITIAL_RECORD_CAPACITY = 64 * 1024;
+    private static final int INITIAL_TASK_CAPACITY = 1024;
+
+    private ByteBuffer records = ByteBuffer.allocateDirect(INITIAL_RECORD_CAPACITY);
+    private ByteBuffer offsets = ByteBuffer.allocateDirect(INITIAL_TASK_CAPACITY * Integer.BYTES);
+    private int size;
+
+    /**
+     * Appends a task to the store.
+     *
+     * @param task The task to append.
+     */
+    synchronized void add(Task task) {
+        ByteBuffer record = BinarySnapshot.encodeRecord(task);
+        if (record.remaining() > records.remaining()) {
+            records = grow(records, record.remaining());
+        }
+        if (offsets.remaining() < Integer.BYTES) {
+            offsets = grow(offsets, Integer.BYTES);
+        }
+        offsets.putInt(records.position());
+        records.put(record);
+        size++;
+    }
+
+    /**
+     * Streams the stored tasks matching the query from the given position on, in order, decoding only the
+     * matches.
+     *
+     * @param query The criteria tasks must meet.
+     * @param fromPosition The zero-based position of the first task to consider.
+     * @return A lazy stream of the matching tasks.
+     */
+    Stream<Task> stream(ArchiveQuery query, long fromPosition) {
+        ByteBuffer recordView;
+        ByteBuffer offsetView;
+        int count;
+        synchronized (this) {
+            recordView = records.duplicate();
+            offsetView = offsets.duplicate();
+            count = size;
+        }
+        return IntStream.range((int) Math.min(fromPosition, count), count)
+                .map(index -> offsetView.getInt(index * Integer.BYTES))
+                .filter(offset -> query == ArchiveQuery.all() || matchesAt(query, recordView, offset))
+                .mapToObj(offset -> BinarySnapshot.readRecord(recordView.duplicate().position(offset), true));
+    }
+
+    private static boolean matchesAt(ArchiveQuery query, ByteBuffer records, int offset) {
+        return query.matches(BinarySnapshot.typeAt(records, offset), BinarySnapshot.isDoneAt(records, offset),
+                BinarySnapshot.startDateAt(records, offset), BinarySnapshot.endDateAt(records, offset));
+    }
+
+    /**
+     * Moves a buffer's contents into a new direct buffer with room for at least the given number of bytes more.
+     */
+    private static ByteBuffer grow(ByteBuffer buffer, int needed) {
+        long capacity = Math.max((long) buffer.capacity() * 2, (long) buffer.position() + needed);
+        if (capacity > Integer.MAX_VALUE) {
+            throw new IllegalStateException("Off-heap task store is full");
+        }
+        ByteBuffer grown = ByteBuffer.allocateDirect((int) capacity);
+        grown.put(buffer.duplicate().flip());
+        return grown;
+    }
+}
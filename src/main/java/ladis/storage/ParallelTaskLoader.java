@@ -0,0 +1,174 @@
+package ladis.storage;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+
+import ladis.task.Task;
+
+/**
+ * Loads large text task files by parsing newline-aligned chunks in parallel.
+ * Each chunk is read with a positional read and parsed on a ForkJoinPool with the same rules as
+ * {@link Storage#parseTask(String)}, and the results are stitched back together in file order.
+ * Chunks are read rather than memory-mapped, since a mapping outlives the load until the garbage collector
+ * drops it, and on Windows stops the next save from atomically replacing the file.
+ */
+class ParallelTaskLoader {
+    static final long PARALLEL_THRESHOLD_BYTES = 4L * 1024 * 1024;
+    private static final long DEFAULT_CHUNK_BYTES = 1024 * 1024;
+    private static final int CHUNKS_PER_THREAD = 4;
+    private static final int BOUNDARY_SCAN_BYTES = 4096;
+    private static final long MAX_CHUNK_BYTES = 1L << 30;
+
+    private final ForkJoinPool pool;
+    private final long minChunkBytes;
+
+    /**
+     * Constructs a ParallelTaskLoader that runs on the common pool.
+     */
+    ParallelTaskLoader() {
+        this(ForkJoinPool.commonPool(), DEFAULT_CHUNK_BYTES);
+    }
+
+    /**
+     * Constructs a ParallelTaskLoader with an explicit pool and minimum chunk size.
+     *
+     * @param pool The pool to parse chunks on.
+     * @param minChunkBytes The smallest chunk worth handing to a separate task.
+     */
+    ParallelTaskLoader(ForkJoinPool pool, long minChunkBytes) {
+        this.pool = pool;
+        this.minChunkBytes = minChunkBytes;
+    }
+
+    /**
+     * Parses every task in the file, in file order.
+     *
+     * @param file The text task file.
+     * @return The parsed tasks.
+     * @throws IOException If the file cannot be read.
+     */
+    ArrayList<Task> load(File file) throws IOException {
+        try (FileChannel channel = FileChannel.open(file.toPath(), StandardOpenOption.READ)) {
+            long[] boundaries = findChunkBoundaries(channel);
+            List<ForkJoinTask<List<Task>>> chunks = new ArrayList<>();
+            for (int i = 0; i + 1 < boundaries.length; i++) {
+                long start = boundaries[i];
+                int length = (int) (boundaries[i + 1] - start);
+                chunks.add(pool.submit(() -> {
+                    try {
+                        return parseChunk(readChunk(channel, start, length));
+                    } catch (IOException e) {
+                        throw new UncheckedIOException(e);
+                    }
+                }));
+            }
+
+            ArrayList<Task> tasks = new ArrayList<>();
+            for (ForkJoinTask<List<Task>> chunk : chunks) {
+                tasks.addAll(joinChunk(chunk));
+            }
+            return tasks;
+        }
+    }
+
+    /**
+     * Splits the file into roughly equal chunks whose boundaries fall just after a newline.
+     *
+     * @param channel The open file.
+     * @return The chunk start offsets followed by the file size; consecutive values delimit a chunk.
+     * @throws IOException If the file cannot be read.
+     */
+    private long[] findChunkBoundaries(FileChannel channel) throws IOException {
+        long size = channel.size();
+        long maxChunks = Math.max(1, size / minChunkBytes);
+        int chunkCount = (int) Math.min(maxChunks, (long) pool.getParallelism() * CHUNKS_PER_THREAD);
+        // Each chunk is read into one array, so it has to stay well within an array's size
+        chunkCount = (int) Math.max(chunkCount, size / MAX_CHUNK_BYTES + 1);
+
+        long[] boundaries = new long[chunkCount + 1];
+        boundaries[chunkCount] = size;
+        for (int i = 1; i < chunkCount; i++) {
+            long nominal = Math.max(boundaries[i - 1], size * i / chunkCount);
+            boundaries[i] = nextLineStart(channel, nominal, size);
+        }
+        return boundaries;
+    }
+
+    private long nextLineStart(FileChannel channel, long position, long size) throws IOException {
+        ByteBuffer buffer = ByteBuffer.allocate(BOUNDARY_SCAN_BYTES);
+        long offset = position;
+        while (offset < size) {
+            buffer.clear();
+            int read = channel.read(buffer, offset);
+            if (read <= 0) {
+                break;
+            }
+            for (int i = 0; i < read; i++) {
+                if (buffer.get(i) == '\n') {
+                    return offset + i + 1;
+                }
+            }
+            offset += read;
+        }
+        return size;
+    }
+
+    /**
+     * Waits for a chunk to be parsed, passing on the read failure if it could not be read.
+     */
+    private static List<Task> joinChunk(ForkJoinTask<List<Task>> chunk) throws IOException {
+        try {
+            return chunk.join();
+        } catch (RuntimeException e) {
+            for (Throwable cause = e; cause != null; cause = cause.getCause()) {
+                if (cause instanceof IOException) {
+                    throw (IOException) cause;
+                }
+            }
+            throw e;
+        }
+    }
+
+    /**
+     * Reads one chunk of the file. Positional reads do not move the channel's position, so chunks can be
+     * read on several threads at once.
+     */
+    private static byte[] readChunk(FileChannel channel, long start, int length) throws IOException {
+        ByteBuffer chunk = ByteBuffer.allocate(length);
+        while (chunk.hasRemaining()) {
+            if (channel.read(chunk, start + chunk.position()) < 0) {
+                throw new IOException("File shrank while it was being loaded");
+            }
+        }
+        return chunk.array();
+    }
+
+    private static List<Task> parseChunk(byte[] chunk) {
+        String text = new String(chunk, StandardCharsets.UTF_8);
+        List<Task> tasks = new ArrayList<>();
+        int lineStart = 0;
+        while (lineStart < text.length()) {
+            int lineEnd = text.indexOf('\n', lineStart);
+            if (lineEnd < 0) {
+                // Chunks end after a line break, so this is the end of the file, cut short mid-append
+                break;
+            }
+            int contentEnd = lineEnd > lineStart && text.charAt(lineEnd - 1) == '\r' ? lineEnd - 1 : lineEnd;
+            Task task = Storage.parseTask(text.substring(lineStart, contentEnd));
+            if (task != null) {
+                tasks.add(task);
+            }
+            lineStart = lineEnd + 1;
+        }
+        return tasks;
+    }
+}
@@ -1,26 +1,114 @@
 package ladis.storage;
 
 import java.io.BufferedReader;
+import java.io.BufferedWriter;
 import java.io.File;
 import java.io.FileReader;
 import java.io.FileWriter;
 import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
 import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
 
 import ladis.exception.DateTimeParseException;
 import ladis.task.Deadline;
 import ladis.task.Event;
+import ladis.task.SavePoint;
 import ladis.task.Task;
+import ladis.task.TaskChange;
+import ladis.task.TaskList;
 import ladis.task.Todo;
 
 /**
  * Handles persistence of tasks to and from disk.
  * Manages loading tasks from a file and saving tasks to a file in a text format.
- * Also manages archiving of completed tasks to a separate archive file.
+ * Also manages archiving of completed tasks to a separate, segmented archive (see {@link ArchiveStore}).
+ * The first archive read of a session copies the archive into an {@link OffHeapTaskStore}, so paging
+ * through and searching the archive after that neither reads its segments again nor grows the heap.
+ *
+ * In journaled mode, each mutation is appended to a small journal file instead of rewriting the whole
+ * task file. Loading replays the journal on top of the snapshot, and once the journal grows past
+ * {@link #COMPACTION_THRESHOLD_BYTES} it is folded into a fresh snapshot on a background thread.
+ *
+ * A file path ending in {@code .bin} selects the binary snapshot format (see {@link BinarySnapshot});
+ * the pipe-delimited text format remains available through {@link #importText} and {@link #exportText}.
+ *
+ * In write-behind mode, callers only serialise their change and queue it; a dedicated writer thread
+ * performs the disk writes, committing everything queued in the meantime as one batch.
+ * {@link #flush()} waits until every queued change is on disk. Journal entries refer to list positions, so
+ * once a background write fails, later entries are held back and the next change is saved as a full
+ * snapshot instead, which covers everything the failed write lost; the failure is reported with that change.
+ *
+ * Snapshots also record the highest task ID handed out, when tasks holding the newest IDs have been removed,
+ * and replaying the journal takes added tasks' IDs into account, so {@link #loadTaskList()} never hands out
+ * the ID of a deleted task again.
+ *
+ * Lists of {@link #COLUMNAR_TASK_COUNT} or more tasks are loaded into a columnar {@link TaskList}, which
+ * holds them in primitive columns rather than as task objects.
  */
 public class Storage {
+    static final long COMPACTION_THRESHOLD_BYTES = 64 * 1024;
+    static final int COLUMNAR_TASK_COUNT = 100_000;
+    private static final String SNAPSHOT_HEADER_PREFIX = "# journal | ";
+    private static final String LAST_ID_HEADER_PREFIX = "# last id | ";
+    private static final String BINARY_EXTENSION = ".bin";
+    private static final String TEXT_EXTENSION = ".txt";
+    private static final int ESTIMATED_RECORD_BYTES = 64;
+
     private final String filePath;
-    private final String archiveFilePath;
+    private final String basePath;
+    private final boolean isBinary;
+    private final ArchiveStore archive;
+    private final Journal journal;
+    private final ExecutorService compactor;
+    private final WriteBehindQueue<PendingWrite> writeBehind;
+    private final Object snapshotLock = new Object();
+    private final Object saveLock = new Object();
+    private final Object archiveLock = new Object();
+    private OffHeapTaskStore archivedTasks;
+    private long snapshotSequence;
+    private int loadedLastId;
+    private volatile boolean isCompacting;
+    private volatile boolean isCompactionDue;
+    private volatile boolean isSnapshotNeeded;
+    private int backupGenerations;
+    private InPlacePatcher patcher;
+
+    /**
+     * A change waiting for the write-behind thread: either one numbered journal line or a whole snapshot.
+     */
+    private static class PendingWrite {
+        private final String journalLine;
+        private final ByteBuffer snapshot;
+        private final long sequence;
+
+        private PendingWrite(String journalLine, ByteBuffer snapshot, long sequence) {
+            this.journalLine = journalLine;
+            this.snapshot = snapshot;
+            this.sequence = sequence;
+        }
+
+        static PendingWrite ofEntry(JournalEntry entry, long sequence) {
+            return new PendingWrite(entry.toJournalLine(sequence), null, sequence);
+        }
+
+        static PendingWrite ofSnapshot(ByteBuffer snapshot, long sequence) {
+            return new PendingWrite(null, snapshot, sequence);
+        }
+
+        boolean isSnapshot() {
+            return snapshot != null;
+        }
+    }
 
     /**
      * Constructs a Storage instance with the specified file path.
@@ -28,71 +116,712 @@ public class Storage {
      * @param filePath The path to the file where tasks are persisted.
      */
     public Storage(String filePath) {
+        this(filePath, false);
+    }
+
+    /**
+     * Constructs a Storage instance with the specified file path, optionally in journaled mode.
+     *
+     * @param filePath The path to the file where tasks are persisted.
+     * @param isJournaled true to append mutations to a journal instead of rewriting the file each time.
+     */
+    public Storage(String filePath, boolean isJournaled) {
+        this(filePath, isJournaled, false);
+    }
+
+    /**
+     * Constructs a Storage instance with the specified file path and persistence modes.
+     *
+     * @param filePath The path to the file where tasks are persisted.
+     * @param isJournaled true to append mutations to a journal instead of rewriting the file each time.
+     * @param isWriteBehind true to perform disk writes on a background writer thread.
+     */
+    public Storage(String filePath, boolean isJournaled, boolean isWriteBehind) {
         this.filePath = filePath;
-        this.archiveFilePath = filePath.replace(".txt", "-archive.txt");
+        this.isBinary = filePath.endsWith(BINARY_EXTENSION);
+        this.basePath = stripExtension(filePath);
+        this.archive = new ArchiveStore(new File(basePath + "-archive"), new File(basePath + "-archive.txt"));
+        this.journal = isJournaled ? new Journal(basePath + "-journal.txt") : null;
+        this.compactor = isJournaled && !isWriteBehind ? Executors.newSingleThreadExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "ladis-compactor");
+            thread.setDaemon(true);
+            return thread;
+        }) : null;
+        this.writeBehind = isWriteBehind ? new WriteBehindQueue<>("ladis-writer", this::commitBatch) : null;
+    }
+
+    /**
+     * Returns the path without its binary or text extension, which the archive and journal paths extend.
+     */
+    private static String stripExtension(String filePath) {
+        for (String extension : new String[] {BINARY_EXTENSION, TEXT_EXTENSION}) {
+            if (filePath.endsWith(extension)) {
+                return filePath.substring(0, filePath.length() - extension.length());
+            }
+        }
+        return filePath;
     }
 
     /**
      * Loads all tasks from the storage file.
      * Creates the file and parent directories if they do not exist.
+     * Large text files are parsed in parallel chunks (see {@link ParallelTaskLoader}).
+     * A binary store that does not exist yet is seeded from the text file next to it, if there is one.
      *
      * @return An ArrayList of tasks loaded from the file.
      * @throws IOException If an I/O error occurs while reading the file.
      */
     public ArrayList<Task> load() throws IOException {
+        if (writeBehind != null) {
+            writeBehind.flush();
+        }
         ArrayList<Task> tasks = new ArrayList<>();
         assert tasks != null : "Task list should be initialized";
         File file = new File(filePath);
-
-        if (!file.exists()) {
-            return tasks;
-        }
+        loadedLastId = 0;
 
         File parentDir = file.getParentFile();
         if (parentDir != null && !parentDir.exists()) {
             parentDir.mkdirs();
         }
 
-        try (BufferedReader reader = new BufferedReader(new FileReader(file))) {
-            String line;
-            while ((line = reader.readLine()) != null) {
-                Task task = parseTask(line);
-                if (task != null) {
-                    tasks.add(task);
-                }
+        if (isBinary && file.exists()) {
+            snapshotSequence = BinarySnapshot.read(file, tasks);
+            loadedLastId = BinarySnapshot.readLastId(file);
+        } else if (isBinary) {
+            File textFile = new File(basePath + TEXT_EXTENSION);
+            if (textFile.exists()) {
+                // The text snapshot shares the journal, so replay has to skip what it already covers
+                snapshotSequence = readText(textFile, tasks);
             }
+        } else if (file.length() >= ParallelTaskLoader.PARALLEL_THRESHOLD_BYTES) {
+            tasks.addAll(new ParallelTaskLoader().load(file));
+            snapshotSequence = readSnapshotSequence();
+            loadedLastId = readLastIdHeader(file);
+        } else if (file.exists()) {
+            snapshotSequence = readText(file, tasks);
+        }
+
+        if (journal != null) {
+            replayJournal(tasks);
         }
         assert tasks != null : "Loaded task list should not be null";
         return tasks;
     }
 
+    /**
+     * Loads all tasks from the storage file into a task list that resumes ID numbering after the highest ID
+     * ever saved, so the IDs of deleted tasks are not handed out again.
+     * Large lists are loaded in columnar form, which takes a fraction of the heap.
+     *
+     * @return The loaded task list.
+     * @throws IOException If an I/O error occurs while reading the file.
+     */
+    public TaskList loadTaskList() throws IOException {
+        ArrayList<Task> tasks = load();
+        if (tasks.size() >= COLUMNAR_TASK_COUNT) {
+            return TaskList.columnar(tasks, loadedLastId);
+        }
+        return new TaskList(tasks, loadedLastId);
+    }
+
+    /**
+     * Reads tasks from a text snapshot into the given list, ignoring a last record cut short by a crash.
+     * The highest task ID recorded in its header, if any, is kept for {@link #loadTaskList()}.
+     *
+     * @param file The text file to read.
+     * @param tasks The list to append the parsed tasks to.
+     * @return The journal sequence number recorded in the file's header, or 0 if it has none.
+     * @throws IOException If an I/O error occurs while reading the file.
+     */
+    private long readText(File file, ArrayList<Task> tasks) throws IOException {
+        long sequence = 0;
+        boolean isLastLineComplete = endsWithLineBreak(file);
+        try (BufferedReader reader = new BufferedReader(new FileReader(file, StandardCharsets.UTF_8))) {
+            String line = reader.readLine();
+            while (line != null) {
+                String nextLine = reader.readLine();
+                if (nextLine == null && !isLastLineComplete) {
+                    break;
+                }
+                if (line.startsWith(SNAPSHOT_HEADER_PREFIX)) {
+                    sequence = parseSnapshotSequence(line);
+                } else if (line.startsWith(LAST_ID_HEADER_PREFIX)) {
+                    loadedLastId = Math.max(loadedLastId, parseLastId(line));
+                } else {
+                    Task task = parseTask(line);
+                    if (task != null) {
+                        tasks.add(task);
+                    }
+                }
+                line = nextLine;
+            }
+        }
+        return sequence;
+    }
+
+    /**
+     * Checks if a text file ends with a line break. Every record is written with one, so a last line without
+     * it was cut short by a crash while it was being appended, and may parse as a different, shorter record.
+     *
+     * @param file The text file.
+     * @return true if the file is empty or its last line is complete.
+     * @throws IOException If the file cannot be read.
+     */
+    static boolean endsWithLineBreak(File file) throws IOException {
+        try (RandomAccessFile input = new RandomAccessFile(file, "r")) {
+            long length = input.length();
+            if (length == 0) {
+                return true;
+            }
+            input.seek(length - 1);
+            return input.read() == '\n';
+        }
+    }
+
+    /**
+     * Reads tasks from a file in the pipe-delimited text format, regardless of this storage's own format.
+     *
+     * @param textFilePath The path of the text file.
+     * @return The tasks in the file, or an empty list if it does not exist.
+     * @throws IOException If an I/O error occurs while reading the file.
+     */
+    public ArrayList<Task> importText(String textFilePath) throws IOException {
+        ArrayList<Task> tasks = new ArrayList<>();
+        File file = new File(textFilePath);
+        if (file.exists()) {
+            readText(file, tasks);
+        }
+        return tasks;
+    }
+
+    /**
+     * Writes tasks to a file in the pipe-delimited text format, regardless of this storage's own format.
+     *
+     * @param tasks The tasks to export.
+     * @param textFilePath The path of the text file.
+     * @throws IOException If an I/O error occurs while writing the file.
+     */
+    public void exportText(List<Task> tasks, String textFilePath) throws IOException {
+        try (Writer writer = new BufferedWriter(new FileWriter(textFilePath, StandardCharsets.UTF_8))) {
+            for (Task task : tasks) {
+                task.writeTo(writer);
+                writer.write('\n');
+            }
+        }
+    }
+
+    /**
+     * Applies every journal entry newer than the snapshot to the loaded tasks.
+     *
+     * @param tasks The tasks loaded from the snapshot.
+     * @throws IOException If the journal cannot be read.
+     */
+    private synchronized void replayJournal(ArrayList<Task> tasks) throws IOException {
+        openJournal();
+        for (JournalEntry entry : journal.readAfter(snapshotSequence)) {
+            applyEntry(entry, tasks);
+        }
+    }
+
+    /**
+     * Applies a single journal entry to a list of tasks, ignoring entries that no longer fit the list.
+     * Added tasks count towards the highest ID handed out even if a later entry deletes them.
+     *
+     * @param entry The entry to apply.
+     * @param tasks The tasks to apply it to.
+     */
+    private void applyEntry(JournalEntry entry, ArrayList<Task> tasks) {
+        if (entry.getOperation() == JournalEntry.Operation.ADD) {
+            Task task = parseTask(entry.getPayload());
+            if (task != null) {
+                tasks.add(task);
+                loadedLastId = Math.max(loadedLastId, task.getId());
+            }
+            return;
+        }
+
+        int index;
+        try {
+            index = entry.getIndex();
+        } catch (NumberFormatException e) {
+            return;
+        }
+        if (index < 0 || index >= tasks.size()) {
+            return;
+        }
+
+        switch (entry.getOperation()) {
+        case MARK -> tasks.get(index).mark();
+        case UNMARK -> tasks.get(index).unmark();
+        case DELETE -> tasks.remove(index);
+        default -> {
+            // ADD is handled above
+        }
+        }
+    }
+
+    /**
+     * Records several mutations of the task list, in the order they were applied.
+     * The tasks must reflect all of them, so compaction only happens after the last one is journaled.
+     *
+     * @param entries The mutations that were applied to the tasks.
+     * @param tasks The task list after the mutations.
+     * @param lastId The highest task ID handed out so far, for snapshots taken along the way.
+     * @throws IOException If an I/O error occurs while writing to disk.
+     */
+    private synchronized void recordAll(List<JournalEntry> entries, List<Task> tasks, int lastId)
+            throws IOException {
+        if (writeBehind != null) {
+            queueRecords(entries, tasks, lastId);
+            return;
+        }
+        if (journal == null) {
+            saveSnapshot(tasks, lastId);
+            return;
+        }
+
+        openJournal();
+        journal.appendAll(entries);
+        if (journal.size() >= COMPACTION_THRESHOLD_BYTES && !isCompacting) {
+            scheduleCompaction(tasks, lastId);
+        }
+    }
+
+    /**
+     * Queues mutations for the writer thread, together with a fresh snapshot if the journal has grown
+     * past the compaction threshold. After a failed background write, a snapshot is queued instead.
+     *
+     * @param entries The mutations that were applied to the tasks.
+     * @param tasks The task list after the mutations.
+     * @param lastId The highest task ID handed out so far.
+     * @throws IOException If the journal cannot be opened.
+     */
+    private void queueRecords(List<JournalEntry> entries, List<Task> tasks, int lastId) throws IOException {
+        if (journal == null || isSnapshotNeeded) {
+            queueSnapshot(tasks, lastId);
+            return;
+        }
+
+        openJournal();
+        for (JournalEntry entry : entries) {
+            writeBehind.submit(PendingWrite.ofEntry(entry, journal.nextSequence()));
+        }
+        if (isCompactionDue) {
+            isCompactionDue = false;
+            long sequence = journal.getLastSequence();
+            writeBehind.submit(PendingWrite.ofSnapshot(encodeSnapshot(tasks, sequence, lastId), sequence));
+        }
+    }
+
+    /**
+     * Queues a snapshot of the whole list for the writer thread, covering every journal entry numbered so far.
+     *
+     * @param tasks The tasks to save.
+     * @param lastId The highest task ID handed out so far.
+     * @throws IOException If the journal cannot be opened.
+     */
+    private synchronized void queueSnapshot(List<Task> tasks, int lastId) throws IOException {
+        long sequence = 0;
+        if (journal != null) {
+            openJournal();
+            sequence = journal.getLastSequence();
+        }
+        writeBehind.submit(PendingWrite.ofSnapshot(encodeSnapshot(tasks, sequence, lastId), sequence));
+    }
+
+    /**
+     * Writes one batch of queued changes on the writer thread.
+     * Journal lines queued before the newest snapshot in the batch are already in it, so they are dropped, and
+     * the rest are appended in a single write after the snapshot.
+     * If a write fails, the journal has a gap from then on, so journal lines are held back until a snapshot
+     * covering the gap has been written, and the next change asks for one.
+     *
+     * @param batch The queued changes, in submission order.
+     * @throws IOException If the batch cannot be written.
+     */
+    private void commitBatch(List<PendingWrite> batch) throws IOException {
+        List<String> journalLines = new ArrayList<>();
+        PendingWrite latestSnapshot = null;
+        for (PendingWrite pending : batch) {
+            if (pending.isSnapshot()) {
+                latestSnapshot = pending;
+                journalLines.clear();
+            } else {
+                journalLines.add(pending.journalLine);
+            }
+        }
+
+        try {
+            if (latestSnapshot != null) {
+                writeSnapshot(latestSnapshot.snapshot, latestSnapshot.sequence);
+                if (journal != null) {
+                    journal.truncateUpTo(latestSnapshot.sequence);
+                }
+                isSnapshotNeeded = false;
+            }
+            if (isSnapshotNeeded || journalLines.isEmpty()) {
+                return;
+            }
+            journal.write(journalLines);
+            if (journal.size() >= COMPACTION_THRESHOLD_BYTES) {
+                isCompactionDue = true;
+            }
+        } catch (IOException | RuntimeException e) {
+            isSnapshotNeeded = true;
+            throw e;
+        }
+    }
+
+    /**
+     * Sets how many previous versions of the task file to keep as {@code ladis.txt.1}, {@code ladis.txt.2}, ...
+     * Each save rotates them, so the oldest generation is dropped. Defaults to 0 (no backups).
+     *
+     * @param backupGenerations The number of backup generations to keep.
+     */
+    public void setBackupGenerations(int backupGenerations) {
+        assert backupGenerations >= 0 : "Backup generation count should not be negative";
+        synchronized (snapshotLock) {
+            this.backupGenerations = backupGenerations;
+        }
+    }
+
+    /**
+     * Blocks until every change recorded so far has been written to disk.
+     * Returns immediately unless write-behind mode is enabled.
+     *
+     * @throws IOException If a background write failed.
+     */
+    public void flush() throws IOException {
+        if (writeBehind != null) {
+            writeBehind.flush();
+        }
+    }
+
+    /**
+     * Returns the number of recorded changes still waiting for the writer thread.
+     *
+     * @return The write queue depth, or 0 when write-behind mode is disabled.
+     */
+    public long getPendingWriteCount() {
+        return writeBehind == null ? 0 : writeBehind.getQueueDepth();
+    }
+
+    /**
+     * Returns the number of group commits performed by the writer thread.
+     *
+     * @return The commit count, or 0 when write-behind mode is disabled.
+     */
+    public long getCommitCount() {
+        return writeBehind == null ? 0 : writeBehind.getCommitCount();
+    }
+
+    /**
+     * Returns the latency of the most recent group commit.
+     *
+     * @return The commit latency in nanoseconds, or 0 if nothing has been committed.
+     */
+    public long getLastCommitLatencyNanos() {
+        return writeBehind == null ? 0 : writeBehind.getLastCommitNanos();
+    }
+
+    /**
+     * Returns the mean latency of group commits so far.
+     *
+     * @return The average commit latency in nanoseconds, or 0 if nothing has been committed.
+     */
+    public long getAverageCommitLatencyNanos() {
+        return writeBehind == null ? 0 : writeBehind.getAverageCommitNanos();
+    }
+
+    /**
+     * Captures the current tasks and folds the journal into a new snapshot on the compactor thread.
+     * Serialising the tasks happens on the caller thread so that later mutations cannot leak into it.
+     *
+     * @param tasks The task list covering every journal entry so far.
+     * @param lastId The highest task ID handed out so far.
+     */
+    private void scheduleCompaction(List<Task> tasks, int lastId) {
+        long sequence = journal.getLastSequence();
+        ByteBuffer image = encodeSnapshot(tasks, sequence, lastId);
+        isCompacting = true;
+        try {
+            compactor.submit(() -> compact(image, sequence));
+        } catch (RejectedExecutionException e) {
+            compact(image, sequence);
+        }
+    }
+
+    private void compact(ByteBuffer image, long sequence) {
+        try {
+            writeSnapshot(image, sequence);
+            synchronized (this) {
+                journal.truncateUpTo(sequence);
+            }
+        } catch (IOException e) {
+            // The journal is left intact, so nothing is lost; compaction is retried on a later mutation.
+        } finally {
+            isCompacting = false;
+        }
+    }
+
+    /**
+     * Serialises tasks into a snapshot image in this storage's format.
+     *
+     * @param tasks The tasks to serialise.
+     * @param sequence The last journal sequence number covered by the snapshot.
+     * @param lastId The highest task ID handed out so far.
+     * @return A buffer holding the complete snapshot.
+     */
+    private ByteBuffer encodeSnapshot(List<Task> tasks, long sequence, int lastId) {
+        return encodeSnapshot(tasks, sequence, lastId, null);
+    }
+
+    /**
+     * Serialises tasks into a snapshot image in this storage's format, noting where each task's record starts.
+     * Text records are encoded by the tasks straight into the image, without a string per task.
+     * IDs increase along the list, so a text snapshot only needs a header for the highest ID when the task
+     * that had it is gone.
+     *
+     * @param tasks The tasks to serialise.
+     * @param sequence The last journal sequence number covered by the snapshot.
+     * @param lastId The highest task ID handed out so far.
+     * @param recordOffsets If not null, receives the byte offset of each task's record.
+     * @return A buffer holding the complete snapshot.
+     */
+    private ByteBuffer encodeSnapshot(List<Task> tasks, long sequence, int lastId, List<Long> recordOffsets) {
+        if (isBinary) {
+            return BinarySnapshot.encode(tasks, sequence, lastId, recordOffsets);
+        }
+        Utf8BufferWriter text = new Utf8BufferWriter(tasks.size() * ESTIMATED_RECORD_BYTES);
+        if (journal != null) {
+            text.append(SNAPSHOT_HEADER_PREFIX).append(Long.toString(sequence)).append('\n');
+        }
+        if (lastId > (tasks.isEmpty() ? 0 : tasks.get(tasks.size() - 1).getId())) {
+            text.append(LAST_ID_HEADER_PREFIX).append(Integer.toString(lastId)).append('\n');
+        }
+        for (Task task : tasks) {
+            if (recordOffsets != null) {
+                recordOffsets.add((long) text.position());
+            }
+            text.appendLine(task);
+        }
+        return text.finish();
+    }
+
+    /**
+     * Atomically replaces the task file with a snapshot, rotating backups if enabled.
+     * Snapshots older than the one already on disk are discarded.
+     *
+     * @param image The encoded snapshot.
+     * @param sequence The last journal sequence number covered by the snapshot.
+     * @throws IOException If the snapshot cannot be written.
+     */
+    private void writeSnapshot(ByteBuffer image, long sequence) throws IOException {
+        synchronized (snapshotLock) {
+            if (sequence < snapshotSequence) {
+                return;
+            }
+            AtomicFileWriter.write(new File(filePath), image, backupGenerations);
+            snapshotSequence = sequence;
+        }
+    }
+
+    private void openJournal() throws IOException {
+        if (!journal.isOpen()) {
+            journal.open(readSnapshotSequence());
+        }
+    }
+
+    /**
+     * Reads the journal sequence number recorded in the snapshot header, if any.
+     *
+     * @return The snapshot's sequence number, or the one last loaded if there is no snapshot file yet.
+     * @throws IOException If the snapshot cannot be read.
+     */
+    private long readSnapshotSequence() throws IOException {
+        File file = new File(filePath);
+        if (!file.exists()) {
+            return snapshotSequence;
+        }
+        if (isBinary) {
+            snapshotSequence = Math.max(snapshotSequence, BinarySnapshot.readSequence(file));
+            return snapshotSequence;
+        }
+        try (BufferedReader reader = new BufferedReader(new FileReader(file, StandardCharsets.UTF_8))) {
+            String line = reader.readLine();
+            if (line != null && line.startsWith(SNAPSHOT_HEADER_PREFIX)) {
+                snapshotSequence = Math.max(snapshotSequence, parseSnapshotSequence(line));
+            }
+        }
+        return snapshotSequence;
+    }
+
+    /**
+     * Reads the highest task ID recorded in a text snapshot's header lines, if any.
+     *
+     * @param file The text snapshot.
+     * @return The recorded ID, or 0 if the header has none.
+     * @throws IOException If the snapshot cannot be read.
+     */
+    private int readLastIdHeader(File file) throws IOException {
+        try (BufferedReader reader = new BufferedReader(new FileReader(file, StandardCharsets.UTF_8))) {
+            String line = reader.readLine();
+            while (line != null && line.startsWith("# ")) {
+                if (line.startsWith(LAST_ID_HEADER_PREFIX)) {
+                    return parseLastId(line);
+                }
+                line = reader.readLine();
+            }
+        }
+        return 0;
+    }
+
+    private int parseLastId(String header) {
+        try {
+            return Integer.parseInt(header.substring(LAST_ID_HEADER_PREFIX.length()).trim());
+        } catch (NumberFormatException e) {
+            return 0;
+        }
+    }
+
+    private long parseSnapshotSequence(String header) {
+        try {
+            return Long.parseLong(header.substring(SNAPSHOT_HEADER_PREFIX.length()).trim());
+        } catch (NumberFormatException e) {
+            return 0;
+        }
+    }
+
+    /**
+     * Writes any queued changes, waits for pending compaction to finish and stops the background threads.
+     *
+     * @throws IOException If a queued change could not be written.
+     */
+    public void close() throws IOException {
+        if (writeBehind != null) {
+            writeBehind.close();
+        }
+        if (compactor == null) {
+            return;
+        }
+        compactor.shutdown();
+        try {
+            compactor.awaitTermination(10, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
     /**
      * Saves all tasks to the storage file.
      * Creates the file and parent directories if they do not exist.
+     * The file is replaced atomically, so a crash mid-save never leaves a truncated task list behind.
+     *
+     * @param tasks The tasks to save.
+     * @throws IOException If an I/O error occurs while writing to the file.
+     */
+    public void save(List<Task> tasks) throws IOException {
+        saveSnapshot(tasks, 0);
+        reportBackgroundFailure();
+    }
+
+    /**
+     * Saves all tasks to the storage file, or queues them for the writer thread in write-behind mode,
+     * without reporting earlier background failures.
      *
-     * @param tasks The ArrayList of tasks to save.
+     * @param tasks The tasks to save.
+     * @param lastId The highest task ID handed out so far, or 0 if it is that of the last task.
      * @throws IOException If an I/O error occurs while writing to the file.
      */
-    public void save(ArrayList<Task> tasks) throws IOException {
+    private void saveSnapshot(List<Task> tasks, int lastId) throws IOException {
         assert tasks != null : "Task list to save should not be null";
-        File file = new File(filePath);
-        File parentDir = file.getParentFile();
-        if (parentDir != null && !parentDir.exists()) {
-            parentDir.mkdirs();
+        if (writeBehind != null) {
+            queueSnapshot(tasks, lastId);
+            return;
+        }
+        if (journal != null) {
+            synchronized (this) {
+                openJournal();
+                long sequence = journal.getLastSequence();
+                writeSnapshot(encodeSnapshot(tasks, sequence, lastId), sequence);
+                journal.truncateUpTo(sequence);
+            }
+            return;
         }
 
-        try (FileWriter writer = new FileWriter(file)) {
-            tasks.stream()
-                    .map(Task::toFileString)
-                    .forEach(line -> {
-                        try {
-                            writer.write(line + "\n");
-                        } catch (IOException e) {
-                            throw new RuntimeException(e);
-                        }
-                    });
+        synchronized (snapshotLock) {
+            ArrayList<Long> recordOffsets = new ArrayList<>();
+            ByteBuffer image = encodeSnapshot(tasks, 0, lastId, recordOffsets);
+            writeSnapshot(image, 0);
+            patcher = new InPlacePatcher(new File(filePath), isBinary, recordOffsets, image.remaining());
+        }
+        assert new File(filePath).exists() : "File should exist after saving";
+    }
+
+    /**
+     * Throws the failure of an earlier background write, if any. The changes it lost have been queued again
+     * by then, so the failure is only reported, once.
+     *
+     * @throws IOException The failure of an earlier background write.
+     */
+    private void reportBackgroundFailure() throws IOException {
+        if (writeBehind != null) {
+            writeBehind.rethrowFailure();
         }
-        assert file.exists() : "File should exist after saving";
+    }
+
+    /**
+     * Saves the changes made to a task list since it was last saved.
+     * In journaled mode each change becomes one journal record. Otherwise the changes are patched into
+     * the regions of the task file they affect, falling back to a full save when that is not possible,
+     * e.g. for removals or before the file has been written once in this session.
+     *
+     * @param tasks The task list to save.
+     * @throws IOException If an I/O error occurs while writing to disk.
+     */
+    public void save(TaskList tasks) throws IOException {
+        assert tasks != null : "Task list to save should not be null";
+        synchronized (saveLock) {
+            SavePoint savePoint = tasks.getSavePoint();
+            if (!savePoint.hasUnsavedChanges()) {
+                return;
+            }
+
+            if (savePoint.isFullSaveNeeded()) {
+                saveSnapshot(savePoint.getTasks(), savePoint.getLastId());
+            } else if (journal != null) {
+                recordAll(toJournalEntries(savePoint.getChanges()), savePoint.getTasks(), savePoint.getLastId());
+            } else if (writeBehind != null || !patchInPlace(savePoint.getChanges())) {
+                saveSnapshot(savePoint.getTasks(), savePoint.getLastId());
+            }
+            tasks.markSaved(savePoint);
+        }
+        reportBackgroundFailure();
+    }
+
+    private boolean patchInPlace(List<TaskChange> changes) throws IOException {
+        synchronized (snapshotLock) {
+            if (patcher == null || !patcher.apply(changes)) {
+                patcher = null;
+                return false;
+            }
+            return true;
+        }
+    }
+
+    private List<JournalEntry> toJournalEntries(List<TaskChange> changes) {
+        List<JournalEntry> entries = new ArrayList<>(changes.size());
+        for (TaskChange change : changes) {
+            JournalEntry entry = switch (change.getKind()) {
+            case ADDED -> JournalEntry.add(change.getTask());
+            case MARKED -> JournalEntry.mark(change.getIndex());
+            case UNMARKED -> JournalEntry.unmark(change.getIndex());
+            case REMOVED -> JournalEntry.delete(change.getIndex());
+            };
+            entries.add(entry);
+        }
+        return entries;
     }
 
     /**
@@ -102,17 +831,19 @@ public class Storage {
      * @param line The line from the file to parse.
      * @return A Task object, or null if the line cannot be parsed.
      */
-    private Task parseTask(String line) {
+    static Task parseTask(String line) {
         if (line == null || line.trim().isEmpty()) {
             return null;
         }
 
         try {
             String[] parts = line.split(" \\| ");
-            if (parts.length < 3) {
+            int id = parseId(parts);
+            int fieldCount = id > 0 ? parts.length - 1 : parts.length;
+            if (fieldCount < 3) {
                 return null;
             }
-            assert parts.length >= 3 : "Parsed task should have at least 3 parts";
+            assert fieldCount >= 3 : "Parsed task should have at least 3 parts";
             String taskType = parts[0];
             boolean isDone = parts[1].equals("1");
             String description = parts[2];
@@ -121,18 +852,18 @@ public class Storage {
             Task task = switch (taskType) {
             case "T" -> new Todo(description);
             case "D" -> {
-                if (parts.length < 4) {
+                if (fieldCount < 4) {
                     yield null;
                 }
-                assert parts.length >= 4 : "Deadline task should have deadline information";
+                assert fieldCount >= 4 : "Deadline task should have deadline information";
                 String deadlineDateStr = parts[3];
                 yield new Deadline(description, deadlineDateStr);
             }
             case "E" -> {
-                if (parts.length < 5) {
+                if (fieldCount < 5) {
                     yield null;
                 }
-                assert parts.length >= 5 : "Event task should have start and end date information";
+                assert fieldCount >= 5 : "Event task should have start and end date information";
                 String startDateStr = parts[3];
                 String endDateStr = parts[4];
                 yield new Event(description, startDateStr, endDateStr);
@@ -146,6 +877,7 @@ public class Storage {
                     task.mark();
                     assert task.isDone() : "Task should be marked as done after mark()";
                 }
+                task.setId(id);
             }
 
             return task;
@@ -155,49 +887,92 @@ public class Storage {
     }
 
     /**
-     * Saves a single task to the archive file, appending to existing archive.
+     * Returns the task ID saved as the last field of a task line, or 0 for lines written before tasks had IDs.
+     */
+    private static int parseId(String[] parts) {
+        String last = parts[parts.length - 1];
+        if (parts.length <= 3 || last.length() < 2 || last.length() > 10 || last.charAt(0) != '#') {
+            return 0;
+        }
+        for (int i = 1; i < last.length(); i++) {
+            if (last.charAt(i) < '0' || last.charAt(i) > '9') {
+                return 0;
+            }
+        }
+        long id = Long.parseLong(last.substring(1));
+        return id <= Integer.MAX_VALUE ? (int) id : 0;
+    }
+
+    /**
+     * Saves a single task to the archive, appending it to the active archive segment.
      *
      * @param task The task to archive.
-     * @throws IOException If an I/O error occurs while writing to the file.
+     * @throws IOException If an I/O error occurs while writing to the archive.
      */
     public void saveArchived(Task task) throws IOException {
         assert task != null : "Task to archive should not be null";
-        File file = new File(archiveFilePath);
-        File parentDir = file.getParentFile();
-        if (parentDir != null && !parentDir.exists()) {
-            parentDir.mkdirs();
-        }
-
-        try (FileWriter writer = new FileWriter(file, true)) {
-            writer.write(task.toFileString() + "\n");
+        synchronized (archiveLock) {
+            archive.append(task);
+            if (archivedTasks != null) {
+                archivedTasks.add(task);
+            }
         }
     }
 
     /**
-     * Loads all archived tasks from the archive file.
+     * Streams the archived tasks matching the query from the off-heap copy of the archive.
+     * Records are checked against the query before they are decoded, so only the matches become tasks.
+     * The stream should be closed after use.
      *
-     * @return An ArrayList of archived tasks.
-     * @throws IOException If an I/O error occurs while reading the file.
+     * @param query The criteria archived tasks must meet.
+     * @return A lazy stream of the matching archived tasks, oldest first.
+     * @throws IOException If the archive has not been read yet and cannot be.
      */
-    public ArrayList<Task> loadArchived() throws IOException {
-        ArrayList<Task> archivedTasks = new ArrayList<>();
-        assert archivedTasks != null : "Archived task list should be initialized";
-        File file = new File(archiveFilePath);
+    public Stream<Task> streamArchived(ArchiveQuery query) throws IOException {
+        return getArchivedTasks().stream(query, 0);
+    }
 
-        if (!file.exists()) {
-            return archivedTasks;
-        }
+    /**
+     * Streams the archived tasks from the given position onwards from the off-heap copy of the archive.
+     * The stream should be closed after use.
+     *
+     * @param fromPosition The zero-based archive position of the first task to return.
+     * @return A lazy stream of archived tasks, oldest first.
+     * @throws IOException If the archive has not been read yet and cannot be.
+     */
+    public Stream<Task> streamArchived(long fromPosition) throws IOException {
+        return getArchivedTasks().stream(ArchiveQuery.all(), fromPosition);
+    }
 
-        try (BufferedReader reader = new BufferedReader(new FileReader(file))) {
-            String line;
-            while ((line = reader.readLine()) != null) {
-                Task task = parseTask(line);
-                if (task != null) {
-                    archivedTasks.add(task);
+    /**
+     * Returns the archived tasks held off the heap, reading the whole archive into them on first use.
+     * Tasks archived later are appended to them by {@link #saveArchived(Task)}.
+     *
+     * @return The archived tasks.
+     * @throws IOException If the archive cannot be read.
+     */
+    private OffHeapTaskStore getArchivedTasks() throws IOException {
+        synchronized (archiveLock) {
+            if (archivedTasks == null) {
+                OffHeapTaskStore loaded = new OffHeapTaskStore();
+                try (Stream<Task> all = archive.stream(ArchiveQuery.all(), 0)) {
+                    all.forEach(loaded::add);
+                } catch (UncheckedIOException e) {
+                    throw e.getCause();
                 }
+                archivedTasks = loaded;
             }
+            return archivedTasks;
         }
-        assert archivedTasks != null : "Loaded archived task list should not be null";
-        return archivedTasks;
+    }
+
+    /**
+     * Returns the number of archived tasks, without reading the archive itself.
+     *
+     * @return The number of archived tasks.
+     * @throws IOException If the archive index cannot be read.
+     */
+    public long countArchived() throws IOException {
+        return archive.count();
     }
 }
@@ -0,0 +1,146 @@
+package ladis.storage;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+
+import ladis.task.Task;
+
+/**
+ * Encodes the characters appended to it as UTF-8 straight into a growing heap buffer, so text records are
+ * serialised without a string or byte array per task. The position is the number of bytes written so far,
+ * which is where the next record starts in the file.
+ *
+ * Unpaired surrogates are written as '?', as {@link String#getBytes} does, so the bytes match those of the
+ * strings the records used to be built as.
+ */
+class Utf8BufferWriter implements Appendable {
+    private static final int MIN_CAPACITY = 64;
+    private static final byte REPLACEMENT = '?';
+
+    private ByteBuffer buffer;
+    private char pendingHighSurrogate;
+
+    /**
+     * Constructs a writer whose buffer starts with room for the given number of bytes.
+     *
+     * @param initialCapacity The expected number of bytes.
+     */
+    Utf8BufferWriter(int initialCapacity) {
+        buffer = ByteBuffer.allocate(Math.max(initialCapacity, MIN_CAPACITY));
+    }
+
+    /**
+     * Encodes a task's text record followed by a line break.
+     *
+     * @param task The task to encode.
+     * @return A buffer holding the record, ready to be read.
+     */
+    static ByteBuffer encodeLine(Task task) {
+        return new Utf8BufferWriter(MIN_CAPACITY).appendLine(task).finish();
+    }
+
+    /**
+     * Appends a task's text record followed by a line break.
+     *
+     * @param task The task to append.
+     * @return This writer.
+     */
+    Utf8BufferWriter appendLine(Task task) {
+        try {
+            task.writeTo(this);
+        } catch (IOException e) {
+            // This writer never throws
+            throw new UncheckedIOException(e);
+        }
+        return append('\n');
+    }
+
+    @Override
+    public Utf8BufferWriter append(CharSequence text) {
+        CharSequence chars = text == null ? "null" : text;
+        return append(chars, 0, chars.length());
+    }
+
+    @Override
+    public Utf8BufferWriter append(CharSequence text, int start, int end) {
+        CharSequence chars = text == null ? "null" : text;
+        for (int i = start; i < end; i++) {
+            append(chars.charAt(i));
+        }
+        return this;
+    }
+
+    @Override
+    public Utf8BufferWriter append(char c) {
+        if (pendingHighSurrogate != 0) {
+            char high = pendingHighSurrogate;
+            pendingHighSurrogate = 0;
+            if (Character.isLowSurrogate(c)) {
+                int codePoint = Character.toCodePoint(high, c);
+                ensureRoom(4);
+                buffer.put((byte) (0xF0 | codePoint >> 18))
+                        .put((byte) (0x80 | codePoint >> 12 & 0x3F))
+                        .put((byte) (0x80 | codePoint >> 6 & 0x3F))
+                        .put((byte) (0x80 | codePoint & 0x3F));
+                return this;
+            }
+            ensureRoom(1);
+            buffer.put(REPLACEMENT);
+        }
+
+        if (c < 0x80) {
+            ensureRoom(1);
+            buffer.put((byte) c);
+        } else if (c < 0x800) {
+            ensureRoom(2);
+            buffer.put((byte) (0xC0 | c >> 6)).put((byte) (0x80 | c & 0x3F));
+        } else if (Character.isHighSurrogate(c)) {
+            pendingHighSurrogate = c;
+        } else if (Character.isLowSurrogate(c)) {
+            ensureRoom(1);
+            buffer.put(REPLACEMENT);
+        } else {
+            ensureRoom(3);
+            buffer.put((byte) (0xE0 | c >> 12)).put((byte) (0x80 | c >> 6 & 0x3F)).put((byte) (0x80 | c & 0x3F));
+        }
+        return this;
+    }
+
+    /**
+     * Returns the number of bytes written so far.
+     *
+     * @return The byte offset at which the next character will be written.
+     */
+    int position() {
+        return buffer.position();
+    }
+
+    /**
+     * Finishes writing and hands over the bytes written. The writer must not be used afterwards.
+     *
+     * @return A buffer holding the bytes written, ready to be read.
+     */
+    ByteBuffer finish() {
+        if (pendingHighSurrogate != 0) {
+            pendingHighSurrogate = 0;
+            ensureRoom(1);
+            buffer.put(REPLACEMENT);
+        }
+        return buffer.flip();
+    }
+
+    private void ensureRoom(int needed) {
+        if (buffer.remaining() >= needed) {
+            return;
+        }
+        long capacity = Math.max((long) buffer.capacity() * 2, (long) buffer.position() + needed);
+        if (capacity > Integer.MAX_VALUE) {
+            throw new IllegalStateException("Text snapshot is too large");
+        }
+        ByteBuffer grown = ByteBuffer.allocate((int) capacity);
+        buffer.flip();
+        grown.put(buffer);
+        buffer = grown;
+    }
+}
@@ -0,0 +1,216 @@
+package ladis.storage;
+
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Queue of pending writes drained by a dedicated writer thread.
+ * Everything that piles up while one write is in progress is handed to the next write as a single
+ * batch (group commit), so bursts of mutations cost one disk write instead of one each.
+ * A batch that fails, however it fails, still counts as done; its failure is kept for the caller to report.
+ * Once the queue is closed, items are written on the submitting thread, so closing twice or saving during
+ * shutdown never leaves a caller waiting for a thread that is gone.
+ *
+ * @param <T> The type of pending write.
+ */
+class WriteBehindQueue<T> {
+    private static final long POLL_INTERVAL_MILLIS = 100;
+
+    /**
+     * Writes a batch of pending items to disk.
+     *
+     * @param <T> The type of pending write.
+     */
+    @FunctionalInterface
+    interface BatchWriter<T> {
+        void write(List<T> batch) throws IOException;
+    }
+
+    private final LinkedBlockingQueue<T> queue = new LinkedBlockingQueue<>();
+    private final BatchWriter<T> batchWriter;
+    private final Thread writerThread;
+    private final Object progressLock = new Object();
+    private volatile boolean isRunning;
+
+    private long submittedCount;
+    private long committedCount;
+    private long commitCount;
+    private long totalCommitNanos;
+    private long lastCommitNanos;
+    private IOException failure;
+
+    /**
+     * Constructs a WriteBehindQueue and starts its writer thread.
+     *
+     * @param name The name of the writer thread.
+     * @param batchWriter The callback that writes each batch.
+     */
+    WriteBehindQueue(String name, BatchWriter<T> batchWriter) {
+        this.batchWriter = batchWriter;
+        this.isRunning = true;
+        this.writerThread = new Thread(this::drain, name);
+        this.writerThread.setDaemon(true);
+        this.writerThread.start();
+    }
+
+    /**
+     * Hands an item to the writer thread, or writes it straight away if the queue has been closed.
+     *
+     * @param item The pending write.
+     */
+    void submit(T item) {
+        synchronized (progressLock) {
+            submittedCount++;
+            if (isRunning) {
+                queue.add(item);
+                return;
+            }
+        }
+        awaitWriterThread();
+        commit(List.of(item));
+    }
+
+    /**
+     * Blocks until everything submitted before this call has been written.
+     *
+     * @throws IOException If a write failed since the last time a failure was reported.
+     */
+    void flush() throws IOException {
+        synchronized (progressLock) {
+            long target = submittedCount;
+            while (committedCount < target) {
+                try {
+                    progressLock.wait();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    throw new InterruptedIOException("Interrupted while waiting for pending writes");
+                }
+            }
+        }
+        rethrowFailure();
+    }
+
+    /**
+     * Throws the last write failure, if any, and clears it.
+     *
+     * @throws IOException The failure of an earlier background write.
+     */
+    void rethrowFailure() throws IOException {
+        synchronized (progressLock) {
+            if (failure != null) {
+                IOException e = failure;
+                failure = null;
+                throw e;
+            }
+        }
+    }
+
+    /**
+     * Writes everything still pending and stops the writer thread.
+     *
+     * @throws IOException If a pending write failed.
+     */
+    void close() throws IOException {
+        try {
+            flush();
+        } finally {
+            synchronized (progressLock) {
+                isRunning = false;
+            }
+            awaitWriterThread();
+        }
+    }
+
+    private void awaitWriterThread() {
+        try {
+            writerThread.join();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    /**
+     * Returns the number of submitted writes that have not reached disk yet.
+     *
+     * @return The queue depth.
+     */
+    long getQueueDepth() {
+        synchronized (progressLock) {
+            return submittedCount - committedCount;
+        }
+    }
+
+    long getCommitCount() {
+        synchronized (progressLock) {
+            return commitCount;
+        }
+    }
+
+    long getLastCommitNanos() {
+        synchronized (progressLock) {
+            return lastCommitNanos;
+        }
+    }
+
+    /**
+     * Returns the mean time taken by a group commit so far.
+     *
+     * @return The average commit latency in nanoseconds, or 0 if nothing has been committed.
+     */
+    long getAverageCommitNanos() {
+        synchronized (progressLock) {
+            return commitCount == 0 ? 0 : totalCommitNanos / commitCount;
+        }
+    }
+
+    private void drain() {
+        while (isRunning || !queue.isEmpty()) {
+            T first;
+            try {
+                first = queue.poll(POLL_INTERVAL_MILLIS, TimeUnit.MILLISECONDS);
+            } catch (InterruptedException e) {
+                continue;
+            }
+            if (first == null) {
+                continue;
+            }
+
+            List<T> batch = new ArrayList<>();
+            batch.add(first);
+            queue.drainTo(batch);
+            commit(batch);
+        }
+    }
+
+    /**
+     * Writes a batch and records its progress, keeping any failure for the caller to report.
+     */
+    private void commit(List<T> batch) {
+        long start = System.nanoTime();
+        IOException batchFailure = null;
+        try {
+            batchWriter.write(batch);
+        } catch (IOException e) {
+            batchFailure = e;
+        } catch (RuntimeException e) {
+            // Keep the writer thread alive so that flush() still sees the batch through
+            batchFailure = new IOException("Background write failed", e);
+        }
+        long elapsed = System.nanoTime() - start;
+
+        synchronized (progressLock) {
+            committedCount += batch.size();
+            commitCount++;
+            totalCommitNanos += elapsed;
+            lastCommitNanos = elapsed;
+            if (batchFailure != null) {
+                failure = batchFailure;
+            }
+            progressLock.notifyAll();
+        }
+    }
+}
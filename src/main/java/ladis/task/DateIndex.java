@@ -0,0 +1,84 @@
+package ladis.task;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.TreeMap;
+
+/**
+ * Index of deadlines and events ordered by when they fall due: a deadline by its deadline, an event by
+ * its start. Keys are minutes since the epoch; a missing time counts as the start of the day.
+ * Range queries walk only the keys inside the range, so agenda lookups take O(log n + k).
+ */
+class DateIndex implements TaskIndex {
+    private static final int MINUTES_PER_DAY = 24 * 60;
+
+    private final TreeMap<Long, TaskPostings> byMinute = new TreeMap<>();
+
+    @Override
+    public void add(int id, Task task) {
+        Long key = keyOf(task);
+        if (key != null) {
+            byMinute.computeIfAbsent(key, minute -> new TaskPostings()).add(id, task);
+        }
+    }
+
+    @Override
+    public void remove(int id, Task task) {
+        Long key = keyOf(task);
+        if (key == null) {
+            return;
+        }
+        TaskPostings tasks = byMinute.get(key);
+        if (tasks != null) {
+            tasks.remove(id);
+            if (tasks.isEmpty()) {
+                byMinute.remove(key);
+            }
+        }
+    }
+
+    /**
+     * Returns the tasks falling due within the inclusive range, earliest first; ties keep list order.
+     *
+     * @param from The start of the range.
+     * @param to The end of the range.
+     * @return The tasks in the range.
+     */
+    List<Task> between(LocalDateTime from, LocalDateTime to) {
+        List<Task> result = new ArrayList<>();
+        long fromMinute = epochMinute(from.toLocalDate(), from.toLocalTime());
+        long toMinute = epochMinute(to.toLocalDate(), to.toLocalTime());
+        if (fromMinute > toMinute) {
+            return result;
+        }
+        for (TaskPostings tasks : byMinute.subMap(fromMinute, true, toMinute, true).values()) {
+            for (int i = 0; i < tasks.size(); i++) {
+                result.add(tasks.getTask(i));
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Returns the minute a task falls due, or null for tasks without a date.
+     */
+    static Long keyOf(Task task) {
+        if (task instanceof Deadline) {
+            Deadline deadline = (Deadline) task;
+            return epochMinute(deadline.getDeadlineDay(), deadline.getDeadlineTime());
+        }
+        if (task instanceof Event) {
+            Event event = (Event) task;
+            return epochMinute(event.getStartDate(), event.getStartTime());
+        }
+        return null;
+    }
+
+    static long epochMinute(LocalDate date, LocalTime time) {
+        long minuteOfDay = time == null ? 0 : time.getHour() * 60L + time.getMinute();
+        return date.toEpochDay() * MINUTES_PER_DAY + minuteOfDay;
+    }
+}
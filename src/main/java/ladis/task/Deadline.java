@@ -1,5 +1,6 @@
 package ladis.task;
 
+import java.io.IOException;
 import java.time.LocalDate;
 import java.time.LocalTime;
 
@@ -50,17 +51,18 @@ public class Deadline extends Task {
     }
 
     @Override
-    public String toFileString() {
-        String result = super.toFileString() + " | " + DateTimeParser.serializeDate(deadlineDay);
+    protected void writeFileFields(Appendable out) throws IOException {
+        super.writeFileFields(out);
+        out.append(" | ");
+        DateTimeParser.writeDate(deadlineDay, out);
         if (deadlineTime != null) {
-            result += " " + DateTimeParser.serializeTime(deadlineTime);
+            out.append(' ').append(DateTimeParser.serializeTime(deadlineTime));
         }
-        return result;
     }
 
     @Override
-    public String toString() {
+    protected String toDisplayString() {
         String timeStr = deadlineTime != null ? ", " + DateTimeParser.formatTime(deadlineTime) : "";
-        return super.toString() + " (by: " + DateTimeParser.formatDate(deadlineDay) + timeStr + ")";
+        return super.toDisplayString() + " (by: " + DateTimeParser.formatDate(deadlineDay) + timeStr + ")";
     }
 }
@@ -1,5 +1,6 @@
 package ladis.task;
 
+import java.io.IOException;
 import java.time.LocalDate;
 import java.time.LocalTime;
 
@@ -70,23 +71,25 @@ public class Event extends Task {
     }
 
     @Override
-    public String toFileString() {
-        String result = super.toFileString() + " | " + DateTimeParser.serializeDate(startDate);
+    protected void writeFileFields(Appendable out) throws IOException {
+        super.writeFileFields(out);
+        out.append(" | ");
+        DateTimeParser.writeDate(startDate, out);
         if (startTime != null) {
-            result += " " + DateTimeParser.serializeTime(startTime);
+            out.append(' ').append(DateTimeParser.serializeTime(startTime));
         }
-        result += " | " + DateTimeParser.serializeDate(endDate);
+        out.append(" | ");
+        DateTimeParser.writeDate(endDate, out);
         if (endTime != null) {
-            result += " " + DateTimeParser.serializeTime(endTime);
+            out.append(' ').append(DateTimeParser.serializeTime(endTime));
         }
-        return result;
     }
 
     @Override
-    public String toString() {
+    protected String toDisplayString() {
         String startTimeStr = startTime != null ? ", " + DateTimeParser.formatTime(startTime) : "";
         String endTimeStr = endTime != null ? ", " + DateTimeParser.formatTime(endTime) : "";
-        return super.toString() + " (from: " + DateTimeParser.formatDate(startDate)
+        return super.toDisplayString() + " (from: " + DateTimeParser.formatDate(startDate)
                 + startTimeStr + " to: " + DateTimeParser.formatDate(endDate) + endTimeStr + ")";
     }
 
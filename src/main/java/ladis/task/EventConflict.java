@@ -0,0 +1,28 @@
+package ladis.task;
+
+/**
+ * A pair of events whose time spans overlap.
+ */
+public class EventConflict {
+    private final Event first;
+    private final Event second;
+
+    /**
+     * Constructs an EventConflict.
+     *
+     * @param first The event that starts first.
+     * @param second The event it clashes with.
+     */
+    EventConflict(Event first, Event second) {
+        this.first = first;
+        this.second = second;
+    }
+
+    public Event getFirst() {
+        return first;
+    }
+
+    public Event getSecond() {
+        return second;
+    }
+}
@@ -0,0 +1,227 @@
+package ladis.task;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Interval tree over the events of a task list, answering overlap queries in O(log n + k).
+ * It is an AVL tree ordered by start minute (then task ID), where every node also records the
+ * latest end in its subtree, so searches skip subtrees that end before the queried interval begins.
+ *
+ * An event occupies the half-open interval from its start to its end, in minutes since the epoch.
+ * A missing start time counts as the start of the day and a missing end time as the end of the day,
+ * so an event ending at 10am does not clash with one starting at 10am.
+ */
+class EventIntervalTree implements TaskIndex {
+    /**
+     * Tree node holding one event and the augmented subtree data.
+     */
+    private static class Node {
+        private final long start;
+        private final long end;
+        private final int id;
+        private final Event event;
+        private Node left;
+        private Node right;
+        private int height;
+        private long maxEnd;
+
+        private Node(long start, long end, int id, Event event) {
+            this.start = start;
+            this.end = end;
+            this.id = id;
+            this.event = event;
+            this.height = 1;
+            this.maxEnd = end;
+        }
+
+        private int compareTo(long otherStart, int otherId) {
+            int byStart = Long.compare(start, otherStart);
+            return byStart != 0 ? byStart : Integer.compare(id, otherId);
+        }
+    }
+
+    private Node root;
+
+    @Override
+    public void add(int id, Task task) {
+        if (task instanceof Event) {
+            Event event = (Event) task;
+            root = insert(root, new Node(startOf(event), endOf(event), id, event));
+        }
+    }
+
+    @Override
+    public void remove(int id, Task task) {
+        if (task instanceof Event) {
+            root = delete(root, startOf((Event) task), id);
+        }
+    }
+
+    /**
+     * Returns the events whose interval overlaps the given one, ordered by start.
+     *
+     * @param event The event to check.
+     * @return The overlapping events, excluding the given event itself.
+     */
+    List<Event> overlapping(Event event) {
+        List<Node> nodes = new ArrayList<>();
+        collect(root, startOf(event), endOf(event), nodes);
+        List<Event> events = new ArrayList<>();
+        for (Node node : nodes) {
+            if (node.event != event) {
+                events.add(node.event);
+            }
+        }
+        return events;
+    }
+
+    /**
+     * Returns every pair of overlapping events, each pair once, ordered by the start of the earlier event.
+     *
+     * @return The conflicting pairs.
+     */
+    List<EventConflict> conflicts() {
+        List<EventConflict> conflicts = new ArrayList<>();
+        List<Node> inOrder = new ArrayList<>();
+        collectAll(root, inOrder);
+        List<Node> overlaps = new ArrayList<>();
+        for (Node node : inOrder) {
+            overlaps.clear();
+            collect(root, node.start, node.end, overlaps);
+            for (Node other : overlaps) {
+                if (other.compareTo(node.start, node.id) > 0) {
+                    conflicts.add(new EventConflict(node.event, other.event));
+                }
+            }
+        }
+        return conflicts;
+    }
+
+    static long startOf(Event event) {
+        return DateIndex.epochMinute(event.getStartDate(), event.getStartTime());
+    }
+
+    static long endOf(Event event) {
+        LocalDate endDate = event.getEndDate();
+        long end = event.getEndTime() != null
+                ? DateIndex.epochMinute(endDate, event.getEndTime())
+                : DateIndex.epochMinute(endDate.plusDays(1), null);
+        return Math.max(end, startOf(event) + 1);
+    }
+
+    private static void collect(Node node, long from, long to, List<Node> result) {
+        if (node == null || node.maxEnd <= from) {
+            return;
+        }
+        collect(node.left, from, to, result);
+        if (node.start < to && node.end > from) {
+            result.add(node);
+        }
+        if (node.start < to) {
+            collect(node.right, from, to, result);
+        }
+    }
+
+    private static void collectAll(Node node, List<Node> result) {
+        if (node != null) {
+            collectAll(node.left, result);
+            result.add(node);
+            collectAll(node.right, result);
+        }
+    }
+
+    private static Node insert(Node node, Node added) {
+        if (node == null) {
+            return added;
+        }
+        if (node.compareTo(added.start, added.id) > 0) {
+            node.left = insert(node.left, added);
+        } else {
+            node.right = insert(node.right, added);
+        }
+        return rebalance(node);
+    }
+
+    private static Node delete(Node node, long start, int id) {
+        if (node == null) {
+            return null;
+        }
+        int comparison = node.compareTo(start, id);
+        if (comparison > 0) {
+            node.left = delete(node.left, start, id);
+        } else if (comparison < 0) {
+            node.right = delete(node.right, start, id);
+        } else if (node.left == null || node.right == null) {
+            return node.left != null ? node.left : node.right;
+        } else {
+            Node successor = leftmost(node.right);
+            successor.right = deleteLeftmost(node.right);
+            successor.left = node.left;
+            return rebalance(successor);
+        }
+        return rebalance(node);
+    }
+
+    private static Node leftmost(Node node) {
+        return node.left == null ? node : leftmost(node.left);
+    }
+
+    private static Node deleteLeftmost(Node node) {
+        if (node.left == null) {
+            return node.right;
+        }
+        node.left = deleteLeftmost(node.left);
+        return rebalance(node);
+    }
+
+    private static Node rebalance(Node node) {
+        update(node);
+        int balance = height(node.left) - height(node.right);
+        if (balance > 1) {
+            if (height(node.left.left) < height(node.left.right)) {
+                node.left = rotateLeft(node.left);
+            }
+            return rotateRight(node);
+        }
+        if (balance < -1) {
+            if (height(node.right.right) < height(node.right.left)) {
+                node.right = rotateRight(node.right);
+            }
+            return rotateLeft(node);
+        }
+        return node;
+    }
+
+    private static Node rotateLeft(Node node) {
+        Node pivot = node.right;
+        node.right = pivot.left;
+        pivot.left = node;
+        update(node);
+        update(pivot);
+        return pivot;
+    }
+
+    private static Node rotateRight(Node node) {
+        Node pivot = node.left;
+        node.left = pivot.right;
+        pivot.right = node;
+        update(node);
+        update(pivot);
+        return pivot;
+    }
+
+    private static void update(Node node) {
+        node.height = 1 + Math.max(height(node.left), height(node.right));
+        node.maxEnd = Math.max(node.end, Math.max(maxEnd(node.left), maxEnd(node.right)));
+    }
+
+    private static int height(Node node) {
+        return node == null ? 0 : node.height;
+    }
+
+    private static long maxEnd(Node node) {
+        return node == null ? Long.MIN_VALUE : node.maxEnd;
+    }
+}
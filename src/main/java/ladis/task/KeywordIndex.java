@@ -0,0 +1,94 @@
+package ladis.task;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Inverted index from the words of task descriptions to the tasks containing them.
+ * A word is a maximal run of letters and digits in the lower-cased description.
+ *
+ * {@code find} matches arbitrary substrings, so a lookup does not require whole-word hits: every word
+ * of the keyword must occur inside some word of a matching description. The index therefore returns,
+ * for the keyword word with the fewest candidates, every task holding a word that contains it. Callers
+ * still verify each candidate, which keeps the substring semantics exact while only the vocabulary,
+ * not the task list, is scanned.
+ */
+class KeywordIndex implements TaskIndex {
+    private final HashMap<String, TaskPostings> postings = new HashMap<>();
+
+    @Override
+    public void add(int id, Task task) {
+        for (String word : wordsOf(task.getDescription().toLowerCase())) {
+            postings.computeIfAbsent(word, key -> new TaskPostings()).add(id, task);
+        }
+    }
+
+    @Override
+    public void remove(int id, Task task) {
+        for (String word : wordsOf(task.getDescription().toLowerCase())) {
+            TaskPostings tasks = postings.get(word);
+            if (tasks != null) {
+                tasks.remove(id);
+                if (tasks.isEmpty()) {
+                    postings.remove(word);
+                }
+            }
+        }
+    }
+
+    /**
+     * Returns a superset of the tasks whose lower-cased description contains the keyword, in list order.
+     *
+     * @param lowerKeyword The lower-cased keyword.
+     * @return The candidate tasks, or null if the keyword has no letters or digits to look up.
+     */
+    TaskPostings candidates(String lowerKeyword) {
+        List<TaskPostings> best = null;
+        int bestSize = Integer.MAX_VALUE;
+        for (String part : wordsOf(lowerKeyword)) {
+            List<TaskPostings> matching = new ArrayList<>();
+            int size = 0;
+            for (Map.Entry<String, TaskPostings> entry : postings.entrySet()) {
+                if (entry.getKey().contains(part)) {
+                    matching.add(entry.getValue());
+                    size += entry.getValue().size();
+                }
+            }
+            if (size < bestSize) {
+                best = matching;
+                bestSize = size;
+            }
+        }
+        if (best == null) {
+            return null;
+        }
+
+        TaskPostings result = new TaskPostings();
+        for (TaskPostings tasks : best) {
+            result = result.isEmpty() ? tasks : TaskPostings.union(result, tasks);
+        }
+        return result;
+    }
+
+    /**
+     * Splits lower-cased text into its distinct words, in order of first occurrence.
+     */
+    static Set<String> wordsOf(String lowerText) {
+        Set<String> words = new LinkedHashSet<>();
+        int start = -1;
+        for (int i = 0; i <= lowerText.length(); i++) {
+            boolean isWordChar = i < lowerText.length() && Character.isLetterOrDigit(lowerText.charAt(i));
+            if (isWordChar && start < 0) {
+                start = i;
+            } else if (!isWordChar && start >= 0) {
+                words.add(lowerText.substring(start, i));
+                start = -1;
+            }
+        }
+        return words;
+    }
+}
@@ -0,0 +1,192 @@
+package ladis.task;
+
+import java.util.AbstractList;
+import java.util.ArrayDeque;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+
+/**
+ * Persistent copy of a task list, from which point-in-time snapshots are taken without copying or locking.
+ * It is an AVL tree ordered by task ID, and so by list position, where every node also records the size of
+ * its subtree. Nodes are never changed once built: adding or removing a task copies only the O(log n) nodes
+ * on the path to it and publishes a new root, so a snapshot is just the root at the time it was taken and
+ * stays valid however the list changes afterwards.
+ */
+class PersistentTaskTree implements TaskIndex {
+    /**
+     * Immutable tree node holding one task and the augmented subtree data.
+     */
+    private static class Node {
+        private final int id;
+        private final Task task;
+        private final Node left;
+        private final Node right;
+        private final int height;
+        private final int size;
+
+        private Node(int id, Task task, Node left, Node right) {
+            this.id = id;
+            this.task = task;
+            this.left = left;
+            this.right = right;
+            this.height = 1 + Math.max(height(left), height(right));
+            this.size = 1 + size(left) + size(right);
+        }
+    }
+
+    /**
+     * Read-only list view of the tree as it was when the snapshot was taken.
+     * Positional access takes O(log n); iteration walks the tree in order.
+     */
+    private static class Snapshot extends AbstractList<Task> {
+        private final Node root;
+
+        private Snapshot(Node root) {
+            this.root = root;
+        }
+
+        @Override
+        public Task get(int index) {
+            if (index < 0 || index >= size()) {
+                throw new IndexOutOfBoundsException("Index " + index + " out of bounds for length " + size());
+            }
+            Node node = root;
+            while (true) {
+                int leftSize = PersistentTaskTree.size(node.left);
+                if (index < leftSize) {
+                    node = node.left;
+                } else if (index > leftSize) {
+                    index -= leftSize + 1;
+                    node = node.right;
+                } else {
+                    return node.task;
+                }
+            }
+        }
+
+        @Override
+        public int size() {
+            return PersistentTaskTree.size(root);
+        }
+
+        @Override
+        public Iterator<Task> iterator() {
+            ArrayDeque<Node> path = new ArrayDeque<>();
+            pushLeftSpine(path, root);
+            return new Iterator<>() {
+                @Override
+                public boolean hasNext() {
+                    return !path.isEmpty();
+                }
+
+                @Override
+                public Task next() {
+                    if (path.isEmpty()) {
+                        throw new NoSuchElementException();
+                    }
+                    Node node = path.pop();
+                    pushLeftSpine(path, node.right);
+                    return node.task;
+                }
+            };
+        }
+
+        private static void pushLeftSpine(ArrayDeque<Node> path, Node node) {
+            for (Node current = node; current != null; current = current.left) {
+                path.push(current);
+            }
+        }
+    }
+
+    private volatile Node root;
+
+    @Override
+    public void add(int id, Task task) {
+        root = insert(root, id, task);
+    }
+
+    @Override
+    public void remove(int id, Task task) {
+        root = delete(root, id);
+    }
+
+    /**
+     * Returns the tasks as they are now, in list order. Later changes to the list do not affect the result.
+     *
+     * @return An immutable view of the current tasks.
+     */
+    List<Task> snapshot() {
+        return new Snapshot(root);
+    }
+
+    private static Node insert(Node node, int id, Task task) {
+        if (node == null) {
+            return new Node(id, task, null, null);
+        }
+        if (id < node.id) {
+            return rebalance(node.id, node.task, insert(node.left, id, task), node.right);
+        }
+        return rebalance(node.id, node.task, node.left, insert(node.right, id, task));
+    }
+
+    private static Node delete(Node node, int id) {
+        if (node == null) {
+            return null;
+        }
+        if (id < node.id) {
+            return rebalance(node.id, node.task, delete(node.left, id), node.right);
+        }
+        if (id > node.id) {
+            return rebalance(node.id, node.task, node.left, delete(node.right, id));
+        }
+        if (node.left == null || node.right == null) {
+            return node.left != null ? node.left : node.right;
+        }
+        Node successor = leftmost(node.right);
+        return rebalance(successor.id, successor.task, node.left, deleteLeftmost(node.right));
+    }
+
+    private static Node leftmost(Node node) {
+        return node.left == null ? node : leftmost(node.left);
+    }
+
+    private static Node deleteLeftmost(Node node) {
+        if (node.left == null) {
+            return node.right;
+        }
+        return rebalance(node.id, node.task, deleteLeftmost(node.left), node.right);
+    }
+
+    /**
+     * Builds a node from its parts, rotating as needed to keep the AVL balance. Every node on the way is new.
+     */
+    private static Node rebalance(int id, Task task, Node left, Node right) {
+        int balance = height(left) - height(right);
+        if (balance > 1) {
+            if (height(left.left) < height(left.right)) {
+                Node pivot = left.right;
+                return new Node(pivot.id, pivot.task, new Node(left.id, left.task, left.left, pivot.left),
+                        new Node(id, task, pivot.right, right));
+            }
+            return new Node(left.id, left.task, left.left, new Node(id, task, left.right, right));
+        }
+        if (balance < -1) {
+            if (height(right.right) < height(right.left)) {
+                Node pivot = right.left;
+                return new Node(pivot.id, pivot.task, new Node(id, task, left, pivot.left),
+                        new Node(right.id, right.task, pivot.right, right.right));
+            }
+            return new Node(right.id, right.task, new Node(id, task, left, right.left), right.right);
+        }
+        return new Node(id, task, left, right);
+    }
+
+    private static int height(Node node) {
+        return node == null ? 0 : node.height;
+    }
+
+    private static int size(Node node) {
+        return node == null ? 0 : node.size;
+    }
+}
@@ -0,0 +1,74 @@
+package ladis.task;
+
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * The tasks of a {@link TaskList} and its unsaved changes, captured together so that they can be saved
+ * while the list keeps changing. Handing it back to {@link TaskList#markSaved(SavePoint)} clears only the
+ * changes it covers.
+ */
+public class SavePoint {
+    private final List<Task> tasks;
+    private final int lastId;
+    private final List<TaskChange> changes;
+    private final boolean isFullSaveNeeded;
+    private final long version;
+
+    /**
+     * Constructs a SavePoint.
+     *
+     * @param tasks An immutable copy of the tasks.
+     * @param lastId The highest task ID handed out so far, including to tasks since removed.
+     * @param changes The unsaved changes, oldest first.
+     * @param isFullSaveNeeded Whether the changes were too many to track, so the whole list has to be saved.
+     * @param version The list version the save point was taken at.
+     */
+    SavePoint(List<Task> tasks, int lastId, List<TaskChange> changes, boolean isFullSaveNeeded, long version) {
+        this.tasks = tasks;
+        this.lastId = lastId;
+        this.changes = Collections.unmodifiableList(changes);
+        this.isFullSaveNeeded = isFullSaveNeeded;
+        this.version = version;
+    }
+
+    public List<Task> getTasks() {
+        return tasks;
+    }
+
+    /**
+     * Returns the highest task ID handed out so far. It has to be saved with the tasks so that the IDs of
+     * removed tasks are not handed out again after a restart.
+     *
+     * @return The highest task ID assigned, or 0 if there has been none.
+     */
+    public int getLastId() {
+        return lastId;
+    }
+
+    public List<TaskChange> getChanges() {
+        return changes;
+    }
+
+    /**
+     * Checks whether the unsaved changes were too many to be tracked individually.
+     *
+     * @return true if the whole list has to be saved.
+     */
+    public boolean isFullSaveNeeded() {
+        return isFullSaveNeeded;
+    }
+
+    /**
+     * Checks whether there was anything to save.
+     *
+     * @return true if there are unsaved changes.
+     */
+    public boolean hasUnsavedChanges() {
+        return isFullSaveNeeded || !changes.isEmpty();
+    }
+
+    public long getVersion() {
+        return version;
+    }
+}
@@ -0,0 +1,86 @@
+package ladis.task;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Bitmaps of the tasks of each type and of the tasks that are done, one bit per task ID.
+ * IDs are handed out in increasing order from 1, so the bits stay dense and a bitmap over a million IDs
+ * takes about 125 KB. Filters combine the bitmaps a word at a time with OR across types and
+ * AND or AND-NOT with the done bitmap, so no task is looked at until its bit survives every filter; the
+ * survivors are then read from an array indexed by ID.
+ *
+ * The done bitmap is also changed by marking and unmarking, which only hold the shared list lock, so
+ * every access goes through this object's monitor.
+ */
+class StatusIndex implements TaskIndex {
+    private static final TaskType[] TYPES = TaskType.values();
+    private static final int INITIAL_CAPACITY = 64;
+
+    private final BitSet[] byType = new BitSet[TYPES.length];
+    private final BitSet done = new BitSet();
+    private Task[] tasksById = new Task[INITIAL_CAPACITY];
+
+    StatusIndex() {
+        for (int i = 0; i < byType.length; i++) {
+            byType[i] = new BitSet();
+        }
+    }
+
+    @Override
+    public synchronized void add(int id, Task task) {
+        byType[task.getTaskType().ordinal()].set(id);
+        done.set(id, task.isDone());
+        if (id >= tasksById.length) {
+            tasksById = Arrays.copyOf(tasksById, Math.max(tasksById.length * 2, id + 1));
+        }
+        tasksById[id] = task;
+    }
+
+    @Override
+    public synchronized void remove(int id, Task task) {
+        byType[task.getTaskType().ordinal()].clear(id);
+        done.clear(id);
+        tasksById[id] = null;
+    }
+
+    /**
+     * Records that a task in the list was marked or unmarked.
+     *
+     * @param id The task's ID.
+     * @param isDone Whether the task is now done.
+     */
+    synchronized void setDone(int id, boolean isDone) {
+        done.set(id, isDone);
+    }
+
+    /**
+     * Returns the tasks passing the filters, in ID and so list order.
+     *
+     * @param types The task types to keep; all types if empty.
+     * @param isDone Whether to keep only done (true) or pending (false) tasks; both if null.
+     * @return The matching tasks.
+     */
+    synchronized List<Task> matching(Set<TaskType> types, Boolean isDone) {
+        BitSet result = new BitSet();
+        for (TaskType type : TYPES) {
+            if (types.isEmpty() || types.contains(type)) {
+                result.or(byType[type.ordinal()]);
+            }
+        }
+        if (isDone != null && isDone) {
+            result.and(done);
+        } else if (isDone != null) {
+            result.andNot(done);
+        }
+
+        List<Task> matches = new ArrayList<>(result.cardinality());
+        for (int id = result.nextSetBit(0); id >= 0; id = result.nextSetBit(id + 1)) {
+            matches.add(tasksById[id]);
+        }
+        return matches;
+    }
+}
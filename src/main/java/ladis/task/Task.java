@@ -1,13 +1,30 @@
 package ladis.task;
 
+import java.io.IOException;
+import java.io.UncheckedIOException;
+
 /**
  * Abstract base class representing a task in the task list.
  * Provides common properties and methods for all task types (Todo, Deadline, Event).
+ *
+ * A task's display and file strings are built on first use and kept, so listing or saving a long list again
+ * does not format every date again. Marking, unmarking and giving the task a new ID drop them; that and the
+ * building happen under the task's monitor, so a string built just before a change is never kept after it.
+ * Saving goes through {@link #writeTo(Appendable)} instead, which writes the fields straight to the output and
+ * keeps nothing, so saving a long list does not leave a string behind for every task.
  */
 public abstract class Task {
+    /**
+     * Separator placed before a task's ID at the end of its file representation.
+     */
+    public static final String ID_FIELD_PREFIX = " | #";
+
     protected final String description;
-    protected boolean isDone;
+    protected volatile boolean isDone;
     protected final TaskType taskType;
+    private int id;
+    private volatile String displayString;
+    private volatile String fileString;
 
     /**
      * Constructs a Task with the given description and type.
@@ -34,7 +51,10 @@ public abstract class Task {
      * Marks the task as done.
      */
     public void mark() {
-        isDone = true;
+        synchronized (this) {
+            isDone = true;
+            clearStrings();
+        }
         assert isDone : "Task should be marked as done after calling mark()";
     }
 
@@ -42,7 +62,10 @@ public abstract class Task {
      * Marks the task as not done.
      */
     public void unmark() {
-        isDone = false;
+        synchronized (this) {
+            isDone = false;
+            clearStrings();
+        }
         assert !isDone : "Task should not be marked as done after calling unmark()";
     }
 
@@ -73,24 +96,123 @@ public abstract class Task {
         return taskType;
     }
 
+    /**
+     * Returns the stable ID of this task, which does not change as other tasks come and go.
+     *
+     * @return The task ID, or 0 if the task has not been added to a task list yet.
+     */
+    public int getId() {
+        return id;
+    }
+
+    public void setId(int id) {
+        synchronized (this) {
+            this.id = id;
+            clearStrings();
+        }
+    }
+
     /**
      * Converts the task to a file-friendly string format for storage.
-     * Format: taskTypeIcon | isDone (0/1) | description
+     * Format: taskTypeIcon | isDone (0/1) | description [| type-specific fields] [| #id]
      *
      * @return The file representation of the task.
      */
     public String toFileString() {
-        return taskType.getIconChar() + " | " + (isDone ? "1" : "0") + " | " + description;
+        String cached = fileString;
+        if (cached != null) {
+            return cached;
+        }
+        synchronized (this) {
+            if (fileString == null) {
+                StringBuilder out = new StringBuilder();
+                try {
+                    writeTo(out);
+                } catch (IOException e) {
+                    // A StringBuilder never throws
+                    throw new UncheckedIOException(e);
+                }
+                fileString = out.toString();
+            }
+            return fileString;
+        }
     }
 
     /**
-     * Returns a string representation of the task for display.
-     * Format: [taskTypeIcon][status] description
+     * Writes the file representation of the task, without a line break, in the format of {@link #toFileString()}.
+     * A string already built is copied; otherwise the fields are written one by one and no string is kept.
+     *
+     * @param out Where to write the task.
+     * @throws IOException If the output cannot be written to.
+     */
+    public void writeTo(Appendable out) throws IOException {
+        String cached = fileString;
+        if (cached != null) {
+            out.append(cached);
+            return;
+        }
+        synchronized (this) {
+            writeFileFields(out);
+            if (id > 0) {
+                out.append(ID_FIELD_PREFIX);
+                writeNumber(id, out);
+            }
+        }
+    }
+
+    /**
+     * Writes the pipe-delimited fields of the file representation, without the ID.
+     * Format: taskTypeIcon | isDone (0/1) | description
+     *
+     * @param out Where to write the fields.
+     * @throws IOException If the output cannot be written to.
+     */
+    protected void writeFileFields(Appendable out) throws IOException {
+        out.append(taskType.getIcon().charAt(1)).append(" | ").append(isDone ? '1' : '0').append(" | ")
+                .append(description);
+    }
+
+    /**
+     * Returns a string representation of the task for display, built by {@link #toDisplayString()} on first use.
      *
      * @return The display representation of the task.
      */
     @Override
     public String toString() {
+        String cached = displayString;
+        if (cached != null) {
+            return cached;
+        }
+        synchronized (this) {
+            if (displayString == null) {
+                displayString = toDisplayString();
+            }
+            return displayString;
+        }
+    }
+
+    /**
+     * Builds the string representation of the task for display.
+     * Format: [taskTypeIcon][status] description
+     *
+     * @return The display representation of the task.
+     */
+    protected String toDisplayString() {
         return taskType.getIcon() + getStatusIcon() + " " + description;
     }
+
+    private static void writeNumber(int value, Appendable out) throws IOException {
+        int divisor = 1;
+        while (value / divisor >= 10) {
+            divisor *= 10;
+        }
+        for (; divisor > 0; divisor /= 10) {
+            out.append((char) ('0' + value / divisor % 10));
+        }
+    }
+
+    private void clearStrings() {
+        displayString = null;
+        fileString = null;
+    }
 }
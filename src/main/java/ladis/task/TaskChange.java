@@ -0,0 +1,49 @@
+package ladis.task;
+
+/**
+ * Describes a single change made to a TaskList since it was last saved.
+ */
+public class TaskChange {
+    /**
+     * Kinds of changes tracked by a TaskList.
+     */
+    public enum Kind {
+        ADDED, MARKED, UNMARKED, REMOVED
+    }
+
+    private final Kind kind;
+    private final int index;
+    private final Task task;
+    private final long version;
+
+    /**
+     * Constructs a TaskChange.
+     *
+     * @param kind The kind of change.
+     * @param index The zero-indexed position of the task at the time of the change.
+     * @param task The task that changed.
+     * @param version The list version produced by this change.
+     */
+    TaskChange(Kind kind, int index, Task task, long version) {
+        this.kind = kind;
+        this.index = index;
+        this.task = task;
+        this.version = version;
+    }
+
+    public Kind getKind() {
+        return kind;
+    }
+
+    public int getIndex() {
+        return index;
+    }
+
+    public Task getTask() {
+        return task;
+    }
+
+    public long getVersion() {
+        return version;
+    }
+}
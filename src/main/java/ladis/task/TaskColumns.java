@@ -0,0 +1,446 @@
+package ladis.task;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.util.AbstractList;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Comparator;
+import java.util.List;
+import java.util.RandomAccess;
+import java.util.Set;
+
+/**
+ * Compact, column-oriented storage for the tasks of a columnar {@link TaskList}.
+ * Instead of one object graph per task, each field lives in a primitive array shared by all tasks: type
+ * codes, IDs, dates as epoch days with a minute-of-day (-1 when absent), done flags in a {@link BitSet}, and
+ * the descriptions as UTF-8 in one byte arena. A todo then takes about 21 bytes plus its description,
+ * against well over 100 as objects.
+ *
+ * {@link #get(int)} builds a short-lived task from the columns each time it is called, so the heap only ever
+ * holds the columns and the tasks currently in use. A built task is a copy: marking it does not change the
+ * columns, which are updated through {@link #setDone(int, boolean)}. The queries scan the columns and build
+ * only the tasks they return.
+ *
+ * Structural changes need the owning list's write lock. The done flags are also changed under its shared
+ * lock, so every access to them goes through this object's monitor.
+ */
+class TaskColumns extends AbstractList<Task> implements RandomAccess {
+    private static final int INITIAL_CAPACITY = 16;
+    private static final short NO_TIME = -1;
+    private static final int MINUTES_PER_HOUR = 60;
+    private static final int MINUTES_PER_DAY = 24 * MINUTES_PER_HOUR;
+    private static final TaskType[] TYPES = TaskType.values();
+
+    private byte[] types;
+    private int[] ids;
+    private int[] startDays;
+    private short[] startMinutes;
+    private int[] endDays;
+    private short[] endMinutes;
+    private int[] descriptionEnds;
+    private byte[] descriptions;
+    private int descriptionBytes;
+    private final BitSet doneFlags;
+    private int size;
+
+    /**
+     * Constructs an empty TaskColumns.
+     */
+    TaskColumns() {
+        types = new byte[INITIAL_CAPACITY];
+        ids = new int[INITIAL_CAPACITY];
+        startDays = new int[INITIAL_CAPACITY];
+        startMinutes = new short[INITIAL_CAPACITY];
+        endDays = new int[INITIAL_CAPACITY];
+        endMinutes = new short[INITIAL_CAPACITY];
+        descriptionEnds = new int[INITIAL_CAPACITY];
+        descriptions = new byte[INITIAL_CAPACITY * 16];
+        doneFlags = new BitSet();
+    }
+
+    /**
+     * Constructs a copy of the columns, trimmed to their size.
+     *
+     * @param other The columns to copy.
+     */
+    private TaskColumns(TaskColumns other) {
+        size = other.size;
+        types = Arrays.copyOf(other.types, size);
+        ids = Arrays.copyOf(other.ids, size);
+        startDays = Arrays.copyOf(other.startDays, size);
+        startMinutes = Arrays.copyOf(other.startMinutes, size);
+        endDays = Arrays.copyOf(other.endDays, size);
+        endMinutes = Arrays.copyOf(other.endMinutes, size);
+        descriptionEnds = Arrays.copyOf(other.descriptionEnds, size);
+        descriptionBytes = other.descriptionBytes;
+        descriptions = Arrays.copyOf(other.descriptions, descriptionBytes);
+        synchronized (other) {
+            doneFlags = (BitSet) other.doneFlags.clone();
+        }
+    }
+
+    /**
+     * Returns a copy of the columns, which later changes to these columns do not show in.
+     * Copying arrays of primitives is far cheaper than copying as many task objects.
+     *
+     * @return The copy.
+     */
+    TaskColumns copy() {
+        return new TaskColumns(this);
+    }
+
+    /**
+     * Appends a copy of the task's fields to the columns.
+     *
+     * @param task The task to append.
+     * @return true, as the list always changes.
+     */
+    @Override
+    public boolean add(Task task) {
+        if (size == types.length) {
+            grow(Math.max(INITIAL_CAPACITY, size * 2));
+        }
+        types[size] = (byte) task.getTaskType().ordinal();
+        ids[size] = task.getId();
+        if (task instanceof Deadline) {
+            Deadline deadline = (Deadline) task;
+            putDateTime(size, deadline.getDeadlineDay(), deadline.getDeadlineTime(), null, null);
+        } else if (task instanceof Event) {
+            Event event = (Event) task;
+            putDateTime(size, event.getStartDate(), event.getStartTime(), event.getEndDate(), event.getEndTime());
+        } else {
+            putDateTime(size, null, null, null, null);
+        }
+        synchronized (this) {
+            doneFlags.set(size, task.isDone());
+        }
+
+        byte[] description = task.getDescription().getBytes(StandardCharsets.UTF_8);
+        if (descriptionBytes + description.length > descriptions.length) {
+            descriptions = Arrays.copyOf(descriptions, Math.max(descriptions.length * 2,
+                    descriptionBytes + description.length));
+        }
+        System.arraycopy(description, 0, descriptions, descriptionBytes, description.length);
+        descriptionBytes += description.length;
+        descriptionEnds[size] = descriptionBytes;
+        size++;
+        modCount++;
+        return true;
+    }
+
+    /**
+     * Builds a task from the columns at the given position.
+     *
+     * @param index The zero-indexed position of the task.
+     * @return A new task holding the stored fields.
+     */
+    @Override
+    public Task get(int index) {
+        checkIndex(index);
+        String description = getDescription(index);
+        Task task = switch (getTaskType(index)) {
+        case TODO -> new Todo(description);
+        case DEADLINE -> new Deadline(description, LocalDate.ofEpochDay(startDays[index]),
+                toTime(startMinutes[index]));
+        case EVENT -> new Event(description, LocalDate.ofEpochDay(startDays[index]),
+                LocalDate.ofEpochDay(endDays[index]), toTime(startMinutes[index]), toTime(endMinutes[index]));
+        };
+        task.setId(ids[index]);
+        if (isDone(index)) {
+            task.mark();
+        }
+        return task;
+    }
+
+    /**
+     * Removes the task at a position, shifting the later tasks and descriptions down.
+     *
+     * @param index The zero-indexed position of the task.
+     * @return A task holding the removed fields.
+     */
+    @Override
+    public Task remove(int index) {
+        Task removed = get(index);
+        int descriptionStart = descriptionStart(index);
+        int descriptionLength = descriptionEnds[index] - descriptionStart;
+        System.arraycopy(descriptions, descriptionEnds[index], descriptions, descriptionStart,
+                descriptionBytes - descriptionEnds[index]);
+        descriptionBytes -= descriptionLength;
+        for (int i = index + 1; i < size; i++) {
+            descriptionEnds[i - 1] = descriptionEnds[i] - descriptionLength;
+        }
+
+        int moved = size - index - 1;
+        System.arraycopy(types, index + 1, types, index, moved);
+        System.arraycopy(ids, index + 1, ids, index, moved);
+        System.arraycopy(startDays, index + 1, startDays, index, moved);
+        System.arraycopy(startMinutes, index + 1, startMinutes, index, moved);
+        System.arraycopy(endDays, index + 1, endDays, index, moved);
+        System.arraycopy(endMinutes, index + 1, endMinutes, index, moved);
+        synchronized (this) {
+            BitSet later = doneFlags.get(index + 1, size);
+            doneFlags.clear(index, size);
+            for (int i = later.nextSetBit(0); i >= 0; i = later.nextSetBit(i + 1)) {
+                doneFlags.set(index + i);
+            }
+        }
+        size--;
+        modCount++;
+        return removed;
+    }
+
+    @Override
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Returns the ID of the task at a position without building the task.
+     *
+     * @param index The zero-indexed position of the task.
+     * @return The task ID.
+     */
+    int getId(int index) {
+        checkIndex(index);
+        return ids[index];
+    }
+
+    /**
+     * Returns the type of the task at a position without building the task.
+     *
+     * @param index The zero-indexed position of the task.
+     * @return The task type.
+     */
+    TaskType getTaskType(int index) {
+        checkIndex(index);
+        return TYPES[types[index]];
+    }
+
+    /**
+     * Returns the description of the task at a position without building the task.
+     *
+     * @param index The zero-indexed position of the task.
+     * @return The task description.
+     */
+    String getDescription(int index) {
+        checkIndex(index);
+        int start = descriptionStart(index);
+        return new String(descriptions, start, descriptionEnds[index] - start, StandardCharsets.UTF_8);
+    }
+
+    /**
+     * Checks whether the task at a position is done, without building the task.
+     *
+     * @param index The zero-indexed position of the task.
+     * @return true if the task is done.
+     */
+    synchronized boolean isDone(int index) {
+        return doneFlags.get(index);
+    }
+
+    /**
+     * Marks the task at a position as done or not done.
+     *
+     * @param index The zero-indexed position of the task.
+     * @param isDone Whether the task is done.
+     */
+    void setDone(int index, boolean isDone) {
+        checkIndex(index);
+        synchronized (this) {
+            doneFlags.set(index, isDone);
+        }
+    }
+
+    /**
+     * Frees the spare capacity left over from growing the columns.
+     */
+    void trimToSize() {
+        grow(size);
+        descriptions = Arrays.copyOf(descriptions, descriptionBytes);
+    }
+
+    /**
+     * Returns the tasks whose lower-cased description contains the keyword, in list order.
+     *
+     * @param lowerKeyword The lower-cased text to search for.
+     * @return The matching tasks.
+     */
+    List<Task> find(String lowerKeyword) {
+        List<Task> matches = new ArrayList<>();
+        for (int i = 0; i < size; i++) {
+            if (getDescription(i).toLowerCase().contains(lowerKeyword)) {
+                matches.add(get(i));
+            }
+        }
+        return matches;
+    }
+
+    /**
+     * Returns the tasks passing the filters, in list order. Only the type and done columns are read until
+     * a task passes.
+     *
+     * @param taskTypes The task types to keep; all types if empty.
+     * @param isDone Whether to keep only done (true) or pending (false) tasks; both if null.
+     * @return The matching tasks.
+     */
+    List<Task> matching(Set<TaskType> taskTypes, Boolean isDone) {
+        boolean[] isKept = new boolean[TYPES.length];
+        for (TaskType type : TYPES) {
+            isKept[type.ordinal()] = taskTypes.isEmpty() || taskTypes.contains(type);
+        }
+        BitSet done;
+        synchronized (this) {
+            done = (BitSet) doneFlags.clone();
+        }
+
+        List<Task> matches = new ArrayList<>();
+        for (int i = 0; i < size; i++) {
+            if (isKept[types[i]] && (isDone == null || done.get(i) == isDone)) {
+                matches.add(get(i));
+            }
+        }
+        return matches;
+    }
+
+    /**
+     * Returns the deadlines and events falling due within the inclusive range, earliest first; ties keep
+     * list order. A task falls due as described in {@link DateIndex}.
+     *
+     * @param from The start of the range.
+     * @param to The end of the range.
+     * @return The tasks in the range.
+     */
+    List<Task> between(LocalDateTime from, LocalDateTime to) {
+        long fromMinute = DateIndex.epochMinute(from.toLocalDate(), from.toLocalTime());
+        long toMinute = DateIndex.epochMinute(to.toLocalDate(), to.toLocalTime());
+        List<Integer> positions = new ArrayList<>();
+        for (int i = 0; i < size; i++) {
+            if (TYPES[types[i]] != TaskType.TODO && startOf(i) >= fromMinute && startOf(i) <= toMinute) {
+                positions.add(i);
+            }
+        }
+        positions.sort(Comparator.comparingLong(this::startOf).thenComparingInt(i -> i));
+        List<Task> result = new ArrayList<>(positions.size());
+        for (int position : positions) {
+            result.add(get(position));
+        }
+        return result;
+    }
+
+    /**
+     * Returns the events whose interval overlaps the given one, ordered by start. Intervals are those of
+     * {@link EventIntervalTree}.
+     *
+     * @param event The event to check.
+     * @return The overlapping events, excluding the given event itself.
+     */
+    List<Event> overlapping(Event event) {
+        long from = EventIntervalTree.startOf(event);
+        long to = EventIntervalTree.endOf(event);
+        List<Integer> positions = new ArrayList<>();
+        for (int i = 0; i < size; i++) {
+            if (TYPES[types[i]] == TaskType.EVENT && startOf(i) < to && endOf(i) > from
+                    && (event.getId() == 0 || ids[i] != event.getId())) {
+                positions.add(i);
+            }
+        }
+        positions.sort(Comparator.comparingLong(this::startOf).thenComparingInt(i -> i));
+        List<Event> events = new ArrayList<>(positions.size());
+        for (int position : positions) {
+            events.add((Event) get(position));
+        }
+        return events;
+    }
+
+    /**
+     * Returns every pair of overlapping events, each pair once, ordered by the start of the earlier event.
+     * The events are sorted by start and each one is paired with the events after it that start before it
+     * ends, so every event is built at most once.
+     *
+     * @return The conflicting pairs.
+     */
+    List<EventConflict> conflicts() {
+        List<Integer> positions = new ArrayList<>();
+        for (int i = 0; i < size; i++) {
+            if (TYPES[types[i]] == TaskType.EVENT) {
+                positions.add(i);
+            }
+        }
+        positions.sort(Comparator.comparingLong(this::startOf).thenComparingInt(i -> i));
+        Event[] events = new Event[positions.size()];
+        List<EventConflict> conflicts = new ArrayList<>();
+        for (int i = 0; i < positions.size(); i++) {
+            long end = endOf(positions.get(i));
+            for (int j = i + 1; j < positions.size() && startOf(positions.get(j)) < end; j++) {
+                conflicts.add(new EventConflict(eventAt(events, positions, i), eventAt(events, positions, j)));
+            }
+        }
+        return conflicts;
+    }
+
+    private Event eventAt(Event[] events, List<Integer> positions, int i) {
+        if (events[i] == null) {
+            events[i] = (Event) get(positions.get(i));
+        }
+        return events[i];
+    }
+
+    /**
+     * Returns the minute a deadline or event at a position falls due, in minutes since the epoch.
+     */
+    private long startOf(int index) {
+        return startDays[index] * (long) MINUTES_PER_DAY + Math.max(startMinutes[index], 0);
+    }
+
+    /**
+     * Returns the minute the event at a position ends, as {@link EventIntervalTree#endOf(Event)} does.
+     */
+    private long endOf(int index) {
+        long end = endMinutes[index] != NO_TIME
+                ? endDays[index] * (long) MINUTES_PER_DAY + endMinutes[index]
+                : (endDays[index] + 1L) * MINUTES_PER_DAY;
+        return Math.max(end, startOf(index) + 1);
+    }
+
+    private int descriptionStart(int index) {
+        return index == 0 ? 0 : descriptionEnds[index - 1];
+    }
+
+    private void checkIndex(int index) {
+        if (index < 0 || index >= size) {
+            throw new IndexOutOfBoundsException("Index " + index + " out of bounds for length " + size);
+        }
+    }
+
+    private void grow(int capacity) {
+        types = Arrays.copyOf(types, capacity);
+        ids = Arrays.copyOf(ids, capacity);
+        startDays = Arrays.copyOf(startDays, capacity);
+        startMinutes = Arrays.copyOf(startMinutes, capacity);
+        endDays = Arrays.copyOf(endDays, capacity);
+        endMinutes = Arrays.copyOf(endMinutes, capacity);
+        descriptionEnds = Arrays.copyOf(descriptionEnds, capacity);
+    }
+
+    private void putDateTime(int index, LocalDate start, LocalTime startTime, LocalDate end, LocalTime endTime) {
+        startDays[index] = start == null ? 0 : (int) start.toEpochDay();
+        startMinutes[index] = toMinuteOfDay(startTime);
+        endDays[index] = end == null ? 0 : (int) end.toEpochDay();
+        endMinutes[index] = toMinuteOfDay(endTime);
+    }
+
+    private static short toMinuteOfDay(LocalTime time) {
+        return time == null ? NO_TIME : (short) (time.getHour() * MINUTES_PER_HOUR + time.getMinute());
+    }
+
+    private static LocalTime toTime(short minuteOfDay) {
+        if (minuteOfDay == NO_TIME) {
+            return null;
+        }
+        return LocalTime.of(minuteOfDay / MINUTES_PER_HOUR, minuteOfDay % MINUTES_PER_HOUR);
+    }
+}
@@ -0,0 +1,23 @@
+package ladis.task;
+
+/**
+ * Secondary index over the tasks of a {@link TaskList}, kept in step with the list as tasks are added
+ * and removed. Tasks are identified by their {@link Task#getId() ID}, which increases along the list.
+ */
+interface TaskIndex {
+    /**
+     * Indexes a task appended to the list.
+     *
+     * @param id The task's ID.
+     * @param task The task.
+     */
+    void add(int id, Task task);
+
+    /**
+     * Drops a task removed from the list.
+     *
+     * @param id The task's ID.
+     * @param task The task.
+     */
+    void remove(int id, Task task);
+}
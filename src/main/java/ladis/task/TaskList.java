@@ -1,21 +1,67 @@
 package ladis.task;
 
+import java.time.LocalDateTime;
 import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
 
 import ladis.exception.LadisException;
 
 /**
  * Represents a list of tasks.
  * Provides operations to add, remove, retrieve, and manage tasks.
+ * Keeps track of the changes made since the list was last saved, so that storage can persist only those.
+ * Descriptions and due dates are indexed from the first query on and kept up to date as tasks come and go,
+ * so {@link #findTasks}, {@link #findTasksBetween}, {@link #filterTasks} and the event conflict queries need not
+ * scan the whole list.
+ *
+ * Every task also carries a stable ID, assigned when it joins the list and kept across saves, so commands can
+ * refer to a task without depending on its position. IDs increase along the list: a task whose saved ID is
+ * missing or out of order is given the next free one. IDs are never reused, even after the newest tasks are
+ * removed, as long as the highest ID handed out is saved with the list (see {@link SavePoint#getLastId()}).
+ *
+ * A task list is safe to use from several threads. Adding and removing tasks, which shift positions and
+ * update the indexes, take an exclusive lock; lookups and queries share it. Marking and unmarking only touch
+ * one task, so they share the list lock and take one of a fixed set of striped locks chosen by task ID,
+ * which keeps a task's done flag and its recorded changes in the same order. {@link #getSnapshot()} hands
+ * out a point-in-time view of the list in O(1), without copying and without taking any lock.
+ *
+ * A list made by {@link #columnar(List, int)} keeps its tasks in {@link TaskColumns} instead of as objects,
+ * for lists too large to hold as task objects. Its tasks are built from the columns when they are read, so
+ * a task it returns is a copy whose done flag does not follow later marking. It keeps no ID map or query
+ * indexes, since those hold task objects: IDs are found by binary search over the ID column, queries scan
+ * the columns, and snapshots copy them.
  */
 public class TaskList {
-    private final ArrayList<Task> tasks;
+    private static final int MAX_TRACKED_CHANGES = 10_000;
+    private static final int LOCK_STRIPES = 16;
+
+    private final List<Task> tasks;
+    private final TaskColumns columns;
+    private final HashMap<Integer, Task> tasksById;
+    private final ArrayList<TaskIndex> builtIndexes = new ArrayList<>();
+    private volatile KeywordIndex keywordIndex;
+    private volatile TrigramIndex trigramIndex;
+    private volatile DateIndex dateIndex;
+    private volatile EventIntervalTree eventIntervals;
+    private volatile StatusIndex statusIndex;
+    private final ArrayList<TaskChange> unsavedChanges;
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+    private final Object[] stripes = new Object[LOCK_STRIPES];
+    private final Object changeLock = new Object();
+    private volatile PersistentTaskTree versions;
+    private int lastId;
+    private volatile long version;
+    private boolean isFullSaveNeeded;
 
     /**
      * Constructs an empty TaskList.
      */
     public TaskList() {
-        this.tasks = new ArrayList<>();
+        this(new ArrayList<>());
     }
 
     /**
@@ -24,7 +70,56 @@ public class TaskList {
      * @param tasks The initial list of tasks.
      */
     public TaskList(ArrayList<Task> tasks) {
-        this.tasks = tasks;
+        this(tasks, 0);
+    }
+
+    /**
+     * Constructs a TaskList initialized with a given list of tasks and the highest ID handed out so far.
+     * New tasks get IDs above it even if the tasks that had them have since been removed, so an ID
+     * never comes to name a different task.
+     *
+     * @param tasks The initial list of tasks.
+     * @param lastId The highest task ID ever assigned, or 0 if unknown.
+     */
+    public TaskList(ArrayList<Task> tasks, int lastId) {
+        this(tasks, null, lastId);
+    }
+
+    /**
+     * Constructs a TaskList holding the given tasks as objects, or copied into the columns if there are any.
+     */
+    private TaskList(List<Task> tasks, TaskColumns columns, int lastId) {
+        this.columns = columns;
+        this.tasks = columns == null ? tasks : columns;
+        this.tasksById = new HashMap<>(columns == null ? tasks.size() * 4 / 3 + 1 : 0);
+        for (Task task : tasks) {
+            index(task);
+            if (columns != null) {
+                columns.add(task);
+            }
+        }
+        if (columns != null) {
+            columns.trimToSize();
+        }
+        this.lastId = Math.max(this.lastId, lastId);
+        for (int i = 0; i < LOCK_STRIPES; i++) {
+            stripes[i] = new Object();
+        }
+        this.unsavedChanges = new ArrayList<>();
+        this.version = 0;
+        this.isFullSaveNeeded = false;
+    }
+
+    /**
+     * Constructs a TaskList that keeps its tasks in compact columns rather than as task objects.
+     * The given tasks are copied into the columns, so they can be dropped once the list is made.
+     *
+     * @param tasks The initial list of tasks.
+     * @param lastId The highest task ID ever assigned, or 0 if unknown.
+     * @return The columnar task list.
+     */
+    public static TaskList columnar(List<Task> tasks, int lastId) {
+        return new TaskList(tasks, new TaskColumns(), lastId);
     }
 
     /**
@@ -33,7 +128,14 @@ public class TaskList {
      * @param task The task to add.
      */
     public void addTask(Task task) {
-        tasks.add(task);
+        lock.writeLock().lock();
+        try {
+            index(task);
+            tasks.add(task);
+            trackChange(TaskChange.Kind.ADDED, tasks.size() - 1, task);
+        } finally {
+            lock.writeLock().unlock();
+        }
     }
 
     /**
@@ -43,7 +145,120 @@ public class TaskList {
      * @return The removed task.
      */
     public Task removeTask(int index) {
-        return tasks.remove(index);
+        lock.writeLock().lock();
+        try {
+            Task removed = tasks.remove(index);
+            tasksById.remove(removed.getId());
+            for (TaskIndex taskIndex : builtIndexes) {
+                taskIndex.remove(removed.getId(), removed);
+            }
+            trackChange(TaskChange.Kind.REMOVED, index, removed);
+            return removed;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Removes a task from the task list by index, checking the index under the same lock as the removal,
+     * so a concurrent removal cannot shrink the list in between.
+     *
+     * @param index The zero-indexed position of the task to remove.
+     * @return The removed task.
+     * @throws LadisException If the index is out of bounds.
+     */
+    public Task removeTaskAt(int index) throws LadisException {
+        lock.writeLock().lock();
+        try {
+            getValidTask(index);
+            return removeTask(index);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Removes a task from the task list by ID.
+     * Finding and removing the task happen atomically, so a concurrent removal cannot shift another task
+     * into its place.
+     *
+     * @param id The ID of the task to remove.
+     * @return The removed task.
+     * @throws LadisException If no task in the list has the ID.
+     */
+    public Task removeTaskById(int id) throws LadisException {
+        lock.writeLock().lock();
+        try {
+            return removeTask(getIndexOf(id));
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Retrieves a task from the task list by ID in constant time.
+     *
+     * @param id The ID of the task.
+     * @return The task, or null if no task in the list has the ID.
+     */
+    public Task getTaskById(int id) {
+        lock.readLock().lock();
+        try {
+            if (columns != null) {
+                int index = positionOf(id);
+                return index < 0 ? null : columns.get(index);
+            }
+            return tasksById.get(id);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Returns the position of the task with the given ID.
+     * IDs increase along the list, so the position is found by binary search.
+     *
+     * @param id The ID of the task.
+     * @return The zero-indexed position of the task.
+     * @throws LadisException If no task in the list has the ID.
+     */
+    public int getIndexOf(int id) throws LadisException {
+        lock.readLock().lock();
+        try {
+            int index = positionOf(id);
+            if (index >= 0) {
+                return index;
+            }
+        } finally {
+            lock.readLock().unlock();
+        }
+        throw new LadisException("I can't find task #" + id + ". Try 'list' to see the task IDs.");
+    }
+
+    /**
+     * Finds the position of the task with the given ID by binary search, holding the read or write lock.
+     *
+     * @param id The ID of the task.
+     * @return The zero-indexed position of the task, or -1 if no task in the list has the ID.
+     */
+    private int positionOf(int id) {
+        if (columns == null && !tasksById.containsKey(id)) {
+            return -1;
+        }
+        int low = 0;
+        int high = tasks.size() - 1;
+        while (low <= high) {
+            int middle = (low + high) >>> 1;
+            int middleId = columns != null ? columns.getId(middle) : tasks.get(middle).getId();
+            if (middleId < id) {
+                low = middle + 1;
+            } else if (middleId > id) {
+                high = middle - 1;
+            } else {
+                return middle;
+            }
+        }
+        return -1;
     }
 
     /**
@@ -53,9 +268,14 @@ public class TaskList {
      * @return The task at the given index.
      */
     public Task getTask(int index) {
-        Task task = tasks.get(index);
-        assert task != null : "Retrieved task should never be null";
-        return task;
+        lock.readLock().lock();
+        try {
+            Task task = tasks.get(index);
+            assert task != null : "Retrieved task should never be null";
+            return task;
+        } finally {
+            lock.readLock().unlock();
+        }
     }
 
     /**
@@ -64,9 +284,51 @@ public class TaskList {
      * @return The size of the task list.
      */
     public int size() {
-        int size = tasks.size();
-        assert size >= 0 : "Task list size should never be negative";
-        return size;
+        lock.readLock().lock();
+        try {
+            int size = tasks.size();
+            assert size >= 0 : "Task list size should never be negative";
+            return size;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Returns an immutable view of the tasks as they are now, in list order.
+     * Later additions and removals do not show in it, so long renders and exports see one consistent list
+     * without holding up writers. The tasks themselves are shared, so their done flags stay live.
+     * Taking a snapshot costs O(1) and no lock once the first one has been taken; the list then keeps a
+     * persistent tree of its tasks in step, at O(log n) extra work per addition or removal.
+     * A columnar list copies its columns instead, in O(n) but without building any task, and the done flags
+     * of its snapshot are those at the time it was taken.
+     *
+     * @return The tasks currently in the list.
+     */
+    public List<Task> getSnapshot() {
+        if (columns != null) {
+            lock.readLock().lock();
+            try {
+                return Collections.unmodifiableList(columns.copy());
+            } finally {
+                lock.readLock().unlock();
+            }
+        }
+        return getVersions().snapshot();
+    }
+
+    private PersistentTaskTree getVersions() {
+        if (versions == null) {
+            lock.writeLock().lock();
+            try {
+                if (versions == null) {
+                    versions = build(new PersistentTaskTree());
+                }
+            } finally {
+                lock.writeLock().unlock();
+            }
+        }
+        return versions;
     }
 
     /**
@@ -74,18 +336,35 @@ public class TaskList {
      * Updates the task's completion status and persists the change.
      *
      * @param index The zero-indexed position of the task to mark as done.
+     * @return The marked task.
      * @throws LadisException If the index is out of bounds (negative or >= size).
      *         Provides helpful guidance on valid task indices (1 to size).
      */
-    public void markTask(int index) throws LadisException {
-        if (isValidIndex(index)) {
-            Task task = tasks.get(index);
-            assert task != null : "Task should exist at valid index";
-            task.mark();
-            assert task.isDone() : "Task should be marked as done after calling mark()";
-        } else {
-            throw new LadisException("Invalid task number: " + (index + 1) + ". "
-                    + "Valid task numbers are 1 to " + tasks.size() + ".");
+    public Task markTask(int index) throws LadisException {
+        lock.readLock().lock();
+        try {
+            return setDone(index, getValidTask(index), true);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Marks a task as done by ID.
+     * Finding and marking the task happen atomically, so a concurrent removal cannot shift another task
+     * into its place.
+     *
+     * @param id The ID of the task to mark as done.
+     * @return The marked task.
+     * @throws LadisException If no task in the list has the ID.
+     */
+    public Task markTaskById(int id) throws LadisException {
+        lock.readLock().lock();
+        try {
+            int index = getIndexOf(id);
+            return setDone(index, tasks.get(index), true);
+        } finally {
+            lock.readLock().unlock();
         }
     }
 
@@ -94,19 +373,303 @@ public class TaskList {
      * Reverts the task's completion status and persists the change.
      *
      * @param index The zero-indexed position of the task to unmark.
+     * @return The unmarked task.
      * @throws LadisException If the index is out of bounds (negative or >= size).
      *         Provides helpful guidance on valid task indices (1 to size).
      */
-    public void unmarkTask(int index) throws LadisException {
-        if (isValidIndex(index)) {
-            Task task = tasks.get(index);
-            assert task != null : "Task should exist at valid index";
-            task.unmark();
-            assert !task.isDone() : "Task should not be marked as done after calling unmark()";
+    public Task unmarkTask(int index) throws LadisException {
+        lock.readLock().lock();
+        try {
+            return setDone(index, getValidTask(index), false);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Marks a task as not done by ID.
+     * Finding and unmarking the task happen atomically, so a concurrent removal cannot shift another task
+     * into its place.
+     *
+     * @param id The ID of the task to unmark.
+     * @return The unmarked task.
+     * @throws LadisException If no task in the list has the ID.
+     */
+    public Task unmarkTaskById(int id) throws LadisException {
+        lock.readLock().lock();
+        try {
+            int index = getIndexOf(id);
+            return setDone(index, tasks.get(index), false);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Sets the done flag of the task at a position and records the change, holding the read lock.
+     */
+    private Task setDone(int index, Task task, boolean isDone) {
+        synchronized (stripeOf(task)) {
+            if (columns != null) {
+                columns.setDone(index, isDone);
+            }
+            if (isDone) {
+                task.mark();
+            } else {
+                task.unmark();
+            }
+            assert task.isDone() == isDone : "Task's done flag should be set after marking or unmarking";
+            if (statusIndex != null) {
+                statusIndex.setDone(task.getId(), isDone);
+            }
+            trackChange(isDone ? TaskChange.Kind.MARKED : TaskChange.Kind.UNMARKED, index, task);
+        }
+        return task;
+    }
+
+    /**
+     * Finds the tasks whose description contains the keyword, ignoring case, in list order.
+     * Keywords of three or more characters take their candidates from the trigram index, shorter ones from
+     * the word index; only a short keyword without any letters or digits falls back to scanning the whole list.
+     * Every candidate is verified, so results are exactly those of a case-insensitive {@code contains}.
+     *
+     * @param keyword The text to search for.
+     * @return The matching tasks.
+     */
+    public List<Task> findTasks(String keyword) {
+        String lowerKeyword = keyword.toLowerCase();
+        if (columns != null) {
+            lock.readLock().lock();
+            try {
+                return columns.find(lowerKeyword);
+            } finally {
+                lock.readLock().unlock();
+            }
+        }
+        List<Task> matches = new ArrayList<>();
+        if (trigramIndex == null) {
+            lock.writeLock().lock();
+            try {
+                if (trigramIndex == null) {
+                    keywordIndex = build(new KeywordIndex());
+                    trigramIndex = build(new TrigramIndex());
+                }
+            } finally {
+                lock.writeLock().unlock();
+            }
+        }
+
+        lock.readLock().lock();
+        try {
+            TaskPostings candidates = trigramIndex.candidates(lowerKeyword);
+            if (candidates == null) {
+                candidates = keywordIndex.candidates(lowerKeyword);
+            }
+            if (candidates == null) {
+                for (Task task : tasks) {
+                    if (task.getDescription().toLowerCase().contains(lowerKeyword)) {
+                        matches.add(task);
+                    }
+                }
+                return matches;
+            }
+            for (int i = 0; i < candidates.size(); i++) {
+                Task task = candidates.getTask(i);
+                if (task.getDescription().toLowerCase().contains(lowerKeyword)) {
+                    matches.add(task);
+                }
+            }
+            return matches;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Finds the tasks of the given types and completion status, in list order.
+     * The filters are evaluated on bitmaps of task IDs, so only the tasks that match are touched.
+     *
+     * @param types The task types to keep; all types if empty.
+     * @param isDone Whether to keep only done (true) or pending (false) tasks; both if null.
+     * @return The matching tasks.
+     */
+    public List<Task> filterTasks(Set<TaskType> types, Boolean isDone) {
+        if (columns != null) {
+            lock.readLock().lock();
+            try {
+                return columns.matching(types, isDone);
+            } finally {
+                lock.readLock().unlock();
+            }
+        }
+        if (statusIndex == null) {
+            lock.writeLock().lock();
+            try {
+                if (statusIndex == null) {
+                    statusIndex = build(new StatusIndex());
+                }
+            } finally {
+                lock.writeLock().unlock();
+            }
+        }
+
+        lock.readLock().lock();
+        try {
+            return statusIndex.matching(types, isDone);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Finds the deadlines and events falling due within the inclusive range, earliest first.
+     * A deadline falls due at its deadline and an event at its start; a missing time counts as midnight.
+     *
+     * @param from The start of the range.
+     * @param to The end of the range.
+     * @return The tasks in the range, in date order; tasks due at the same minute keep list order.
+     */
+    public List<Task> findTasksBetween(LocalDateTime from, LocalDateTime to) {
+        if (columns != null) {
+            lock.readLock().lock();
+            try {
+                return columns.between(from, to);
+            } finally {
+                lock.readLock().unlock();
+            }
+        }
+        if (dateIndex == null) {
+            lock.writeLock().lock();
+            try {
+                if (dateIndex == null) {
+                    dateIndex = build(new DateIndex());
+                }
+            } finally {
+                lock.writeLock().unlock();
+            }
+        }
+
+        lock.readLock().lock();
+        try {
+            return dateIndex.between(from, to);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Finds the events whose time span overlaps the given event's.
+     *
+     * @param event The event to check, which may or may not be in this list.
+     * @return The other events it overlaps, ordered by start.
+     */
+    public List<Event> findOverlappingEvents(Event event) {
+        if (columns != null) {
+            lock.readLock().lock();
+            try {
+                return columns.overlapping(event);
+            } finally {
+                lock.readLock().unlock();
+            }
+        }
+        EventIntervalTree intervals = getEventIntervals();
+        lock.readLock().lock();
+        try {
+            return intervals.overlapping(event);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Finds every pair of events in the list whose time spans overlap.
+     *
+     * @return The conflicting pairs, each reported once, ordered by the start of the earlier event.
+     */
+    public List<EventConflict> findEventConflicts() {
+        if (columns != null) {
+            lock.readLock().lock();
+            try {
+                return columns.conflicts();
+            } finally {
+                lock.readLock().unlock();
+            }
+        }
+        EventIntervalTree intervals = getEventIntervals();
+        lock.readLock().lock();
+        try {
+            return intervals.conflicts();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private EventIntervalTree getEventIntervals() {
+        if (eventIntervals == null) {
+            lock.writeLock().lock();
+            try {
+                if (eventIntervals == null) {
+                    eventIntervals = build(new EventIntervalTree());
+                }
+            } finally {
+                lock.writeLock().unlock();
+            }
+        }
+        return eventIntervals;
+    }
+
+    /**
+     * Fills a new index with the current tasks and keeps it up to date from then on.
+     * Indexes are built on first use, so lists that are never queried do not pay for them at load.
+     * Must be called with the write lock held.
+     *
+     * @param taskIndex The empty index.
+     * @return The filled index.
+     */
+    private <T extends TaskIndex> T build(T taskIndex) {
+        for (Task task : tasks) {
+            taskIndex.add(task.getId(), task);
+        }
+        builtIndexes.add(taskIndex);
+        return taskIndex;
+    }
+
+    /**
+     * Gives a task appended to the list its ID and adds it to the ID map and the built indexes.
+     * A task keeps the ID it was saved with if that is larger than every ID before it; otherwise, as for
+     * new tasks and tasks from files written before IDs existed, it gets the next free ID.
+     *
+     * @param task The appended task.
+     */
+    private void index(Task task) {
+        if (task.getId() > lastId) {
+            lastId = task.getId();
         } else {
+            task.setId(++lastId);
+        }
+        if (columns == null) {
+            tasksById.put(task.getId(), task);
+        }
+        for (TaskIndex taskIndex : builtIndexes) {
+            taskIndex.add(task.getId(), task);
+        }
+    }
+
+    /**
+     * Returns the task at a position, which must be checked while holding the read or write lock.
+     *
+     * @param index The zero-indexed position of the task.
+     * @return The task.
+     * @throws LadisException If the index is out of bounds.
+     */
+    private Task getValidTask(int index) throws LadisException {
+        if (!isValidIndex(index)) {
             throw new LadisException("Invalid task number: " + (index + 1) + ". "
                     + "Valid task numbers are 1 to " + tasks.size() + ".");
         }
+        Task task = tasks.get(index);
+        assert task != null : "Task should exist at valid index";
+        return task;
     }
 
     /**
@@ -119,12 +682,147 @@ public class TaskList {
         return index >= 0 && index < tasks.size();
     }
 
+    private Object stripeOf(Task task) {
+        return stripes[task.getId() & (LOCK_STRIPES - 1)];
+    }
+
+    /**
+     * Records a change and bumps the list version.
+     * If too many changes pile up without a save, they are dropped in favour of a full save.
+     *
+     * @param kind The kind of change.
+     * @param index The zero-indexed position of the affected task.
+     * @param task The affected task.
+     */
+    private void trackChange(TaskChange.Kind kind, int index, Task task) {
+        synchronized (changeLock) {
+            version++;
+            if (isFullSaveNeeded) {
+                return;
+            }
+            if (unsavedChanges.size() >= MAX_TRACKED_CHANGES) {
+                unsavedChanges.clear();
+                isFullSaveNeeded = true;
+                return;
+            }
+            unsavedChanges.add(new TaskChange(kind, index, task, version));
+        }
+    }
+
+    /**
+     * Returns the highest ID handed out to a task in this list, including tasks that have since been removed.
+     *
+     * @return The highest task ID assigned, or 0 if there has been none.
+     */
+    public int getLastId() {
+        lock.readLock().lock();
+        try {
+            return lastId;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Returns the number of changes made to this list since it was created.
+     *
+     * @return The current version.
+     */
+    public long getVersion() {
+        return version;
+    }
+
+    /**
+     * Checks whether the list has changed since it was last saved.
+     *
+     * @return true if there are unsaved changes.
+     */
+    public boolean hasUnsavedChanges() {
+        synchronized (changeLock) {
+            return isFullSaveNeeded || !unsavedChanges.isEmpty();
+        }
+    }
+
+    /**
+     * Checks whether the unsaved changes are too many to be tracked individually.
+     *
+     * @return true if the whole list has to be saved.
+     */
+    public boolean isFullSaveNeeded() {
+        synchronized (changeLock) {
+            return isFullSaveNeeded;
+        }
+    }
+
+    /**
+     * Returns the changes made since the list was last saved, oldest first.
+     * Empty if {@link #isFullSaveNeeded()} is true.
+     *
+     * @return The unsaved changes.
+     */
+    public List<TaskChange> getUnsavedChanges() {
+        synchronized (changeLock) {
+            return Collections.unmodifiableList(new ArrayList<>(unsavedChanges));
+        }
+    }
+
+    /**
+     * Captures the tasks and the unsaved changes at one point in time, for saving while other threads
+     * keep changing the list.
+     *
+     * @return The captured state.
+     */
+    public SavePoint getSavePoint() {
+        PersistentTaskTree taskVersions = columns == null ? getVersions() : null;
+        lock.readLock().lock();
+        try {
+            List<Task> current = columns == null
+                    ? taskVersions.snapshot()
+                    : Collections.unmodifiableList(columns.copy());
+            synchronized (changeLock) {
+                return new SavePoint(current, lastId, new ArrayList<>(unsavedChanges), isFullSaveNeeded, version);
+            }
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Marks every change so far as saved.
+     */
+    public void markSaved() {
+        synchronized (changeLock) {
+            unsavedChanges.clear();
+            isFullSaveNeeded = false;
+        }
+    }
+
+    /**
+     * Marks the changes up to a save point as saved, keeping any made since.
+     *
+     * @param savePoint The save point that was written.
+     */
+    public void markSaved(SavePoint savePoint) {
+        synchronized (changeLock) {
+            int saved = 0;
+            while (saved < unsavedChanges.size()
+                    && unsavedChanges.get(saved).getVersion() <= savePoint.getVersion()) {
+                saved++;
+            }
+            unsavedChanges.subList(0, saved).clear();
+            if (version == savePoint.getVersion()) {
+                isFullSaveNeeded = false;
+            }
+        }
+    }
+
     /**
      * Returns the underlying task list.
+     * The list is not synchronised; use {@link #getSnapshot()} when other threads may change it.
      *
-     * @return The ArrayList of tasks.
+     * @return The list of tasks, or the columns of a columnar list.
      */
-    public ArrayList<Task> getTasks() {
+    public List<Task> getTasks() {
         return tasks;
     }
 }
@@ -0,0 +1,137 @@
+package ladis.task;
+
+import java.util.Arrays;
+
+/**
+ * Posting list for the task indexes: the tasks filed under one index key, ordered by their ID.
+ * A {@link TaskList} keeps IDs increasing along the list, so ID order is also list order and results read
+ * off a posting list come out in the order the user sees them.
+ */
+class TaskPostings {
+    private static final int INITIAL_CAPACITY = 4;
+
+    private int[] ids;
+    private Task[] tasks;
+    private int size;
+
+    TaskPostings() {
+        this(INITIAL_CAPACITY);
+    }
+
+    private TaskPostings(int capacity) {
+        this.ids = new int[capacity];
+        this.tasks = new Task[capacity];
+    }
+
+    /**
+     * Files a task under this key. Appending in ID order is O(1); an out-of-order ID is
+     * inserted at its sorted position.
+     *
+     * @param id The task's ID.
+     * @param task The task.
+     */
+    void add(int id, Task task) {
+        if (size == ids.length) {
+            ids = Arrays.copyOf(ids, size * 2);
+            tasks = Arrays.copyOf(tasks, size * 2);
+        }
+        int position = size == 0 || ids[size - 1] < id ? size : insertionPoint(id);
+        System.arraycopy(ids, position, ids, position + 1, size - position);
+        System.arraycopy(tasks, position, tasks, position + 1, size - position);
+        ids[position] = id;
+        tasks[position] = task;
+        size++;
+    }
+
+    /**
+     * Removes the task with the given ID, if present.
+     *
+     * @param id The task's ID.
+     */
+    void remove(int id) {
+        int position = Arrays.binarySearch(ids, 0, size, id);
+        if (position < 0) {
+            return;
+        }
+        System.arraycopy(ids, position + 1, ids, position, size - position - 1);
+        System.arraycopy(tasks, position + 1, tasks, position, size - position - 1);
+        size--;
+        tasks[size] = null;
+    }
+
+    int size() {
+        return size;
+    }
+
+    boolean isEmpty() {
+        return size == 0;
+    }
+
+    Task getTask(int position) {
+        return tasks[position];
+    }
+
+    /**
+     * Merges two posting lists into a new one holding each task once, in ID order.
+     *
+     * @param first A posting list.
+     * @param second Another posting list.
+     * @return The union of both lists.
+     */
+    static TaskPostings union(TaskPostings first, TaskPostings second) {
+        TaskPostings merged = new TaskPostings(Math.max(INITIAL_CAPACITY, first.size + second.size));
+        int i = 0;
+        int j = 0;
+        while (i < first.size || j < second.size) {
+            int a = i < first.size ? first.ids[i] : Integer.MAX_VALUE;
+            int b = j < second.size ? second.ids[j] : Integer.MAX_VALUE;
+            if (a <= b) {
+                merged.append(a, first.tasks[i]);
+                i++;
+                if (a == b) {
+                    j++;
+                }
+            } else {
+                merged.append(b, second.tasks[j]);
+                j++;
+            }
+        }
+        return merged;
+    }
+
+    /**
+     * Returns a new posting list holding the tasks present in both lists, in ID order.
+     * The smaller list is walked and each of its IDs looked up in the larger one.
+     *
+     * @param first A posting list.
+     * @param second Another posting list.
+     * @return The intersection of both lists.
+     */
+    static TaskPostings intersection(TaskPostings first, TaskPostings second) {
+        TaskPostings smaller = first.size <= second.size ? first : second;
+        TaskPostings larger = smaller == first ? second : first;
+        TaskPostings common = new TaskPostings(Math.max(INITIAL_CAPACITY, smaller.size));
+        int from = 0;
+        for (int i = 0; i < smaller.size && from < larger.size; i++) {
+            int position = Arrays.binarySearch(larger.ids, from, larger.size, smaller.ids[i]);
+            if (position >= 0) {
+                common.append(smaller.ids[i], smaller.tasks[i]);
+                from = position + 1;
+            } else {
+                from = -position - 1;
+            }
+        }
+        return common;
+    }
+
+    private void append(int id, Task task) {
+        ids[size] = id;
+        tasks[size] = task;
+        size++;
+    }
+
+    private int insertionPoint(int id) {
+        int position = Arrays.binarySearch(ids, 0, size, id);
+        return position < 0 ? -position - 1 : position;
+    }
+}
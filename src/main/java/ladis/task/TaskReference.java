@@ -0,0 +1,81 @@
+package ladis.task;
+
+import ladis.exception.LadisException;
+
+/**
+ * Refers to a task in a {@link TaskList}, either by its position in the list or by its stable ID.
+ * A position can point at a different task once earlier tasks are removed; an ID always names the same task.
+ */
+public class TaskReference {
+    private final int value;
+    private final boolean isId;
+
+    private TaskReference(int value, boolean isId) {
+        this.value = value;
+        this.isId = isId;
+    }
+
+    /**
+     * Refers to the task at a position in the list.
+     *
+     * @param index The zero-indexed position of the task.
+     * @return The reference.
+     */
+    public static TaskReference ofIndex(int index) {
+        return new TaskReference(index, false);
+    }
+
+    /**
+     * Refers to the task with the given ID.
+     *
+     * @param id The ID of the task.
+     * @return The reference.
+     */
+    public static TaskReference ofId(int id) {
+        return new TaskReference(id, true);
+    }
+
+    /**
+     * Removes the referenced task from the list.
+     * The reference is checked and the task removed in one step, so a concurrent removal cannot shift another
+     * task into the place of one named by ID, or shrink the list past a position after it was checked.
+     *
+     * @param tasks The task list the reference points into.
+     * @return The removed task.
+     * @throws LadisException If the position is out of bounds or no task in the list has the ID.
+     */
+    public Task removeFrom(TaskList tasks) throws LadisException {
+        return isId ? tasks.removeTaskById(value) : tasks.removeTaskAt(value);
+    }
+
+    /**
+     * Marks the referenced task as done.
+     *
+     * @param tasks The task list the reference points into.
+     * @return The marked task.
+     * @throws LadisException If the position is out of bounds or no task in the list has the ID.
+     */
+    public Task markIn(TaskList tasks) throws LadisException {
+        return isId ? tasks.markTaskById(value) : tasks.markTask(value);
+    }
+
+    /**
+     * Marks the referenced task as not done.
+     *
+     * @param tasks The task list the reference points into.
+     * @return The unmarked task.
+     * @throws LadisException If the position is out of bounds or no task in the list has the ID.
+     */
+    public Task unmarkIn(TaskList tasks) throws LadisException {
+        return isId ? tasks.unmarkTaskById(value) : tasks.unmarkTask(value);
+    }
+
+    public boolean isId() {
+        return isId;
+    }
+
+    @Override
+    public String toString() {
+        return isId ? "#" + value : String.valueOf(value + 1);
+    }
+}
@@ -12,9 +12,4 @@ public class Todo extends Task {
     public Todo(String description) {
         super(description, TaskType.TODO);
     }
-
-    @Override
-    public String toString() {
-        return super.toString();
-    }
 }
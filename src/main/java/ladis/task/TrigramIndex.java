@@ -0,0 +1,88 @@
+package ladis.task;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+
+/**
+ * Index from every three-character sequence of the lower-cased task descriptions to the tasks containing it.
+ * Any description containing a keyword must contain each of the keyword's trigrams, so intersecting their
+ * posting lists yields a small candidate set for keywords of three or more characters, spaces and
+ * punctuation included. Trigrams are packed into a {@code long} rather than held as strings.
+ */
+class TrigramIndex implements TaskIndex {
+    static final int GRAM_LENGTH = 3;
+    private static final long HASH_MULTIPLIER = 0x9E3779B97F4A7C15L;
+
+    private final HashMap<Long, TaskPostings> postings = new HashMap<>();
+
+    @Override
+    public void add(int id, Task task) {
+        for (long trigram : trigramsOf(task.getDescription().toLowerCase())) {
+            postings.computeIfAbsent(trigram, key -> new TaskPostings()).add(id, task);
+        }
+    }
+
+    @Override
+    public void remove(int id, Task task) {
+        for (long trigram : trigramsOf(task.getDescription().toLowerCase())) {
+            TaskPostings tasks = postings.get(trigram);
+            if (tasks != null) {
+                tasks.remove(id);
+                if (tasks.isEmpty()) {
+                    postings.remove(trigram);
+                }
+            }
+        }
+    }
+
+    /**
+     * Returns a superset of the tasks whose lower-cased description contains the keyword, in list order.
+     *
+     * @param lowerKeyword The lower-cased keyword.
+     * @return The candidate tasks, or null if the keyword is too short to have trigrams.
+     */
+    TaskPostings candidates(String lowerKeyword) {
+        if (lowerKeyword.length() < GRAM_LENGTH) {
+            return null;
+        }
+        List<TaskPostings> lists = new ArrayList<>();
+        for (long trigram : trigramsOf(lowerKeyword)) {
+            TaskPostings tasks = postings.get(trigram);
+            if (tasks == null) {
+                return new TaskPostings();
+            }
+            lists.add(tasks);
+        }
+        lists.sort((first, second) -> Integer.compare(first.size(), second.size()));
+
+        TaskPostings result = lists.get(0);
+        for (int i = 1; i < lists.size() && !result.isEmpty(); i++) {
+            result = TaskPostings.intersection(result, lists.get(i));
+        }
+        return result;
+    }
+
+    /**
+     * Returns the distinct trigrams of the text, each packed as three 16-bit chars.
+     * The packed value is multiplied by an odd constant, which keeps trigrams distinct while spreading them
+     * across the hash table; plain packing makes {@link Long#hashCode} fold the first and last char together.
+     */
+    static long[] trigramsOf(String text) {
+        int count = Math.max(0, text.length() - GRAM_LENGTH + 1);
+        long[] trigrams = new long[count];
+        for (int i = 0; i < count; i++) {
+            long packed = ((long) text.charAt(i) << 32) | ((long) text.charAt(i + 1) << 16) | text.charAt(i + 2);
+            trigrams[i] = packed * HASH_MULTIPLIER;
+        }
+        Arrays.sort(trigrams);
+        int distinct = 0;
+        for (int i = 0; i < count; i++) {
+            if (i == 0 || trigrams[i] != trigrams[i - 1]) {
+                trigrams[distinct++] = trigrams[i];
+            }
+        }
+        return Arrays.copyOf(trigrams, distinct);
+    }
+}
@@ -0,0 +1,57 @@
+package ladis.ui;
+
+/**
+ * One message in the GUI conversation: what was said, who said it, and for Ladis's replies, the type of
+ * command that was answered, which decides how the reply is styled.
+ * Messages hold no JavaFX nodes, so the conversation can keep many of them while drawing only the few on screen.
+ */
+public class ChatMessage {
+    private final String text;
+    private final boolean isFromUser;
+    private final String commandType;
+
+    private ChatMessage(String text, boolean isFromUser, String commandType) {
+        assert text != null : "Message text should not be null";
+        this.text = text;
+        this.isFromUser = isFromUser;
+        this.commandType = commandType;
+    }
+
+    /**
+     * Creates a message typed by the user.
+     *
+     * @param text The user's input.
+     * @return The user's message.
+     */
+    public static ChatMessage fromUser(String text) {
+        return new ChatMessage(text, true, "");
+    }
+
+    /**
+     * Creates a reply from Ladis.
+     *
+     * @param text The reply.
+     * @param commandType The simple class name of the command answered, or an empty string if there was none.
+     * @return Ladis's message.
+     */
+    public static ChatMessage fromLadis(String text, String commandType) {
+        return new ChatMessage(text, false, commandType == null ? "" : commandType);
+    }
+
+    public String getText() {
+        return text;
+    }
+
+    /**
+     * Checks if the message was typed by the user rather than sent by Ladis.
+     *
+     * @return true for the user's messages.
+     */
+    public boolean isFromUser() {
+        return isFromUser;
+    }
+
+    public String getCommandType() {
+        return commandType;
+    }
+}
@@ -0,0 +1,73 @@
+package ladis.ui;
+
+import javafx.collections.ObservableList;
+import javafx.scene.control.ListCell;
+import javafx.scene.control.ListView;
+import javafx.scene.image.Image;
+
+/**
+ * Scrolling conversation between the user and Ladis.
+ * Messages are kept as plain {@link ChatMessage} items and drawn by a few recycled cells, each holding one
+ * {@link DialogBox}, so only the messages on screen have nodes in the scene graph however long the session runs.
+ * Only the latest {@link #MAX_MESSAGES} messages are kept; older ones are dropped from the top.
+ */
+public class ConversationView extends ListView<ChatMessage> {
+    /**
+     * Number of messages kept before the oldest are dropped.
+     */
+    public static final int MAX_MESSAGES = 1000;
+
+    private final Image userImage = new Image(this.getClass().getResourceAsStream("/images/LadisUser.jpg"));
+    private final Image ladisImage = new Image(this.getClass().getResourceAsStream("/images/Ladis.jpg"));
+
+    /**
+     * Constructs an empty conversation.
+     */
+    public ConversationView() {
+        getStyleClass().add("conversation");
+        setFocusTraversable(false);
+        setCellFactory(view -> new MessageCell());
+    }
+
+    /**
+     * Appends messages to the end of the conversation and scrolls to the last one, dropping the oldest
+     * messages if there are more than {@link #MAX_MESSAGES}.
+     *
+     * @param messages The messages to append, in order.
+     */
+    public void addMessages(ChatMessage... messages) {
+        ObservableList<ChatMessage> items = getItems();
+        items.addAll(messages);
+        int excess = items.size() - MAX_MESSAGES;
+        if (excess > 0) {
+            items.remove(0, excess);
+        }
+        scrollTo(items.size() - 1);
+    }
+
+    /**
+     * Cell that shows a message in a dialog box it keeps, so scrolling reuses the box instead of building one.
+     */
+    private class MessageCell extends ListCell<ChatMessage> {
+        private final DialogBox dialogBox = new DialogBox();
+
+        MessageCell() {
+            // Let the cell follow the list's width, so long messages wrap instead of scrolling sideways
+            setPrefWidth(0);
+            // Messages cannot be selected; scrolling still reaches the list behind the cell
+            setMouseTransparent(true);
+        }
+
+        @Override
+        protected void updateItem(ChatMessage message, boolean isEmpty) {
+            super.updateItem(message, isEmpty);
+            setText(null);
+            if (isEmpty || message == null) {
+                setGraphic(null);
+                return;
+            }
+            dialogBox.showMessage(message, message.isFromUser() ? userImage : ladisImage);
+            setGraphic(dialogBox);
+        }
+    }
+}
@@ -1,105 +1,97 @@
 package ladis.ui;
 
-import java.io.IOException;
-import java.util.Collections;
-
-import javafx.collections.FXCollections;
-import javafx.collections.ObservableList;
-import javafx.fxml.FXML;
-import javafx.fxml.FXMLLoader;
+import javafx.geometry.Insets;
 import javafx.geometry.Pos;
-import javafx.scene.Node;
 import javafx.scene.control.Label;
 import javafx.scene.image.Image;
 import javafx.scene.image.ImageView;
 import javafx.scene.layout.HBox;
+import javafx.scene.layout.Region;
 
 /**
  * Represents a dialog box consisting of an ImageView to represent the speaker's face
  * and a label containing text from the speaker.
+ * A dialog box can show one message after another, so the conversation reuses boxes as it scrolls.
+ * The layout is built in code rather than loaded from FXML, so a new box costs a few node constructors
+ * instead of an XML parse and reflective injection.
  */
 public class DialogBox extends HBox {
-    @FXML
-    private Label dialog;
-    @FXML
-    private ImageView displayPicture;
+    private static final String BASE_STYLE_CLASS = "label";
+    private static final String REPLY_STYLE_CLASS = "reply-label";
+    private static final double SPACING = 10.0;
+    private static final double BOX_WIDTH = 400.0;
+    private static final double MAX_TEXT_WIDTH = 300.0;
+    private static final double PICTURE_SIZE = 99.0;
+    private static final Insets PADDING = new Insets(15.0, 5.0, 15.0, 5.0);
+    private static final String TEXT_STYLE = "-fx-text-alignment: left; -fx-alignment: TOP_LEFT;";
 
-    private DialogBox(String text, Image img) {
-        loadFxmlLayout();
-        dialog.setText(text);
-        displayPicture.setImage(img);
-    }
-
-    private void loadFxmlLayout() {
-        try {
-            FXMLLoader fxmlLoader =
-                    new FXMLLoader(MainWindow.class.getResource("/view/DialogBox.fxml"));
-            fxmlLoader.setController(this);
-            fxmlLoader.setRoot(this);
-            fxmlLoader.load();
-        } catch (IOException e) {
-            e.printStackTrace();
-        }
-    }
+    private final Label dialog = new Label();
+    private final ImageView displayPicture = new ImageView();
 
     /**
-     * Flips the dialog box such that the ImageView is on the left and text on the right.
+     * Constructs an empty dialog box, to be filled by {@link #showMessage(ChatMessage, Image)}.
      */
-    private void flip() {
-        ObservableList<Node> tmp = FXCollections.observableArrayList(this.getChildren());
-        Collections.reverse(tmp);
-        getChildren().setAll(tmp);
-        setAlignment(Pos.TOP_LEFT);
-        dialog.getStyleClass().add("reply-label");
+    public DialogBox() {
+        super(SPACING);
+        setAlignment(Pos.TOP_RIGHT);
+        setPrefWidth(BOX_WIDTH);
+        setMaxWidth(Double.MAX_VALUE);
+        setMaxHeight(Double.MAX_VALUE);
+        setPadding(PADDING);
+
+        dialog.setId("dialog");
+        dialog.setWrapText(true);
+        dialog.setMinHeight(Region.USE_PREF_SIZE);
+        dialog.setMaxWidth(MAX_TEXT_WIDTH);
+        dialog.setStyle(TEXT_STYLE);
+
+        displayPicture.setId("displayPicture");
+        displayPicture.setFitHeight(PICTURE_SIZE);
+        displayPicture.setFitWidth(PICTURE_SIZE);
+        displayPicture.setPickOnBounds(true);
+        displayPicture.setPreserveRatio(true);
+
+        getChildren().setAll(dialog, displayPicture);
     }
 
     /**
-     * Changes the style of the dialog box based on the command type.
+     * Shows a message, replacing whatever the box showed before. The user's messages have the picture on the
+     * right; Ladis's replies have it on the left and are styled by the type of command answered.
      *
-     * @param commandType The type of command that generated this response.
+     * @param message The message to show.
+     * @param img The speaker's picture.
      */
-    private void changeDialogStyle(String commandType) {
-        if (commandType == null) {
-            return;
-        }
-        switch (commandType) {
-        case "AddCommand":
-        case "AddTodoCommand":
-        case "AddDeadlineCommand":
-        case "AddEventCommand":
-            dialog.getStyleClass().add("add-label");
-            break;
-        case "MarkCommand":
-        case "ChangeMarkCommand":
-            dialog.getStyleClass().add("marked-label");
-            break;
-        case "DeleteCommand":
-            dialog.getStyleClass().add("delete-label");
-            break;
-        default:
-            // Do nothing for other command types
-            break;
+    public void showMessage(ChatMessage message, Image img) {
+        dialog.setText(message.getText());
+        displayPicture.setImage(img);
+        if (message.isFromUser()) {
+            getChildren().setAll(dialog, displayPicture);
+            setAlignment(Pos.TOP_RIGHT);
+            dialog.getStyleClass().setAll(BASE_STYLE_CLASS);
+        } else {
+            getChildren().setAll(displayPicture, dialog);
+            setAlignment(Pos.TOP_LEFT);
+            String commandStyle = getCommandStyleClass(message.getCommandType());
+            if (commandStyle.isEmpty()) {
+                dialog.getStyleClass().setAll(BASE_STYLE_CLASS, REPLY_STYLE_CLASS);
+            } else {
+                dialog.getStyleClass().setAll(BASE_STYLE_CLASS, REPLY_STYLE_CLASS, commandStyle);
+            }
         }
     }
 
-    public static DialogBox getUserDialog(String text, Image img) {
-        var db = new DialogBox(text, img);
-        db.dialog.getStyleClass().add("label");
-        return db;
-    }
-
-    public static DialogBox getDukeDialog(String text, Image img) {
-        var db = new DialogBox(text, img);
-        db.dialog.getStyleClass().add("label");
-        db.flip();
-        return db;
-    }
-
-    public static DialogBox getDukeDialog(String text, Image img, String commandType) {
-        var db = new DialogBox(text, img);
-        db.dialog.getStyleClass().add("label");
-        db.flip();
-        db.changeDialogStyle(commandType);
-        return db;
+    /**
+     * Returns the style class for replies to the given type of command.
+     *
+     * @param commandType The type of command that generated the reply.
+     * @return The style class, or an empty string if replies to the command are not styled specially.
+     */
+    private static String getCommandStyleClass(String commandType) {
+        return switch (commandType) {
+        case "AddCommand", "AddTodoCommand", "AddDeadlineCommand", "AddEventCommand" -> "add-label";
+        case "MarkCommand", "ChangeMarkCommand" -> "marked-label";
+        case "DeleteCommand" -> "delete-label";
+        default -> "";
+        };
     }
 }
@@ -38,6 +38,14 @@ public class Main extends Application {
         }
     }
 
+    /**
+     * Saves any changes still waiting to be written when the window closes, however it was closed.
+     */
+    @Override
+    public void stop() {
+        ladis.closeStorage();
+    }
+
     public static void main(String... args) {
         launch();
     }
@@ -2,11 +2,8 @@ package ladis.ui;
 
 import javafx.animation.PauseTransition;
 import javafx.fxml.FXML;
-import javafx.scene.control.ScrollPane;
 import javafx.scene.control.TextField;
-import javafx.scene.image.Image;
 import javafx.scene.layout.AnchorPane;
-import javafx.scene.layout.VBox;
 import javafx.stage.Stage;
 import javafx.util.Duration;
 import ladis.Ladis;
@@ -16,24 +13,13 @@ import ladis.Ladis;
  */
 public class MainWindow extends AnchorPane {
     @FXML
-    private ScrollPane scrollPane;
-    @FXML
-    private VBox dialogContainer;
+    private ConversationView conversation;
     @FXML
     private TextField userInput;
 
     private Ladis ladis;
     private Stage stage;
 
-    private final Image userImage = new Image(this.getClass().getResourceAsStream("/images/LadisUser.jpg"));
-    private final Image dukeImage = new Image(this.getClass().getResourceAsStream("/images/Ladis.jpg"));
-
-    @FXML
-    @SuppressWarnings("unused")
-    public void initialize() {
-        scrollPane.vvalueProperty().bind(dialogContainer.heightProperty());
-    }
-
     /**
      * Injects the Ladis instance.
      */
@@ -49,8 +35,8 @@ public class MainWindow extends AnchorPane {
     }
 
     /**
-     * Creates two dialog boxes, one echoing user input and the other containing Ladis's reply
-     * and then appends them to the dialog container. Clears the user input after processing.
+     * Adds two messages to the conversation, one echoing user input and the other containing Ladis's reply.
+     * Clears the user input after processing.
      */
     @FXML
     @SuppressWarnings("unused")
@@ -58,10 +44,7 @@ public class MainWindow extends AnchorPane {
         String input = userInput.getText();
         String response = ladis.getResponse(input);
         String commandType = ladis.getCommandType();
-        dialogContainer.getChildren().addAll(
-                DialogBox.getUserDialog(input, userImage),
-                DialogBox.getDukeDialog(response, dukeImage, commandType)
-        );
+        conversation.addMessages(ChatMessage.fromUser(input), ChatMessage.fromLadis(response, commandType));
         userInput.clear();
 
         // Close the window after 1 second if the exit command was used
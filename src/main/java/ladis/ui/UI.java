@@ -2,8 +2,6 @@ package ladis.ui;
 
 import java.util.Scanner;
 
-import ladis.task.TaskList;
-
 /**
  * User Interface class that handles all user interactions.
  * Displays messages to the user and reads user input from the console.
@@ -27,94 +25,6 @@ public class UI {
         printDivider();
     }
 
-    /**
-     * Displays the goodbye message when the application exits.
-     */
-    public void showGoodbye() {
-        printDivider();
-        System.out.println("Bye. Hope to see you again soon!\n");
-        printDivider();
-    }
-
-    /**
-     * Displays all tasks in the task list.
-     *
-     * @param tasks The task list to display.
-     */
-    public void showList(TaskList tasks) {
-        printDivider();
-        for (int i = 0; i < tasks.size(); i++) {
-            System.out.println((i + 1) + ". " + tasks.getTask(i));
-        }
-        printDivider();
-    }
-
-    /**
-     * Displays a message confirming a task has been added.
-     *
-     * @param description The description of the added task.
-     * @param totalTasks The total number of tasks after addition.
-     */
-    public void showTaskAdded(String description, int totalTasks) {
-        printDivider();
-        System.out.println("Got it. I've added this task:");
-        System.out.println("  " + description);
-        System.out.println("Now you have " + totalTasks + " tasks in the list.");
-        printDivider();
-    }
-
-    /**
-     * Displays a message confirming a task has been marked as done.
-     *
-     * @param task The task that was marked.
-     */
-    public void showTaskMarked(String task) {
-        printDivider();
-        System.out.println("Nice! I've marked this task as done:");
-        System.out.println("    " + task);
-        printDivider();
-    }
-
-    /**
-     * Displays a message confirming a task has been marked as not done.
-     *
-     * @param task The task that was unmarked.
-     */
-    public void showTaskUnmarked(String task) {
-        printDivider();
-        System.out.println("OK, I've marked this task as not done yet:");
-        System.out.println("    " + task);
-        printDivider();
-    }
-
-    /**
-     * Displays a message confirming a task has been removed.
-     *
-     * @param task The task that was removed.
-     * @param totalTasks The total number of tasks after removal.
-     */
-    public void showTaskRemoved(String task, int totalTasks) {
-        printDivider();
-        System.out.println("Noted. I've removed this task:");
-        System.out.println("  " + task);
-        System.out.println("Now you have " + totalTasks + " tasks in the list.");
-        printDivider();
-    }
-
-    /**
-     * Displays a message confirming a task has been archived.
-     *
-     * @param task The task that was archived.
-     * @param totalTasks The total number of tasks after archiving.
-     */
-    public void showTaskArchived(String task, int totalTasks) {
-        printDivider();
-        System.out.println("Archived! I've moved this task to the archive:");
-        System.out.println("  " + task);
-        System.out.println("Now you have " + totalTasks + " tasks in the list.");
-        printDivider();
-    }
-
     /**
      * Displays an error message.
      *
@@ -1,7 +1,10 @@
 package ladis.util;
 
+import java.io.IOException;
 import java.time.LocalDate;
 import java.time.LocalTime;
+import java.time.Month;
+import java.time.Year;
 import java.time.format.DateTimeFormatter;
 
 import ladis.exception.DateTimeParseException;
@@ -9,16 +12,29 @@ import ladis.exception.DateTimeParseException;
 /**
  * Utility class for parsing and formatting date and time strings.
  * Supports date format: yyyy-MM-dd and time format: HHmm (24-hour).
+ *
+ * Dates and times are read by a hand-written scanner that takes padded and unpadded fields alike in one pass,
+ * without regular expressions, substrings or exceptions for control flow, as every deadline and event in a
+ * loaded file goes through it. Only input that is not a valid date or time is rejected.
+ *
+ * Formatting reuses one formatter per pattern, and there being only 1440 minutes in a day, each time's display
+ * and storage strings are built once and then shared.
  */
 public class DateTimeParser {
     private static final DateTimeFormatter DATE_FORMAT = DateTimeFormatter.ofPattern("yyyy-MM-dd");
+    private static final DateTimeFormatter DISPLAY_DATE_FORMAT = DateTimeFormatter.ofPattern("MMM dd yyyy");
+    private static final int MINUTES_PER_DAY = 24 * 60;
+    private static final int MAX_PLAIN_YEAR = 9999;
     private static final int TIME_LENGTH = 4;
-    private static final int HOURS_START_INDEX = 0;
-    private static final int HOURS_END_INDEX = 2;
-    private static final int MINUTES_START_INDEX = 2;
-    private static final int MINUTES_END_INDEX = 4;
+    private static final int FIELD_DIGITS = 2;
+    private static final int MAX_YEAR_DIGITS = 9;
+    private static final int MONTHS_PER_YEAR = 12;
+    private static final int HOURS_PER_DAY = 24;
+    private static final int MINUTES_PER_HOUR = 60;
     private static final int HOUR_12 = 12;
     private static final int HOUR_0 = 0;
+    private static final String[] DISPLAY_TIMES = new String[MINUTES_PER_DAY];
+    private static final String[] SERIALIZED_TIMES = new String[MINUTES_PER_DAY];
 
     /**
      * Parses a date string in format yyyy-MM-dd (e.g., 2019-10-15 or 2019-10-2)
@@ -28,19 +44,15 @@ public class DateTimeParser {
      * @throws DateTimeParseException if date format is invalid.
      */
     public static LocalDate parseDate(String dateStr) throws DateTimeParseException {
-        try {
-            return LocalDate.parse(dateStr, DATE_FORMAT);
-        } catch (Exception e1) {
-            try {
-                String[] parts = dateStr.split("-");
-                if (parts.length == 3) {
-                    int year = Integer.parseInt(parts[0]);
-                    int month = Integer.parseInt(parts[1]);
-                    int day = Integer.parseInt(parts[2]);
-                    return LocalDate.of(year, month, day);
-                }
-            } catch (NumberFormatException e2) {
-                // Fall through
+        int yearEnd = dateStr.indexOf('-');
+        int monthEnd = yearEnd < 0 ? -1 : dateStr.indexOf('-', yearEnd + 1);
+        if (monthEnd >= 0) {
+            int year = parseDigits(dateStr, 0, yearEnd, MAX_YEAR_DIGITS);
+            int month = parseDigits(dateStr, yearEnd + 1, monthEnd, FIELD_DIGITS);
+            int day = parseDigits(dateStr, monthEnd + 1, dateStr.length(), FIELD_DIGITS);
+            if (year >= 0 && month >= 1 && month <= MONTHS_PER_YEAR
+                    && day >= 1 && day <= Month.of(month).length(Year.isLeap(year))) {
+                return LocalDate.of(year, month, day);
             }
         }
         throw new DateTimeParseException("Invalid date format. Use yyyy-MM-dd (e.g., 2019-10-15 or 2019-10-2)");
@@ -55,20 +67,49 @@ public class DateTimeParser {
      * @throws DateTimeParseException if time is not in 24-hour format.
      */
     public static LocalTime parseTime(String timeStr) throws DateTimeParseException {
-        try {
-            timeStr = timeStr.trim();
-            if (timeStr.length() == TIME_LENGTH && timeStr.matches("\\d{4}")) {
-                int hours = Integer.parseInt(timeStr.substring(HOURS_START_INDEX, HOURS_END_INDEX));
-                int minutes = Integer.parseInt(timeStr.substring(MINUTES_START_INDEX, MINUTES_END_INDEX));
+        int start = 0;
+        int end = timeStr.length();
+        while (start < end && timeStr.charAt(start) <= ' ') {
+            start++;
+        }
+        while (end > start && timeStr.charAt(end - 1) <= ' ') {
+            end--;
+        }
+        if (end - start == TIME_LENGTH) {
+            int hours = parseDigits(timeStr, start, start + FIELD_DIGITS, FIELD_DIGITS);
+            int minutes = parseDigits(timeStr, start + FIELD_DIGITS, end, FIELD_DIGITS);
+            if (hours >= 0 && hours < HOURS_PER_DAY && minutes >= 0 && minutes < MINUTES_PER_HOUR) {
                 return LocalTime.of(hours, minutes);
             }
-        } catch (NumberFormatException e) {
-            // Fall through to throw exception
         }
         throw new DateTimeParseException(
                 "Invalid time format. Use 24-hour format (HHmm), e.g., 1800 for 6pm, 0900 for 9am");
     }
 
+    /**
+     * Reads the number made up of the ASCII digits in a range of the text.
+     *
+     * @param text The text to read.
+     * @param start The start of the range, inclusive.
+     * @param end The end of the range, exclusive.
+     * @param maxDigits The most digits the number may have.
+     * @return The number, or -1 if the range is empty, too long or holds anything but digits.
+     */
+    private static int parseDigits(String text, int start, int end, int maxDigits) {
+        if (end <= start || end - start > maxDigits) {
+            return -1;
+        }
+        int value = 0;
+        for (int i = start; i < end; i++) {
+            char c = text.charAt(i);
+            if (c < '0' || c > '9') {
+                return -1;
+            }
+            value = value * 10 + (c - '0');
+        }
+        return value;
+    }
+
     /**
      * Formats a time to 12-hour format (e.g., 6pm, 3:30pm, 12am).
      *
@@ -79,10 +120,16 @@ public class DateTimeParser {
         if (time == null) {
             return "";
         }
+        int minuteOfDay = time.getHour() * MINUTES_PER_HOUR + time.getMinute();
+        String formatted = DISPLAY_TIMES[minuteOfDay];
+        if (formatted == null) {
+            formatted = buildDisplayTime(time.getHour(), time.getMinute());
+            DISPLAY_TIMES[minuteOfDay] = formatted;
+        }
+        return formatted;
+    }
 
-        int hour = time.getHour();
-        int minute = time.getMinute();
-
+    private static String buildDisplayTime(int hour, int minute) {
         if (minute == 0) {
             if (hour < HOUR_12) {
                 return hour == HOUR_0 ? "12am" : hour + "am";
@@ -91,10 +138,10 @@ public class DateTimeParser {
             }
         } else {
             if (hour < HOUR_12) {
-                return hour + ":" + String.format("%02d", minute) + "am";
+                return hour + ":" + twoDigits(minute) + "am";
             } else {
                 int displayHour = hour == HOUR_12 ? HOUR_12 : hour - HOUR_12;
-                return displayHour + ":" + String.format("%02d", minute) + "pm";
+                return displayHour + ":" + twoDigits(minute) + "pm";
             }
         }
     }
@@ -109,7 +156,13 @@ public class DateTimeParser {
         if (time == null) {
             return "";
         }
-        return String.format("%02d%02d", time.getHour(), time.getMinute());
+        int minuteOfDay = time.getHour() * MINUTES_PER_HOUR + time.getMinute();
+        String serialized = SERIALIZED_TIMES[minuteOfDay];
+        if (serialized == null) {
+            serialized = twoDigits(time.getHour()) + twoDigits(time.getMinute());
+            SERIALIZED_TIMES[minuteOfDay] = serialized;
+        }
+        return serialized;
     }
 
     /**
@@ -119,7 +172,36 @@ public class DateTimeParser {
      * @return The serialized date string.
      */
     public static String serializeDate(LocalDate date) {
-        return date.format(DATE_FORMAT);
+        int year = date.getYear();
+        if (year < 1 || year > MAX_PLAIN_YEAR) {
+            return date.format(DATE_FORMAT);
+        }
+        char[] digits = {
+            digit(year / 1000), digit(year / 100 % 10), digit(year / 10 % 10), digit(year % 10), '-',
+            digit(date.getMonthValue() / 10), digit(date.getMonthValue() % 10), '-',
+            digit(date.getDayOfMonth() / 10), digit(date.getDayOfMonth() % 10)
+        };
+        return new String(digits);
+    }
+
+    /**
+     * Writes LocalDate in yyyy-MM-dd format for storage, a character at a time, without building a string.
+     *
+     * @param date The date to serialize.
+     * @param out Where to write the date.
+     * @throws IOException If the output cannot be written to.
+     */
+    public static void writeDate(LocalDate date, Appendable out) throws IOException {
+        int year = date.getYear();
+        if (year < 1 || year > MAX_PLAIN_YEAR) {
+            out.append(date.format(DATE_FORMAT));
+            return;
+        }
+        int month = date.getMonthValue();
+        int day = date.getDayOfMonth();
+        out.append(digit(year / 1000)).append(digit(year / 100 % 10)).append(digit(year / 10 % 10))
+                .append(digit(year % 10)).append('-').append(digit(month / 10)).append(digit(month % 10))
+                .append('-').append(digit(day / 10)).append(digit(day % 10));
     }
 
     /**
@@ -129,6 +211,14 @@ public class DateTimeParser {
      * @return The formatted date string.
      */
     public static String formatDate(LocalDate date) {
-        return date.format(DateTimeFormatter.ofPattern("MMM dd yyyy"));
+        return DISPLAY_DATE_FORMAT.format(date);
+    }
+
+    private static String twoDigits(int value) {
+        return value < 10 ? "0" + value : String.valueOf(value);
+    }
+
+    private static char digit(int value) {
+        return (char) ('0' + value);
     }
 }
@@ -1,27 +1,59 @@
 package ladis.util;
 
+import java.time.LocalDate;
+import java.util.EnumSet;
+import java.util.Set;
+
 import ladis.command.AddDeadlineCommand;
 import ladis.command.AddEventCommand;
 import ladis.command.AddTodoCommand;
 import ladis.command.ArchiveCommand;
 import ladis.command.Command;
+import ladis.command.ConflictsCommand;
 import ladis.command.DeleteCommand;
+import ladis.command.DueCommand;
 import ladis.command.ExitCommand;
 import ladis.command.FindCommand;
+import ladis.command.ListArchiveCommand;
 import ladis.command.ListCommand;
 import ladis.command.MarkCommand;
 import ladis.command.UnmarkCommand;
 import ladis.exception.LadisException;
+import ladis.task.TaskReference;
+import ladis.task.TaskType;
 
 /**
  * Parser class to interpret and parse user input into commands.
  * Handles command identification and extraction of command parameters.
+ *
+ * Input is read by index rather than with {@code split} or regular expressions: the command word is matched
+ * in place against the known commands, flags such as {@code /by}, {@code /from} and {@code /to} are found with
+ * {@code indexOf}, and task numbers are parsed straight from the input. The only strings created are the
+ * arguments the commands keep, so long scripts of commands parse without churning through garbage.
  */
 public class Parser {
     private static final int TODO_COMMAND_LENGTH = 4;
     private static final int DEADLINE_COMMAND_LENGTH = 8;
     private static final int EVENT_COMMAND_LENGTH = 5;
     private static final int COMMAND_OFFSET = 1; // Space after command
+    private static final String ARCHIVE_LIST_PREFIX = "list archive";
+    private static final String LIST_COMMAND = "list";
+    private static final String PENDING_FLAG = "/pending";
+    private static final String DONE_FLAG = "/done";
+    private static final String TYPE_FLAG = "/type";
+    private static final String ARCHIVE_FIND_FLAG = "/archive";
+    private static final String DUE_COMMAND = "due";
+    private static final String BETWEEN_COMMAND = "between";
+    private static final String RANGE_END_FLAG = " /and ";
+    private static final String ID_PREFIX = "#";
+    private static final String[] COMMANDS = {"bye", "list", "mark", "unmark", "todo", "deadline", "event",
+        "delete", "archive", "find", "due", "between", "conflicts"};
+    private static final String BY_FLAG = " /by ";
+    private static final String FROM_FLAG = " /from ";
+    private static final String TO_FLAG = " /to ";
+    private static final String[] DEADLINE_FLAGS = {BY_FLAG};
+    private static final String[] EVENT_FLAGS = {FROM_FLAG, TO_FLAG};
+    private static final String[] RANGE_FLAGS = {RANGE_END_FLAG};
 
     /**
      * Parses the user input string into a Command object.
@@ -35,29 +67,166 @@ public class Parser {
 
         Command result = switch (command) {
         case "bye" -> new ExitCommand();
-        case "list" -> new ListCommand();
-        case "mark" -> new MarkCommand(getTaskNumber(input, "mark"));
-        case "unmark" -> new UnmarkCommand(getTaskNumber(input, "unmark"));
+        case "list" -> parseList(input);
+        case "mark" -> new MarkCommand(getTaskReference(input, "mark"));
+        case "unmark" -> new UnmarkCommand(getTaskReference(input, "unmark"));
         case "todo" -> new AddTodoCommand(getTodoDescription(input));
         case "deadline" -> new AddDeadlineCommand(getDeadlineInfo(input));
         case "event" -> new AddEventCommand(getEventInfo(input));
-        case "delete" -> new DeleteCommand(getTaskNumber(input, "delete"));
-        case "archive" -> new ArchiveCommand(getTaskNumber(input, "archive"));
-        case "find" -> new FindCommand(getFindKeyword(input));
+        case "delete" -> new DeleteCommand(getTaskReference(input, "delete"));
+        case "archive" -> new ArchiveCommand(getTaskReference(input, "archive"));
+        case "find" -> parseFind(input);
+        case "due" -> parseDue(input);
+        case "between" -> parseBetween(input);
+        case "conflicts" -> new ConflictsCommand();
         default -> throw new LadisException("I'm sorry, but I don't know what that means :-(");
         };
         assert result != null : "Parsed command should never be null";
         return result;
     }
 
+    /**
+     * Parses a list command: {@code list} shows the task list, {@code list archive [PAGE]} a page of the archive.
+     * The task list can be filtered with {@code /pending} or {@code /done} and with one or more
+     * {@code /type T|D|E}, e.g. {@code list /pending /type D}.
+     *
+     * @param input The user input string.
+     * @return The matching list command.
+     * @throws LadisException If the archive page number or a filter is invalid.
+     */
+    private Command parseList(String input) throws LadisException {
+        if (!input.startsWith(ARCHIVE_LIST_PREFIX)) {
+            return parseListFilters(input.substring(LIST_COMMAND.length()).trim());
+        }
+        String page = input.substring(ARCHIVE_LIST_PREFIX.length()).trim();
+        if (page.isEmpty()) {
+            return new ListArchiveCommand(0);
+        }
+        try {
+            return new ListArchiveCommand(Integer.parseInt(page) - 1);
+        } catch (NumberFormatException e) {
+            throw new LadisException("Please give me a valid page number.");
+        }
+    }
+
+    /**
+     * Parses the filters of a list command into a list command showing the tasks that pass them all.
+     *
+     * @param filters The text after {@code list}.
+     * @return The list command.
+     * @throws LadisException If a filter is unknown, a type is missing or invalid, or both statuses are given.
+     */
+    private ListCommand parseListFilters(String filters) throws LadisException {
+        if (filters.isEmpty()) {
+            return new ListCommand();
+        }
+        Set<TaskType> types = EnumSet.noneOf(TaskType.class);
+        Boolean isDone = null;
+        int start = 0;
+        while (start < filters.length()) {
+            int end = endOfWord(filters, start);
+            if (isWord(filters, start, end, PENDING_FLAG) || isWord(filters, start, end, DONE_FLAG)) {
+                boolean isDoneFilter = isWord(filters, start, end, DONE_FLAG);
+                if (isDone != null && isDone != isDoneFilter) {
+                    throw new LadisException("A task can't be both pending and done. Pick one of /pending or /done.");
+                }
+                isDone = isDoneFilter;
+            } else if (isWord(filters, start, end, TYPE_FLAG)) {
+                start = skipBlanks(filters, end);
+                if (start == filters.length()) {
+                    throw new LadisException("Which type? Try /type T, /type D or /type E.");
+                }
+                end = endOfWord(filters, start);
+                types.add(getTaskType(filters, start, end));
+            } else {
+                throw new LadisException("I can only filter the list by /pending, /done and /type T|D|E.");
+            }
+            start = skipBlanks(filters, end);
+        }
+        return new ListCommand(types, isDone);
+    }
+
+    private static TaskType getTaskType(String input, int start, int end) throws LadisException {
+        for (TaskType type : TaskType.values()) {
+            if (end - start == 1 && type.getIconChar().regionMatches(true, 0, input, start, 1)) {
+                return type;
+            }
+        }
+        throw new LadisException("There's no task type '" + input.substring(start, end)
+                + "'. Try /type T, /type D or /type E.");
+    }
+
+    /**
+     * Parses a find command: {@code find KEYWORD} searches the task list, {@code find /archive KEYWORD}
+     * the archive.
+     *
+     * @param input The user input string.
+     * @return The matching find command.
+     * @throws LadisException If no keyword is provided.
+     */
+    private Command parseFind(String input) throws LadisException {
+        String keyword = getFindKeyword(input);
+        if (!keyword.startsWith(ARCHIVE_FIND_FLAG + " ")) {
+            return new FindCommand(keyword);
+        }
+        return new FindCommand(keyword.substring(ARCHIVE_FIND_FLAG.length()).trim(), true);
+    }
+
+    /**
+     * Parses a due command: {@code due DATE} lists the deadlines and events falling due that day.
+     *
+     * @param input The user input string.
+     * @return The due command.
+     * @throws LadisException If the date is missing or invalid.
+     */
+    private Command parseDue(String input) throws LadisException {
+        String date = input.substring(DUE_COMMAND.length()).trim();
+        if (date.isEmpty()) {
+            throw new LadisException("Which day? Try due yyyy-MM-dd.");
+        }
+        LocalDate day = DateTimeParser.parseDate(date);
+        return new DueCommand(day, day);
+    }
+
+    /**
+     * Parses a between command: {@code between DATE /and DATE} lists the deadlines and events falling due
+     * in that inclusive range of days.
+     *
+     * @param input The user input string.
+     * @return The due command for the range.
+     * @throws LadisException If either date is missing or invalid, or the range ends before it starts.
+     */
+    private Command parseBetween(String input) throws LadisException {
+        String[] parts = splitAtFlags(input, BETWEEN_COMMAND.length(), RANGE_FLAGS);
+        if (parts == null || parts[0].isBlank() || parts[1].isBlank()) {
+            throw new LadisException("Between when? Try between yyyy-MM-dd /and yyyy-MM-dd.");
+        }
+        LocalDate from = DateTimeParser.parseDate(parts[0].trim());
+        LocalDate to = DateTimeParser.parseDate(parts[1].trim());
+        if (to.isBefore(from)) {
+            throw new LadisException("The range can't end before it starts.");
+        }
+        return new DueCommand(from, to);
+    }
+
     /**
      * Extracts the command word from the user input.
+     * Known commands are matched in place and returned as shared constants, so no string is created for them.
      *
      * @param input The user input string.
      * @return The first word of the input (the command).
      */
     public String getCommand(String input) {
-        return input.split(" ")[0];
+        int end = input.indexOf(' ');
+        if (end < 0) {
+            end = input.length();
+        }
+        for (String command : COMMANDS) {
+            if (command.length() == end && input.startsWith(command)) {
+                return command;
+            }
+        }
+        return input.substring(0, end);
     }
 
     /**
@@ -69,14 +238,44 @@ public class Parser {
      * @throws LadisException If the task number is invalid or missing.
      */
     public int getTaskNumber(String input, String command) throws LadisException {
+        int startIndex = command.length() + COMMAND_OFFSET;
+        if (startIndex > input.length()) {
+            throw new LadisException("Very funny. Now give me a valid task number.");
+        }
+        int start = skipBlanks(input, startIndex);
         try {
-            int startIndex = command.length() + COMMAND_OFFSET;
-            return Integer.parseInt(input.substring(startIndex).trim()) - 1;
-        } catch (NumberFormatException | StringIndexOutOfBoundsException e) {
+            return Integer.parseInt(input, start, endOfText(input, start), 10) - 1;
+        } catch (NumberFormatException e) {
             throw new LadisException("Very funny. Now give me a valid task number.");
         }
     }
 
+    /**
+     * Extracts a reference to a task from the user input: a task number, or a task ID prefixed with '#'.
+     *
+     * @param input The user input string.
+     * @param command The command name (used to extract the reference position).
+     * @return The referenced task.
+     * @throws LadisException If the task number or ID is invalid or missing.
+     */
+    public TaskReference getTaskReference(String input, String command) throws LadisException {
+        int startIndex = command.length() + COMMAND_OFFSET;
+        int start = startIndex < input.length() ? skipBlanks(input, startIndex) : input.length();
+        if (!input.startsWith(ID_PREFIX, start)) {
+            return TaskReference.ofIndex(getTaskNumber(input, command));
+        }
+        try {
+            int idStart = start + ID_PREFIX.length();
+            int id = Integer.parseInt(input, idStart, endOfText(input, idStart), 10);
+            if (id <= 0) {
+                throw new LadisException("Task IDs start from #1.");
+            }
+            return TaskReference.ofId(id);
+        } catch (NumberFormatException e) {
+            throw new LadisException("Very funny. Now give me a valid task ID.");
+        }
+    }
+
     /**
      * Extracts the description from a todo command.
      *
@@ -99,11 +298,11 @@ public class Parser {
      * @throws LadisException If the deadline format is invalid.
      */
     public String[] getDeadlineInfo(String input) throws LadisException {
-        if (!input.contains(" /by ")) {
+        if (!input.contains(BY_FLAG)) {
             throw new LadisException("So, when is the deadline?");
         }
-        String[] parts = input.substring(DEADLINE_COMMAND_LENGTH + COMMAND_OFFSET).split(" /by ");
-        if (parts.length != 2) {
+        String[] parts = splitAtFlags(input, DEADLINE_COMMAND_LENGTH + COMMAND_OFFSET, DEADLINE_FLAGS);
+        if (parts == null) {
             throw new LadisException("Invalid deadline format.");
         }
         assert parts.length == 2 : "Deadline must have exactly 2 parts: description and deadline";
@@ -118,11 +317,11 @@ public class Parser {
      * @throws LadisException If the event format is invalid.
      */
     public String[] getEventInfo(String input) throws LadisException {
-        if (!input.contains(" /from ") || !input.contains(" /to ")) {
+        if (!input.contains(FROM_FLAG) || !input.contains(TO_FLAG)) {
             throw new LadisException("Interesting event. When does it start and end?");
         }
-        String[] parts = input.substring(EVENT_COMMAND_LENGTH + COMMAND_OFFSET).split(" /from | /to ");
-        if (parts.length != 3) {
+        String[] parts = splitAtFlags(input, EVENT_COMMAND_LENGTH + COMMAND_OFFSET, EVENT_FLAGS);
+        if (parts == null) {
             throw new LadisException("Invalid event format.");
         }
         assert parts.length == 3 : "Event must have exactly 3 parts: description, start date, and end date";
@@ -142,4 +341,72 @@ public class Parser {
         }
         return input.substring(5).trim();
     }
+
+    /**
+     * Splits the input, from a position on, at each of the flags in turn, without regular expressions.
+     * Each flag must appear exactly once and in the given order, and the part after the last flag must not be
+     * empty; the parts in between may be.
+     *
+     * @param input The user input string.
+     * @param start The position the first part starts at.
+     * @param flags The flags separating the parts, including their surrounding spaces.
+     * @return The parts, one more than there are flags, or null if the flags are missing, repeated or out
+     *         of order.
+     */
+    private static String[] splitAtFlags(String input, int start, String[] flags) {
+        String[] parts = new String[flags.length + 1];
+        int partStart = start;
+        for (int i = 0; i < flags.length; i++) {
+            int flagStart = input.indexOf(flags[i], partStart);
+            if (flagStart < 0 || hasFlag(input, partStart, flagStart, flags)) {
+                return null;
+            }
+            parts[i] = input.substring(partStart, flagStart);
+            partStart = flagStart + flags[i].length();
+        }
+        if (partStart >= input.length() || hasFlag(input, partStart, input.length(), flags)) {
+            return null;
+        }
+        parts[flags.length] = input.substring(partStart);
+        return parts;
+    }
+
+    private static boolean hasFlag(String input, int from, int to, String[] flags) {
+        for (String flag : flags) {
+            int position = input.indexOf(flag, from);
+            if (position >= 0 && position < to) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static boolean isWord(String input, int start, int end, String word) {
+        return end - start == word.length() && input.startsWith(word, start);
+    }
+
+    private static int skipBlanks(String input, int position) {
+        while (position < input.length() && input.charAt(position) <= ' ') {
+            position++;
+        }
+        return position;
+    }
+
+    private static int endOfWord(String input, int position) {
+        while (position < input.length() && input.charAt(position) > ' ') {
+            position++;
+        }
+        return position;
+    }
+
+    /**
+     * Returns the end of the text starting at a position, leaving out trailing blanks as {@code trim} does.
+     */
+    private static int endOfText(String input, int start) {
+        int end = input.length();
+        while (end > start && input.charAt(end - 1) <= ' ') {
+            end--;
+        }
+        return end;
+    }
 }
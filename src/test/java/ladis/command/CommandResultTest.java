@@ -0,0 +1,26 @@
+package ladis.command;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import org.junit.jupiter.api.Test;
+
+public class CommandResultTest {
+    @Test
+    void withWarning_emptyWarning_returnsSameResult() {
+        CommandResult result = new CommandResult("Done");
+        assertSame(result, result.withWarning(""));
+        assertFalse(result.hasWarning());
+        assertEquals("Done", result.getText());
+    }
+
+    @Test
+    void withWarning_severalWarnings_keepsThemInOrderAfterMessage() {
+        CommandResult result = CommandResult.exit("Bye").withWarning("First").withWarning("Second");
+        assertTrue(result.isExit());
+        assertEquals("First\nSecond", result.getWarning());
+        assertEquals("Bye\n\nHeads up! First\nSecond", result.getText());
+    }
+}
@@ -0,0 +1,47 @@
+package ladis.command;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.time.LocalDate;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import ladis.exception.DateTimeParseException;
+import ladis.task.Deadline;
+import ladis.task.Event;
+import ladis.task.TaskList;
+import ladis.task.Todo;
+
+public class DueCommandTest {
+    private TaskList taskList;
+
+    @BeforeEach
+    void setUp() throws DateTimeParseException {
+        taskList = new TaskList();
+        taskList.addTask(new Deadline("Submit report", "2024-12-25 1800"));
+        taskList.addTask(new Todo("Buy milk"));
+        taskList.addTask(new Event("Conference", "2024-12-20", "2024-12-22"));
+    }
+
+    @Test
+    void getAgenda_singleDay_listsTasksDueThatDay() {
+        String agenda = new DueCommand(LocalDate.of(2024, 12, 25), LocalDate.of(2024, 12, 25)).getAgenda(taskList);
+        assertEquals("Here are the tasks due on Dec 25 2024:\n1. [D][ ] Submit report (by: Dec 25 2024, 6pm)\n",
+                agenda);
+    }
+
+    @Test
+    void getAgenda_range_listsEarliestFirst() {
+        String agenda = new DueCommand(LocalDate.of(2024, 12, 1), LocalDate.of(2024, 12, 31)).getAgenda(taskList);
+        assertEquals(3, agenda.split("\n").length);
+        assertTrue(agenda.split("\n")[1].contains("Conference"));
+    }
+
+    @Test
+    void getAgenda_nothingDue_saysSo() {
+        String agenda = new DueCommand(LocalDate.of(2025, 1, 1), LocalDate.of(2025, 1, 31)).getAgenda(taskList);
+        assertEquals("Nothing is due between Jan 01 2025 and Jan 31 2025.", agenda);
+    }
+}
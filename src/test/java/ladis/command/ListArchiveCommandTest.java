@@ -0,0 +1,65 @@
+package ladis.command;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.IOException;
+import java.nio.file.Path;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import ladis.exception.LadisException;
+import ladis.storage.Storage;
+import ladis.task.Todo;
+
+public class ListArchiveCommandTest {
+    @TempDir
+    Path tempDir;
+
+    private Storage storage;
+
+    @BeforeEach
+    void setUp() {
+        storage = new Storage(tempDir.resolve("ladis.txt").toString());
+    }
+
+    @Test
+    void getPage_emptyArchive_saysSo() throws LadisException {
+        assertEquals("Your archive is empty.", new ListArchiveCommand(0).getPage(storage));
+    }
+
+    @Test
+    void getPage_secondPage_numbersByArchivePosition() throws IOException, LadisException {
+        for (int i = 1; i <= ListArchiveCommand.PAGE_SIZE + 2; i++) {
+            storage.saveArchived(new Todo("Archived " + i));
+        }
+
+        String page = new ListArchiveCommand(1).getPage(storage);
+
+        assertTrue(page.startsWith("Here are your archived tasks (page 2 of 2):\n"));
+        assertTrue(page.contains("21. [T][ ] Archived 21\n"));
+        assertTrue(page.contains("22. [T][ ] Archived 22\n"));
+        assertEquals(3, page.split("\n").length);
+    }
+
+    @Test
+    void getPage_pastLastPage_throwsException() throws IOException {
+        storage.saveArchived(new Todo("Only one"));
+        assertThrows(LadisException.class, () -> new ListArchiveCommand(1).getPage(storage));
+    }
+
+    @Test
+    void searchArchive_matchesArchivedTasksOnly() throws IOException, LadisException {
+        storage.saveArchived(new Todo("Old report"));
+        storage.saveArchived(new Todo("Groceries"));
+
+        String result = new FindCommand("report", true).searchArchive(storage);
+
+        assertEquals("Here are the matching tasks in your archive:\n1. [T][ ] Old report\n", result);
+        assertEquals("No matching tasks found in the archive.",
+                new FindCommand("nothing", true).searchArchive(storage));
+    }
+}
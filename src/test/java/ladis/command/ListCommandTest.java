@@ -0,0 +1,53 @@
+package ladis.command;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+
+import java.util.EnumSet;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import ladis.exception.DateTimeParseException;
+import ladis.exception.LadisException;
+import ladis.task.Deadline;
+import ladis.task.TaskList;
+import ladis.task.TaskType;
+import ladis.task.Todo;
+
+public class ListCommandTest {
+    private TaskList taskList;
+
+    @BeforeEach
+    void setUp() throws DateTimeParseException, LadisException {
+        taskList = new TaskList();
+        taskList.addTask(new Deadline("Submit report", "2024-12-25 1800"));
+        taskList.addTask(new Todo("Buy milk"));
+        taskList.addTask(new Deadline("Pay rent", "2024-12-01"));
+        taskList.markTask(2);
+    }
+
+    @Test
+    void execute_noFilters_listsEveryTaskWithIds() {
+        CommandResult result = new ListCommand().execute(taskList, null);
+        assertEquals("Here are the tasks in your list:\n"
+                + "1. [D][ ] Submit report (by: Dec 25 2024, 6pm) (#1)\n"
+                + "2. [T][ ] Buy milk (#2)\n"
+                + "3. [D][X] Pay rent (by: Dec 01 2024) (#3)\n", result.getMessage());
+        assertFalse(result.isExit());
+        assertEquals("You have no tasks.", new ListCommand().execute(new TaskList(), null).getMessage());
+    }
+
+    @Test
+    void getFilteredList_pendingDeadlines_listsMatchesWithIds() {
+        String listing = new ListCommand(EnumSet.of(TaskType.DEADLINE), false).getFilteredList(taskList);
+        assertEquals("Here are the matching tasks in your list:\n"
+                + "1. [D][ ] Submit report (by: Dec 25 2024, 6pm) (#1)\n", listing);
+    }
+
+    @Test
+    void getFilteredList_doneTodos_saysNothingMatches() {
+        String listing = new ListCommand(EnumSet.of(TaskType.TODO), true).getFilteredList(taskList);
+        assertEquals("No tasks match those filters.", listing);
+    }
+}
@@ -0,0 +1,174 @@
+package ladis.storage;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Clock;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import ladis.exception.DateTimeParseException;
+import ladis.task.Deadline;
+import ladis.task.Task;
+import ladis.task.TaskType;
+import ladis.task.Todo;
+
+public class ArchiveStoreTest {
+    private static final Clock MARCH = Clock.fixed(Instant.parse("2024-03-15T10:00:00Z"), ZoneOffset.UTC);
+    private static final Clock APRIL = Clock.fixed(Instant.parse("2024-04-02T10:00:00Z"), ZoneOffset.UTC);
+
+    @TempDir
+    Path tempDir;
+
+    private ArchiveStore store(Clock clock, long maxSegmentBytes) {
+        return new ArchiveStore(tempDir.resolve("ladis-archive").toFile(),
+                tempDir.resolve("ladis-archive.txt").toFile(), maxSegmentBytes, clock);
+    }
+
+    @Test
+    void append_newMonth_sealsAndCompressesPreviousSegment() throws IOException {
+        store(MARCH, 1024).append(new Todo("March task"));
+        ArchiveStore april = store(APRIL, 1024);
+        april.append(new Todo("April task"));
+
+        List<ArchiveSegment> segments = april.getSegments();
+        assertEquals(2, segments.size());
+        assertEquals(ArchiveSegment.State.COMPRESSED, segments.get(0).getState());
+        assertEquals(ArchiveSegment.State.ACTIVE, segments.get(1).getState());
+        assertTrue(tempDir.resolve("ladis-archive").resolve("segment-000001.txt.gz").toFile().exists());
+        assertFalse(tempDir.resolve("ladis-archive").resolve("segment-000001.txt").toFile().exists());
+
+        ArrayList<Task> all = store(APRIL, 1024).query(ArchiveQuery.all());
+        assertEquals(2, all.size());
+        assertEquals("March task", all.get(0).getDescription());
+        assertEquals("April task", all.get(1).getDescription());
+    }
+
+    @Test
+    void append_segmentFull_startsNewSegment() throws IOException {
+        ArchiveStore store = store(MARCH, 32);
+        for (int i = 0; i < 5; i++) {
+            store.append(new Todo("Task number " + i));
+        }
+
+        List<ArchiveSegment> segments = store.getSegments();
+        assertEquals(3, segments.size());
+        assertEquals(2, segments.get(1).getFirstOrdinal());
+        assertEquals(5, store.query(ArchiveQuery.all()).size());
+    }
+
+    @Test
+    void query_dateRange_skipsSegmentsOutsideRange() throws IOException, DateTimeParseException {
+        ArchiveStore store = store(MARCH, 1);
+        store.append(new Deadline("Old", "2023-01-10"));
+        store.append(new Todo("Undated"));
+        store.append(new Deadline("New", "2024-06-01"));
+
+        ArchiveQuery query = ArchiveQuery.all().withDateRange(LocalDate.of(2024, 1, 1), null);
+        List<ArchiveSegment> candidates = store.candidateSegments(query);
+        assertEquals(1, candidates.size());
+        assertEquals(3, candidates.get(0).getId());
+
+        ArrayList<Task> matches = store.query(query);
+        assertEquals(1, matches.size());
+        assertEquals("New", matches.get(0).getDescription());
+    }
+
+    @Test
+    void query_typeAndDone_skipsSegmentsByIndex() throws IOException, DateTimeParseException {
+        ArchiveStore store = store(MARCH, 1);
+        Todo done = new Todo("Done todo");
+        done.mark();
+        store.append(done);
+        store.append(new Deadline("Pending deadline", "2024-03-20"));
+
+        assertEquals(1, store.candidateSegments(ArchiveQuery.all().withType(TaskType.DEADLINE)).size());
+        assertEquals(1, store.candidateSegments(ArchiveQuery.all().withDone(true)).size());
+        ArrayList<Task> pending = store.query(ArchiveQuery.all().withDone(false));
+        assertEquals(1, pending.size());
+        assertEquals("Pending deadline", pending.get(0).getDescription());
+    }
+
+    @Test
+    void open_legacyArchiveFile_isAdoptedAsFirstSegment() throws IOException {
+        File legacy = tempDir.resolve("ladis-archive.txt").toFile();
+        Files.writeString(legacy.toPath(), "T | 1 | Legacy one\nT | 0 | Legacy two\n");
+
+        ArchiveStore store = store(MARCH, 1024);
+        store.append(new Todo("Fresh"));
+
+        assertFalse(legacy.exists());
+        ArrayList<Task> all = store(MARCH, 1024).query(ArchiveQuery.all());
+        assertEquals(3, all.size());
+        assertEquals("Legacy one", all.get(0).getDescription());
+        assertEquals("Fresh", all.get(2).getDescription());
+    }
+
+    @Test
+    void open_activeSegmentAheadOfIndex_rebuildsSummary() throws IOException {
+        store(MARCH, 1024).append(new Todo("Indexed"));
+        Path segment = tempDir.resolve("ladis-archive").resolve("segment-000001.txt");
+        Files.writeString(segment, Files.readString(segment) + "T | 1 | Not yet indexed\n");
+
+        ArchiveStore reopened = store(MARCH, 1024);
+        assertEquals(2, reopened.getSegments().get(0).getCount());
+        assertEquals(1, reopened.query(ArchiveQuery.all().withDone(true)).size());
+    }
+
+    @Test
+    void open_activeSegmentWithRecordCutShortByCrash_dropsItAndKeepsAppending() throws IOException {
+        store(MARCH, 1024).append(new Todo("Indexed"));
+        Path segment = tempDir.resolve("ladis-archive").resolve("segment-000001.txt");
+        Files.writeString(segment, Files.readString(segment) + "T | 1 | Cut sho");
+
+        ArchiveStore reopened = store(MARCH, 1024);
+        assertEquals(1, reopened.getSegments().get(0).getCount());
+        reopened.append(new Todo("Next"));
+
+        ArrayList<Task> all = store(MARCH, 1024).query(ArchiveQuery.all());
+        assertEquals(2, all.size());
+        assertEquals("Indexed", all.get(0).getDescription());
+        assertEquals("Next", all.get(1).getDescription());
+    }
+
+    @Test
+    void stream_fromPosition_neverOpensEarlierSegments() throws IOException {
+        ArchiveStore store = store(MARCH, 1);
+        for (int i = 0; i < 4; i++) {
+            store.append(new Todo("Task " + i));
+        }
+        Files.writeString(tempDir.resolve("ladis-archive").resolve("segment-000001.txt.gz"), "not gzip");
+
+        try (Stream<Task> tasks = store.stream(ArchiveQuery.all(), 2)) {
+            List<String> descriptions = tasks.map(Task::getDescription).collect(Collectors.toList());
+            assertEquals(List.of("Task 2", "Task 3"), descriptions);
+        }
+        assertEquals(4, store.count());
+    }
+
+    @Test
+    void stream_limit_stopsReadingLaterSegments() throws IOException {
+        ArchiveStore store = store(MARCH, 1);
+        for (int i = 0; i < 3; i++) {
+            store.append(new Todo("Task " + i));
+        }
+        Files.writeString(tempDir.resolve("ladis-archive").resolve("segment-000002.txt.gz"), "not gzip");
+
+        try (Stream<Task> tasks = store.stream(ArchiveQuery.all(), 0)) {
+            assertEquals("Task 0", tasks.limit(1).findFirst().get().getDescription());
+        }
+    }
+}
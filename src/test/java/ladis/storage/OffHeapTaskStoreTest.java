@@ -0,0 +1,105 @@
+package ladis.storage;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import ladis.exception.DateTimeParseException;
+import ladis.task.Deadline;
+import ladis.task.Event;
+import ladis.task.Task;
+import ladis.task.TaskType;
+import ladis.task.Todo;
+
+public class OffHeapTaskStoreTest {
+    @TempDir
+    Path tempDir;
+
+    @Test
+    void add_manyTasks_growsAndRoundTrips() {
+        OffHeapTaskStore store = new OffHeapTaskStore();
+        String padding = "x".repeat(100);
+        for (int i = 0; i < 5000; i++) {
+            Task task = new Todo("Task " + i + " " + padding);
+            task.setId(i + 1);
+            if (i % 3 == 0) {
+                task.mark();
+            }
+            store.add(task);
+        }
+
+        List<Task> tasks = store.stream(ArchiveQuery.all(), 4998).collect(Collectors.toList());
+        assertEquals(2, tasks.size());
+        assertEquals("Task 4999 " + padding, tasks.get(1).getDescription());
+        assertEquals(5000, tasks.get(1).getId());
+        assertTrue(tasks.get(0).isDone());
+        assertEquals(0, store.stream(ArchiveQuery.all(), 5000).count());
+    }
+
+    @Test
+    void stream_query_filtersBeforeDecoding() throws DateTimeParseException {
+        OffHeapTaskStore store = new OffHeapTaskStore();
+        store.add(new Todo("Todo"));
+        store.add(new Deadline("March deadline", "2024-03-10"));
+        Event event = new Event("April event", "2024-03-30", "2024-04-02 1700");
+        event.mark();
+        store.add(event);
+
+        assertEquals(List.of("March deadline", "April event"), descriptionsOf(store,
+                ArchiveQuery.all().withDateRange(LocalDate.of(2024, 3, 1), LocalDate.of(2024, 3, 31))));
+        assertEquals(List.of("April event"), descriptionsOf(store,
+                ArchiveQuery.all().withDateRange(LocalDate.of(2024, 4, 2), null)));
+        assertEquals(List.of("Todo", "March deadline"), descriptionsOf(store, ArchiveQuery.all().withDone(false)));
+        assertEquals(List.of("Todo"), descriptionsOf(store, ArchiveQuery.all().withType(TaskType.TODO)));
+        assertEquals(event.toFileString(),
+                store.stream(ArchiveQuery.all(), 2).findFirst().orElseThrow().toFileString());
+    }
+
+    @Test
+    void stream_tasksAddedAfterOpening_notSeen() {
+        OffHeapTaskStore store = new OffHeapTaskStore();
+        store.add(new Todo("First"));
+        Stream<Task> opened = store.stream(ArchiveQuery.all(), 0);
+        for (int i = 0; i < 2000; i++) {
+            store.add(new Todo("Later " + i));
+        }
+
+        assertEquals(List.of("First"), opened.map(Task::getDescription).collect(Collectors.toList()));
+    }
+
+    @Test
+    void streamArchived_afterFirstRead_includesLaterArchivedTasks() throws IOException, DateTimeParseException {
+        Storage storage = new Storage(tempDir.resolve("ladis.txt").toString());
+        storage.saveArchived(new Todo("First"));
+        storage.saveArchived(new Deadline("Report", "2024-03-10"));
+        assertEquals(List.of("First", "Report"), archivedDescriptions(storage.streamArchived(0)));
+
+        storage.saveArchived(new Todo("Second"));
+
+        assertEquals(List.of("Report", "Second"), archivedDescriptions(storage.streamArchived(1)));
+        assertEquals(List.of("First", "Second"),
+                archivedDescriptions(storage.streamArchived(ArchiveQuery.all().withType(TaskType.TODO))));
+        Storage reopened = new Storage(tempDir.resolve("ladis.txt").toString());
+        assertEquals(archivedDescriptions(storage.streamArchived(0)), archivedDescriptions(reopened.streamArchived(0)));
+        assertEquals(3, reopened.countArchived());
+    }
+
+    private static List<String> descriptionsOf(OffHeapTaskStore store, ArchiveQuery query) {
+        return archivedDescriptions(store.stream(query, 0));
+    }
+
+    private static List<String> archivedDescriptions(Stream<Task> archived) {
+        try (archived) {
+            return archived.map(Task::getDescription).collect(Collectors.toList());
+        }
+    }
+}
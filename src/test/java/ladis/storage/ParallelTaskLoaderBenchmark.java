@@ -0,0 +1,98 @@
+package ladis.storage;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.concurrent.ForkJoinPool;
+
+import ladis.task.Task;
+
+/**
+ * Measures how loading a large text task file scales with the number of threads parsing it, against the
+ * plain line-by-line reader used for small files. Each load is timed after warm-up rounds, and the best of
+ * the measured rounds is reported with its speedup over the line-by-line reader.
+ * Run with {@code gradlew benchmarkParallelLoad}, optionally passing the number of tasks to generate.
+ */
+public class ParallelTaskLoaderBenchmark {
+    private static final int DEFAULT_TASK_COUNT = 1_000_000;
+    private static final int WARMUP_ROUNDS = 2;
+    private static final int MEASURED_ROUNDS = 5;
+
+    /**
+     * Generates a task file and prints load times for each thread count up to the number of processors.
+     *
+     * @param args Optionally, the number of tasks to generate.
+     * @throws IOException If the task file cannot be written or read.
+     */
+    public static void main(String[] args) throws IOException {
+        int taskCount = args.length > 0 ? Integer.parseInt(args[0]) : DEFAULT_TASK_COUNT;
+        Path directory = Files.createTempDirectory("ladis-load-benchmark");
+        File file = directory.resolve("ladis.txt").toFile();
+        try {
+            writeTasks(file, taskCount);
+            System.out.printf("%,d tasks, %,d bytes, %d processors%n", taskCount, file.length(),
+                    Runtime.getRuntime().availableProcessors());
+
+            Storage storage = new Storage(file.getPath());
+            double sequentialMillis = measure(taskCount, () -> storage.importText(file.getPath()));
+            report("line by line", sequentialMillis, sequentialMillis);
+            int maxThreads = Runtime.getRuntime().availableProcessors();
+            for (int threads = 1; threads <= maxThreads; threads *= 2) {
+                ForkJoinPool pool = new ForkJoinPool(threads);
+                ParallelTaskLoader loader = new ParallelTaskLoader(pool, 1024 * 1024);
+                report(threads + " thread(s)", measure(taskCount, () -> loader.load(file)), sequentialMillis);
+                pool.shutdown();
+            }
+        } finally {
+            Files.deleteIfExists(file.toPath());
+            Files.deleteIfExists(directory);
+        }
+    }
+
+    /**
+     * Loads the file repeatedly and returns the best time of the measured rounds, in milliseconds.
+     */
+    private static double measure(int taskCount, Load load) throws IOException {
+        double best = Double.MAX_VALUE;
+        for (int round = 0; round < WARMUP_ROUNDS + MEASURED_ROUNDS; round++) {
+            long start = System.nanoTime();
+            ArrayList<Task> tasks = load.run();
+            double millis = (System.nanoTime() - start) / 1e6;
+            if (tasks.size() != taskCount) {
+                throw new IllegalStateException("Loaded " + tasks.size() + " of " + taskCount + " tasks");
+            }
+            if (round >= WARMUP_ROUNDS) {
+                best = Math.min(best, millis);
+            }
+        }
+        return best;
+    }
+
+    private static void writeTasks(File file, int taskCount) throws IOException {
+        try (Writer writer = Files.newBufferedWriter(file.toPath(), StandardCharsets.UTF_8)) {
+            for (int i = 1; i <= taskCount; i++) {
+                switch (i % 3) {
+                case 0 -> writer.write("T | 0 | Read chapter " + i + " | #" + i + "\n");
+                case 1 -> writer.write("D | 1 | Submit report " + i + " | 2024-12-25 1800 | #" + i + "\n");
+                default -> writer.write("E | 0 | Conference " + i + " | 2024-12-20 0900 | 2024-12-22 | #" + i + "\n");
+                }
+            }
+        }
+    }
+
+    private static void report(String name, double millis, double sequentialMillis) {
+        System.out.printf("%-14s %8.1f ms  %5.2fx%n", name, millis, sequentialMillis / millis);
+    }
+
+    /**
+     * One way of loading the file.
+     */
+    @FunctionalInterface
+    private interface Load {
+        ArrayList<Task> run() throws IOException;
+    }
+}
@@ -0,0 +1,71 @@
+package ladis.storage;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.concurrent.ForkJoinPool;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import ladis.task.Deadline;
+import ladis.task.Task;
+
+public class ParallelTaskLoaderTest {
+    @TempDir
+    Path tempDir;
+
+    @Test
+    void load_manySmallChunks_preservesFileOrder() throws IOException {
+        StringBuilder text = new StringBuilder();
+        for (int i = 0; i < 2000; i++) {
+            if (i % 2 == 0) {
+                text.append("T | 0 | Task ").append(i).append("\n");
+            } else {
+                text.append("D | 1 | Task ").append(i).append(" | 2024-12-25 1800\r\n");
+            }
+        }
+        File file = tempDir.resolve("ladis.txt").toFile();
+        Files.writeString(file.toPath(), text.toString(), StandardCharsets.UTF_8);
+
+        ArrayList<Task> tasks = new ParallelTaskLoader(new ForkJoinPool(4), 256).load(file);
+
+        assertEquals(2000, tasks.size());
+        for (int i = 0; i < 2000; i++) {
+            assertEquals("Task " + i, tasks.get(i).getDescription());
+        }
+        assertTrue(tasks.get(1) instanceof Deadline);
+        assertTrue(tasks.get(1).isDone());
+    }
+
+    @Test
+    void load_skipsHeaderAndMalformedLines() throws IOException {
+        String text = "# journal | 7\nT | 0 | First\nnot a task\n\nT | 1 | Second\n";
+        File file = tempDir.resolve("ladis.txt").toFile();
+        Files.writeString(file.toPath(), text, StandardCharsets.UTF_8);
+
+        ArrayList<Task> tasks = new ParallelTaskLoader(new ForkJoinPool(2), 8).load(file);
+
+        assertEquals(2, tasks.size());
+        assertEquals("First", tasks.get(0).getDescription());
+        assertEquals("Second", tasks.get(1).getDescription());
+    }
+
+    @Test
+    void load_lastLineWithoutLineBreak_ignoresCutRecord() throws IOException {
+        String text = "T | 0 | First\nT | 1 | Second\nD | 0 | Submit rep";
+        File file = tempDir.resolve("ladis.txt").toFile();
+        Files.writeString(file.toPath(), text, StandardCharsets.UTF_8);
+
+        ArrayList<Task> tasks = new ParallelTaskLoader(new ForkJoinPool(2), 8).load(file);
+
+        assertEquals(2, tasks.size());
+        assertEquals("Second", tasks.get(1).getDescription());
+    }
+}
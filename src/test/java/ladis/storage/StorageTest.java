@@ -0,0 +1,487 @@
+package ladis.storage;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import ladis.exception.DateTimeParseException;
+import ladis.exception.LadisException;
+import ladis.task.Deadline;
+import ladis.task.Event;
+import ladis.task.Task;
+import ladis.task.TaskList;
+import ladis.task.Todo;
+
+public class StorageTest {
+    @TempDir
+    Path tempDir;
+
+    private String dataFile() {
+        return tempDir.resolve("ladis.txt").toString();
+    }
+
+    @Test
+    void load_missingFile_returnsEmptyList() throws IOException {
+        Storage storage = new Storage(dataFile(), true);
+        assertEquals(0, storage.load().size());
+    }
+
+    @Test
+    void saveTaskList_notJournaled_savesWholeList() throws IOException {
+        Storage storage = new Storage(dataFile());
+        TaskList tasks = new TaskList();
+        tasks.addTask(new Todo("Read a book"));
+        storage.save(tasks);
+
+        assertEquals(1, new Storage(dataFile()).load().size());
+        assertFalse(new File(tempDir.resolve("ladis-journal.txt").toString()).exists());
+    }
+
+    @Test
+    void loadTaskList_largeJournaledList_loadsColumnarListThatSavesChanges() throws IOException, LadisException {
+        ArrayList<Task> tasks = new ArrayList<>();
+        for (int i = 0; i < Storage.COLUMNAR_TASK_COUNT; i++) {
+            tasks.add(new Todo("Task " + i));
+        }
+        new Storage(dataFile()).save(new TaskList(tasks).getSnapshot());
+
+        Storage storage = new Storage(dataFile(), true);
+        TaskList loaded = storage.loadTaskList();
+        assertTrue(loaded.getTask(0) != loaded.getTask(0), "Columnar lists build tasks as they are read");
+        loaded.markTaskById(5);
+        loaded.removeTaskById(1);
+        storage.save(loaded);
+
+        TaskList reloaded = new Storage(dataFile(), true).loadTaskList();
+        assertEquals(Storage.COLUMNAR_TASK_COUNT - 1, reloaded.size());
+        assertTrue(reloaded.getTaskById(5).isDone());
+        assertEquals(3, reloaded.getIndexOf(5));
+    }
+
+    @Test
+    void saveTaskList_journaled_replaysOnLoad() throws IOException, DateTimeParseException, LadisException {
+        Storage storage = new Storage(dataFile(), true);
+        TaskList tasks = storage.loadTaskList();
+        tasks.addTask(new Todo("Read a book"));
+        storage.save(tasks);
+        tasks.addTask(new Deadline("Submit report", "2024-12-25"));
+        storage.save(tasks);
+        tasks.markTask(1);
+        storage.save(tasks);
+        tasks.removeTask(0);
+        storage.save(tasks);
+
+        ArrayList<Task> loaded = new Storage(dataFile(), true).load();
+        assertEquals(1, loaded.size());
+        assertEquals("Submit report", loaded.get(0).getDescription());
+        assertTrue(loaded.get(0).isDone());
+        assertFalse(new File(dataFile()).exists());
+    }
+
+    @Test
+    void save_journaled_foldsJournalIntoSnapshot() throws IOException, LadisException {
+        Storage storage = new Storage(dataFile(), true);
+        TaskList tasks = storage.loadTaskList();
+        tasks.addTask(new Todo("Read a book"));
+        storage.save(tasks);
+        storage.save(tasks.getSnapshot());
+
+        assertEquals(0, new File(tempDir.resolve("ladis-journal.txt").toString()).length());
+
+        Storage reopened = new Storage(dataFile(), true);
+        TaskList loaded = reopened.loadTaskList();
+        assertEquals(1, loaded.size());
+        loaded.markTask(0);
+        reopened.save(loaded);
+        assertTrue(new Storage(dataFile(), true).load().get(0).isDone());
+    }
+
+    @Test
+    void saveTaskList_journalPastThreshold_compactsInBackground() throws IOException {
+        Storage storage = new Storage(dataFile(), true);
+        TaskList tasks = storage.loadTaskList();
+        int count = 0;
+        while (new File(tempDir.resolve("ladis-journal.txt").toString()).length()
+                < Storage.COMPACTION_THRESHOLD_BYTES) {
+            tasks.addTask(new Todo("Task number " + count++));
+            storage.save(tasks);
+        }
+        tasks.addTask(new Todo("Last task"));
+        storage.save(tasks);
+        storage.close();
+
+        assertTrue(new File(dataFile()).exists());
+        ArrayList<Task> loaded = new Storage(dataFile(), true).load();
+        assertEquals(count + 1, loaded.size());
+        assertEquals("Last task", loaded.get(count).getDescription());
+    }
+
+    @Test
+    void save_binary_roundTripsAllTaskTypes() throws IOException, DateTimeParseException {
+        String binaryFile = tempDir.resolve("ladis.bin").toString();
+        ArrayList<Task> tasks = new ArrayList<>();
+        tasks.add(new Todo("Read a book \u00e9"));
+        tasks.add(new Deadline("Submit report", "2024-12-25 1830"));
+        tasks.add(new Event("Conference", "2024-12-20", "2024-12-22 1700"));
+        tasks.get(1).mark();
+        new Storage(binaryFile).save(tasks);
+
+        ArrayList<Task> loaded = new Storage(binaryFile).load();
+        assertEquals(3, loaded.size());
+        for (int i = 0; i < tasks.size(); i++) {
+            assertEquals(tasks.get(i).toFileString(), loaded.get(i).toFileString());
+        }
+        assertTrue(loaded.get(1).isDone());
+        assertTrue(loaded.get(2) instanceof Event);
+    }
+
+    @Test
+    void save_text_writesUtf8OfFileStrings() throws IOException, DateTimeParseException {
+        ArrayList<Task> tasks = new ArrayList<>();
+        tasks.add(new Todo("Caf\u00e9 \u4f1a\u8bae \ud83d\ude00 lone \ud83d end"));
+        tasks.add(new Deadline("\u00fcber", "2024-12-25 1830"));
+        tasks.add(new Event("Conference", "2024-12-20", "2024-12-22 1700"));
+        new Storage(dataFile()).save(tasks);
+
+        StringBuilder expected = new StringBuilder();
+        for (Task task : tasks) {
+            expected.append(task.toFileString()).append('\n');
+        }
+        assertArrayEquals(expected.toString().getBytes(StandardCharsets.UTF_8),
+                Files.readAllBytes(tempDir.resolve("ladis.txt")));
+    }
+
+    @Test
+    void save_keepsTaskIdsInTextAndBinaryFiles() throws IOException, DateTimeParseException {
+        TaskList list = new TaskList();
+        list.addTask(new Todo("First"));
+        list.addTask(new Deadline("Second", "2024-12-25 1830"));
+        list.addTask(new Event("Third", "2024-12-20", "2024-12-22"));
+        list.removeTask(0);
+
+        for (String file : new String[] {dataFile(), tempDir.resolve("ladis.bin").toString()}) {
+            new Storage(file).save(list.getTasks());
+            TaskList loaded = new TaskList(new Storage(file).load());
+            assertEquals(2, loaded.getTask(0).getId());
+            assertEquals(3, loaded.getTask(1).getId());
+            assertEquals("Third", loaded.getTaskById(3).getDescription());
+        }
+    }
+
+    @Test
+    void parseTask_withAndWithoutId() {
+        Task legacy = Storage.parseTask("D | 0 | Submit report | 2024-12-25");
+        assertEquals(0, legacy.getId());
+        Task withId = Storage.parseTask("D | 1 | Submit report | 2024-12-25 | #42");
+        assertEquals(42, withId.getId());
+        assertTrue(withId.isDone());
+        assertEquals("D | 1 | Submit report | 2024-12-25 | #42", withId.toFileString());
+        assertEquals(7, Storage.parseTask("T | 0 | #hashtag | #7").getId());
+        assertEquals(0, Storage.parseTask("T | 0 | #hashtag").getId());
+    }
+
+    @Test
+    void load_binaryMissing_importsTextFile() throws IOException {
+        ArrayList<Task> tasks = new ArrayList<>();
+        tasks.add(new Todo("Imported task"));
+        Storage textStorage = new Storage(dataFile());
+        textStorage.save(tasks);
+
+        ArrayList<Task> loaded = new Storage(tempDir.resolve("ladis.bin").toString()).load();
+        assertEquals(1, loaded.size());
+        assertEquals("Imported task", loaded.get(0).getDescription());
+    }
+
+    @Test
+    void load_binaryJournaledSeededFromText_skipsJournalEntriesInTextSnapshot() throws IOException {
+        Task first = new Todo("First");
+        first.setId(1);
+        Task second = new Todo("Second");
+        second.setId(2);
+        Files.writeString(tempDir.resolve("ladis.txt"),
+                "# journal | 2\n" + first.toFileString() + "\n" + second.toFileString() + "\n");
+        Files.writeString(tempDir.resolve("ladis-journal.txt"), JournalEntry.add(second).toJournalLine(2) + "\n");
+        String binaryFile = tempDir.resolve("ladis.bin").toString();
+
+        Storage storage = new Storage(binaryFile, true);
+        TaskList tasks = storage.loadTaskList();
+        assertEquals(2, tasks.size());
+        tasks.addTask(new Todo("Third"));
+        storage.save(tasks);
+
+        ArrayList<Task> loaded = new Storage(binaryFile, true).load();
+        assertEquals(3, loaded.size());
+        assertEquals("Third", loaded.get(2).getDescription());
+    }
+
+    @Test
+    void saveTaskList_binaryJournaled_replaysOnLoad() throws IOException {
+        String binaryFile = tempDir.resolve("ladis.bin").toString();
+        Storage storage = new Storage(binaryFile, true);
+        TaskList tasks = storage.loadTaskList();
+        tasks.addTask(new Todo("First"));
+        storage.save(tasks.getSnapshot());
+        tasks.markSaved();
+        tasks.addTask(new Todo("Second"));
+        storage.save(tasks);
+
+        ArrayList<Task> loaded = new Storage(binaryFile, true).load();
+        assertEquals(2, loaded.size());
+        assertEquals("Second", loaded.get(1).getDescription());
+    }
+
+    @Test
+    void exportText_writesPipeDelimitedFormat() throws IOException {
+        ArrayList<Task> tasks = new ArrayList<>();
+        tasks.add(new Todo("Exported task"));
+        Storage storage = new Storage(tempDir.resolve("ladis.bin").toString());
+        String textFile = tempDir.resolve("export.txt").toString();
+        storage.exportText(tasks, textFile);
+
+        ArrayList<Task> imported = storage.importText(textFile);
+        assertEquals(1, imported.size());
+        assertEquals("Exported task", imported.get(0).getDescription());
+    }
+
+    @Test
+    void flush_writeBehind_persistsAllRecords() throws IOException, LadisException {
+        Storage storage = new Storage(dataFile(), true, true);
+        TaskList tasks = storage.loadTaskList();
+        for (int i = 0; i < 500; i++) {
+            tasks.addTask(new Todo("Task " + i));
+            storage.save(tasks);
+        }
+        tasks.markTask(42);
+        storage.save(tasks);
+        storage.flush();
+
+        assertEquals(0, storage.getPendingWriteCount());
+        assertTrue(storage.getCommitCount() >= 1);
+        assertTrue(storage.getCommitCount() <= 501);
+        ArrayList<Task> loaded = new Storage(dataFile(), true).load();
+        assertEquals(500, loaded.size());
+        assertTrue(loaded.get(42).isDone());
+        storage.close();
+    }
+
+    @Test
+    void saveTaskList_writeBehindAfterFailedWrite_savesSnapshotInsteadOfLeavingGap()
+            throws IOException, LadisException {
+        Storage storage = new Storage(dataFile(), true, true);
+        TaskList tasks = storage.loadTaskList();
+        for (int i = 0; i < 3; i++) {
+            tasks.addTask(new Todo("Task " + i));
+            storage.save(tasks);
+        }
+        storage.flush();
+
+        File journalFile = tempDir.resolve("ladis-journal.txt").toFile();
+        assertTrue(journalFile.delete());
+        assertTrue(journalFile.mkdir());
+        tasks.markTask(1);
+        // The writer thread may fail before save returns, in which case save reports it instead of flush
+        assertThrows(IOException.class, () -> {
+            storage.save(tasks);
+            storage.flush();
+        });
+
+        assertTrue(journalFile.delete());
+        tasks.removeTask(0);
+        storage.save(tasks);
+        storage.close();
+
+        ArrayList<Task> loaded = new Storage(dataFile(), true).load();
+        assertEquals(2, loaded.size());
+        assertTrue(loaded.get(0).isDone());
+        assertEquals("Task 2", loaded.get(1).getDescription());
+    }
+
+    @Test
+    void save_writeBehindNotJournaled_keepsLatestSnapshot() throws IOException {
+        Storage storage = new Storage(dataFile(), false, true);
+        ArrayList<Task> tasks = new ArrayList<>();
+        for (int i = 0; i < 100; i++) {
+            tasks.add(new Todo("Task " + i));
+            storage.save(tasks);
+        }
+        storage.close();
+
+        assertEquals(100, new Storage(dataFile()).load().size());
+    }
+
+    @Test
+    void saveTaskList_writeBehindPastThreshold_compactsOnWriterThread() throws IOException {
+        Storage storage = new Storage(dataFile(), true, true);
+        TaskList tasks = storage.loadTaskList();
+        for (int i = 0; i < 5000; i++) {
+            tasks.addTask(new Todo("A reasonably long task description number " + i));
+            storage.save(tasks);
+            if (i % 500 == 0) {
+                storage.flush();
+            }
+        }
+        storage.close();
+
+        assertTrue(new File(dataFile()).exists());
+        assertTrue(new File(tempDir.resolve("ladis-journal.txt").toString()).length()
+                < 5000 * "A reasonably long task description number".length());
+        ArrayList<Task> loaded = new Storage(dataFile(), true).load();
+        assertEquals(5000, loaded.size());
+        assertEquals("A reasonably long task description number 4999", loaded.get(4999).getDescription());
+    }
+
+    @Test
+    void save_withBackupGenerations_keepsPreviousVersions() throws IOException {
+        Storage storage = new Storage(dataFile());
+        storage.setBackupGenerations(2);
+        ArrayList<Task> tasks = new ArrayList<>();
+        for (int i = 0; i < 4; i++) {
+            tasks.add(new Todo("Task " + i));
+            storage.save(tasks);
+        }
+
+        assertEquals(4, new Storage(dataFile()).load().size());
+        assertEquals(3, new Storage(dataFile() + ".1").load().size());
+        assertEquals(2, new Storage(dataFile() + ".2").load().size());
+        assertFalse(new File(dataFile() + ".3").exists());
+        assertFalse(new File(dataFile() + ".tmp").exists());
+    }
+
+    @Test
+    void saveTaskList_patchesFileInPlace() throws IOException, LadisException {
+        assertIncrementalSaveRoundTrips(dataFile());
+    }
+
+    @Test
+    void saveTaskList_binary_patchesFileInPlace() throws IOException, LadisException {
+        assertIncrementalSaveRoundTrips(tempDir.resolve("ladis.bin").toString());
+    }
+
+    @Test
+    void saveTaskList_journaled_appendsOneRecordPerChange() throws IOException, LadisException {
+        Storage storage = new Storage(dataFile(), true);
+        TaskList tasks = new TaskList(storage.load());
+        tasks.addTask(new Todo("Task 1"));
+        tasks.addTask(new Todo("Task 2"));
+        tasks.markTask(0);
+        storage.save(tasks);
+
+        assertFalse(tasks.hasUnsavedChanges());
+        assertFalse(new File(dataFile()).exists());
+        ArrayList<Task> loaded = new Storage(dataFile(), true).load();
+        assertEquals(2, loaded.size());
+        assertTrue(loaded.get(0).isDone());
+    }
+
+    @Test
+    void load_appendCutShortByCrash_ignoresCutRecord() throws IOException, LadisException {
+        Storage storage = new Storage(dataFile());
+        TaskList tasks = new TaskList(storage.load());
+        tasks.addTask(new Todo("Task 1"));
+        storage.save(tasks);
+        tasks.addTask(new Todo("Task 2 with a long description"));
+        storage.save(tasks);
+        chopLastBytes(dataFile(), 10);
+
+        ArrayList<Task> loaded = new Storage(dataFile()).load();
+        assertEquals(1, loaded.size());
+        assertEquals("Task 1", loaded.get(0).getDescription());
+    }
+
+    @Test
+    void load_journalLineCutShortByCrash_ignoresItAndKeepsAppending() throws IOException, LadisException {
+        Storage storage = new Storage(dataFile(), true);
+        TaskList tasks = storage.loadTaskList();
+        for (int i = 0; i < 12; i++) {
+            tasks.addTask(new Todo("Task " + i));
+            storage.save(tasks);
+        }
+        tasks.markTask(11);
+        storage.save(tasks);
+        chopLastBytes(tempDir.resolve("ladis-journal.txt").toString(), 2);
+
+        Storage reopened = new Storage(dataFile(), true);
+        TaskList loaded = reopened.loadTaskList();
+        assertEquals(12, loaded.size());
+        assertFalse(loaded.getTask(1).isDone());
+        assertFalse(loaded.getTask(11).isDone());
+
+        loaded.addTask(new Todo("Task 12"));
+        reopened.save(loaded);
+        ArrayList<Task> reloaded = new Storage(dataFile(), true).load();
+        assertEquals(13, reloaded.size());
+        assertEquals("Task 12", reloaded.get(12).getDescription());
+    }
+
+    @Test
+    void loadTaskList_afterNewestTaskDeleted_doesNotReuseItsId() throws IOException, LadisException {
+        String binaryFile = tempDir.resolve("ladis.bin").toString();
+        String[] files = {dataFile(), binaryFile, dataFile(), binaryFile};
+        for (int i = 0; i < files.length; i++) {
+            boolean isJournaled = i >= 2;
+            for (String name : new String[] {"ladis.txt", "ladis.bin", "ladis-journal.txt"}) {
+                Files.deleteIfExists(tempDir.resolve(name));
+            }
+            Storage storage = new Storage(files[i], isJournaled);
+            TaskList tasks = storage.loadTaskList();
+            tasks.addTask(new Todo("First"));
+            tasks.addTask(new Todo("Second"));
+            storage.save(tasks);
+            tasks.removeTaskById(2);
+            storage.save(tasks);
+            storage.close();
+
+            TaskList reloaded = new Storage(files[i], isJournaled).loadTaskList();
+            assertEquals(2, reloaded.getLastId(), files[i] + (isJournaled ? " journaled" : ""));
+            Task third = new Todo("Third");
+            reloaded.addTask(third);
+            assertEquals(3, third.getId());
+        }
+    }
+
+    private static void chopLastBytes(String path, int count) throws IOException {
+        try (RandomAccessFile file = new RandomAccessFile(path, "rw")) {
+            file.setLength(file.length() - count);
+        }
+    }
+
+    private void assertIncrementalSaveRoundTrips(String file) throws IOException, LadisException {
+        Storage storage = new Storage(file);
+        TaskList tasks = new TaskList(storage.load());
+        tasks.addTask(new Todo("Task 1"));
+        tasks.addTask(new Todo("Task 2"));
+        storage.save(tasks);
+        long lengthAfterFullSave = new File(file).length();
+
+        tasks.markTask(1);
+        tasks.addTask(new Todo("Task 3"));
+        storage.save(tasks);
+        assertTrue(new File(file).length() > lengthAfterFullSave);
+
+        ArrayList<Task> loaded = new Storage(file).load();
+        assertEquals(3, loaded.size());
+        assertFalse(loaded.get(0).isDone());
+        assertTrue(loaded.get(1).isDone());
+        assertEquals("Task 3", loaded.get(2).getDescription());
+
+        tasks.unmarkTask(1);
+        tasks.removeTask(0);
+        storage.save(tasks);
+        loaded = new Storage(file).load();
+        assertEquals(2, loaded.size());
+        assertFalse(loaded.get(0).isDone());
+    }
+}
@@ -0,0 +1,40 @@
+package ladis.storage;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+
+public class WriteBehindQueueTest {
+    @Test
+    void flush_batchThrowsRuntimeException_reportsFailureWithoutHanging() throws IOException {
+        WriteBehindQueue<String> queue = new WriteBehindQueue<>("test-writer", batch -> {
+            throw new IllegalStateException("Bad entry");
+        });
+        queue.submit("first");
+        assertThrows(IOException.class, queue::flush);
+        assertEquals(0, queue.getQueueDepth());
+
+        queue.submit("second");
+        assertThrows(IOException.class, queue::flush);
+        queue.close();
+    }
+
+    @Test
+    void submit_afterClose_writesOnCallerThread() throws IOException {
+        List<String> written = Collections.synchronizedList(new ArrayList<>());
+        WriteBehindQueue<String> queue = new WriteBehindQueue<>("test-writer", written::addAll);
+        queue.submit("first");
+        queue.close();
+
+        queue.submit("second");
+        queue.flush();
+        queue.close();
+        assertEquals(List.of("first", "second"), written);
+    }
+}
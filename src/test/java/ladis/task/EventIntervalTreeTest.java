@@ -0,0 +1,94 @@
+package ladis.task;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import org.junit.jupiter.api.Test;
+
+import ladis.exception.DateTimeParseException;
+
+public class EventIntervalTreeTest {
+    @Test
+    void overlapping_backToBackEvents_doNotClash() throws DateTimeParseException {
+        TaskList tasks = new TaskList();
+        Event morning = new Event("Morning", "2024-05-01 0900", "2024-05-01 1000");
+        tasks.addTask(morning);
+        tasks.addTask(new Event("Late morning", "2024-05-01 1000", "2024-05-01 1100"));
+
+        assertTrue(tasks.findOverlappingEvents(morning).isEmpty());
+    }
+
+    @Test
+    void overlapping_allDayEvent_clashesWithTimedEventThatDay() throws DateTimeParseException {
+        TaskList tasks = new TaskList();
+        tasks.addTask(new Event("Offsite", "2024-05-01", "2024-05-01"));
+        tasks.addTask(new Todo("Not an event"));
+        Event call = new Event("Call", "2024-05-01 2300", "2024-05-02 0100");
+
+        List<Event> clashes = tasks.findOverlappingEvents(call);
+
+        assertEquals(1, clashes.size());
+        assertEquals("Offsite", clashes.get(0).getDescription());
+    }
+
+    @Test
+    void conflicts_reportEachPairOnceByStart() throws DateTimeParseException {
+        TaskList tasks = new TaskList();
+        tasks.addTask(new Event("C", "2024-05-03", "2024-05-04"));
+        tasks.addTask(new Event("A", "2024-05-01", "2024-05-03"));
+        tasks.addTask(new Event("B", "2024-05-02", "2024-05-02"));
+        tasks.addTask(new Event("D", "2024-06-01", "2024-06-01"));
+
+        List<EventConflict> conflicts = tasks.findEventConflicts();
+
+        assertEquals(2, conflicts.size());
+        assertEquals("A", conflicts.get(0).getFirst().getDescription());
+        assertEquals("B", conflicts.get(0).getSecond().getDescription());
+        assertEquals("A", conflicts.get(1).getFirst().getDescription());
+        assertEquals("C", conflicts.get(1).getSecond().getDescription());
+    }
+
+    @Test
+    void randomChanges_matchBruteForce() {
+        Random random = new Random(7);
+        TaskList tasks = new TaskList();
+        for (int step = 0; step < 2000; step++) {
+            if (tasks.size() > 0 && random.nextInt(3) == 0) {
+                tasks.removeTask(random.nextInt(tasks.size()));
+            } else {
+                LocalDate start = LocalDate.of(2024, 1, 1).plusDays(random.nextInt(60));
+                LocalTime startTime = random.nextBoolean() ? null : LocalTime.of(random.nextInt(24), 0);
+                LocalTime endTime = random.nextBoolean() ? null : LocalTime.of(random.nextInt(24), 30);
+                tasks.addTask(new Event("E" + step, start, start.plusDays(random.nextInt(3)), startTime, endTime));
+            }
+            if (step % 50 == 0) {
+                assertEquals(bruteForceConflictCount(tasks), tasks.findEventConflicts().size());
+            }
+        }
+    }
+
+    private static int bruteForceConflictCount(TaskList tasks) {
+        List<Event> events = new ArrayList<>();
+        for (Task task : tasks.getTasks()) {
+            events.add((Event) task);
+        }
+        int count = 0;
+        for (int i = 0; i < events.size(); i++) {
+            for (int j = i + 1; j < events.size(); j++) {
+                Event a = events.get(i);
+                Event b = events.get(j);
+                if (EventIntervalTree.startOf(a) < EventIntervalTree.endOf(b)
+                        && EventIntervalTree.startOf(b) < EventIntervalTree.endOf(a)) {
+                    count++;
+                }
+            }
+        }
+        return count;
+    }
+}
@@ -0,0 +1,57 @@
+package ladis.task;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import org.junit.jupiter.api.Test;
+
+public class PersistentTaskTreeTest {
+    @Test
+    void getSnapshot_laterChanges_leaveSnapshotUnchanged() {
+        TaskList tasks = new TaskList();
+        tasks.addTask(new Todo("First"));
+        tasks.addTask(new Todo("Second"));
+        List<Task> before = tasks.getSnapshot();
+
+        tasks.removeTask(0);
+        tasks.addTask(new Todo("Third"));
+
+        assertEquals(2, before.size());
+        assertEquals("First", before.get(0).getDescription());
+        assertEquals("Second", before.get(1).getDescription());
+        assertEquals(List.of(tasks.getTask(0), tasks.getTask(1)), tasks.getSnapshot());
+        assertThrows(UnsupportedOperationException.class, () -> before.remove(0));
+        assertThrows(IndexOutOfBoundsException.class, () -> before.get(2));
+    }
+
+    @Test
+    void snapshots_randomChanges_matchListAtTheTime() {
+        Random random = new Random(7);
+        TaskList tasks = new TaskList();
+        List<List<Task>> snapshots = new ArrayList<>();
+        List<List<Task>> expected = new ArrayList<>();
+        for (int step = 0; step < 3000; step++) {
+            if (tasks.size() == 0 || random.nextInt(3) > 0) {
+                tasks.addTask(new Todo("Task " + step));
+            } else {
+                tasks.removeTask(random.nextInt(tasks.size()));
+            }
+            if (step % 100 == 0) {
+                snapshots.add(tasks.getSnapshot());
+                expected.add(new ArrayList<>(tasks.getTasks()));
+            }
+        }
+
+        for (int i = 0; i < snapshots.size(); i++) {
+            List<Task> snapshot = snapshots.get(i);
+            assertEquals(expected.get(i), snapshot);
+            for (int j = 0; j < snapshot.size(); j++) {
+                assertEquals(expected.get(i).get(j), snapshot.get(j));
+            }
+        }
+    }
+}
@@ -0,0 +1,85 @@
+package ladis.task;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+
+import ladis.exception.DateTimeParseException;
+
+public class TaskColumnsTest {
+    @Test
+    void add_allTaskTypes_roundTripsEveryField() throws DateTimeParseException {
+        List<Task> tasks = new ArrayList<>();
+        tasks.add(new Todo("Read a book \u00e9\u4e2d"));
+        tasks.add(new Deadline("Submit report", "2024-12-25 1830"));
+        tasks.add(new Deadline("Pay rent", "2024-12-01"));
+        tasks.add(new Event("Conference", "2024-12-20", "2024-12-22 1700"));
+        tasks.add(new Todo(""));
+        tasks.get(1).mark();
+        for (int i = 0; i < tasks.size(); i++) {
+            tasks.get(i).setId(i + 10);
+        }
+
+        TaskColumns columns = new TaskColumns();
+        columns.addAll(tasks);
+        columns.trimToSize();
+
+        assertEquals(tasks.size(), columns.size());
+        for (int i = 0; i < tasks.size(); i++) {
+            assertEquals(tasks.get(i).toFileString(), columns.get(i).toFileString());
+            assertEquals(tasks.get(i).toString(), columns.get(i).toString());
+            assertEquals(tasks.get(i).getDescription(), columns.getDescription(i));
+            assertEquals(tasks.get(i).getTaskType(), columns.getTaskType(i));
+            assertEquals(tasks.get(i).getId(), columns.getId(i));
+        }
+        assertTrue(columns.isDone(1));
+        assertThrows(IndexOutOfBoundsException.class, () -> columns.get(5));
+    }
+
+    @Test
+    void setDone_updatesColumnsButNotBuiltTasksOrCopies() {
+        TaskColumns columns = new TaskColumns();
+        for (int i = 0; i < 100; i++) {
+            columns.add(new Todo("Task " + i));
+        }
+        Task built = columns.get(42);
+        TaskColumns copy = columns.copy();
+
+        columns.setDone(42, true);
+
+        assertTrue(columns.get(42).isDone());
+        assertFalse(built.isDone());
+        assertFalse(copy.get(42).isDone());
+        assertEquals("Task 99", copy.get(99).getDescription());
+    }
+
+    @Test
+    void remove_middleTask_shiftsLaterFieldsAndDoneFlags() throws DateTimeParseException {
+        TaskColumns columns = new TaskColumns();
+        List<Task> expected = new ArrayList<>();
+        for (int i = 0; i < 70; i++) {
+            Task task = i % 2 == 0 ? new Todo("Todo " + i) : new Deadline("Deadline \u00e9" + i, "2024-12-25 1830");
+            task.setId(i + 1);
+            if (i % 3 == 0) {
+                task.mark();
+            }
+            columns.add(task);
+            expected.add(task);
+        }
+
+        assertEquals(expected.remove(5).toFileString(), columns.remove(5).toFileString());
+        assertEquals(expected.remove(0).toFileString(), columns.remove(0).toFileString());
+        assertEquals(expected.remove(67).toFileString(), columns.remove(67).toFileString());
+
+        assertEquals(expected.size(), columns.size());
+        for (int i = 0; i < expected.size(); i++) {
+            assertEquals(expected.get(i).toFileString(), columns.get(i).toFileString());
+        }
+    }
+}
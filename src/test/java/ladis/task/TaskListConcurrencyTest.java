@@ -0,0 +1,276 @@
+package ladis.task;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.Set;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import ladis.command.Command;
+import ladis.command.CommandResult;
+import ladis.command.DeleteCommand;
+import ladis.command.MarkCommand;
+import ladis.command.UnmarkCommand;
+import ladis.exception.LadisException;
+import ladis.storage.Storage;
+
+public class TaskListConcurrencyTest {
+    private static final int THREADS = 8;
+
+    @TempDir
+    Path tempDir;
+
+    /**
+     * Runs the workers together, starting them at once, and rethrows the first failure.
+     */
+    private static void runConcurrently(List<Callable<Void>> workers) throws Exception {
+        ExecutorService executor = Executors.newFixedThreadPool(workers.size());
+        CountDownLatch start = new CountDownLatch(1);
+        try {
+            List<Future<Void>> futures = new ArrayList<>();
+            for (Callable<Void> worker : workers) {
+                futures.add(executor.submit(() -> {
+                    start.await();
+                    return worker.call();
+                }));
+            }
+            start.countDown();
+            for (Future<Void> future : futures) {
+                future.get(30, TimeUnit.SECONDS);
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    private static TaskList listOf(int count) {
+        TaskList tasks = new TaskList();
+        for (int i = 0; i < count; i++) {
+            tasks.addTask(new Todo("Task " + i));
+        }
+        tasks.markSaved();
+        return tasks;
+    }
+
+    @Test
+    void markAndUnmark_underContention_changeLogMatchesFinalState() throws Exception {
+        TaskList tasks = listOf(50);
+        int operationsPerThread = 1000;
+        List<Callable<Void>> workers = new ArrayList<>();
+        for (int t = 0; t < THREADS; t++) {
+            Random random = new Random(t);
+            workers.add(() -> {
+                for (int i = 0; i < operationsPerThread; i++) {
+                    int index = random.nextInt(tasks.size());
+                    if (random.nextBoolean()) {
+                        tasks.markTask(index);
+                    } else {
+                        tasks.unmarkTask(index);
+                    }
+                }
+                return null;
+            });
+        }
+        runConcurrently(workers);
+
+        List<TaskChange> changes = tasks.getUnsavedChanges();
+        assertEquals(THREADS * operationsPerThread, changes.size());
+        Map<Task, TaskChange> lastChanges = new IdentityHashMap<>();
+        long previousVersion = 0;
+        for (TaskChange change : changes) {
+            assertTrue(change.getVersion() > previousVersion);
+            previousVersion = change.getVersion();
+            assertEquals(change.getTask(), tasks.getTask(change.getIndex()));
+            lastChanges.put(change.getTask(), change);
+        }
+        for (Map.Entry<Task, TaskChange> entry : lastChanges.entrySet()) {
+            boolean isMarkedLast = entry.getValue().getKind() == TaskChange.Kind.MARKED;
+            assertEquals(isMarkedLast, entry.getKey().isDone());
+        }
+    }
+
+    @Test
+    void removeById_underContention_removesEachTaskOnce() throws Exception {
+        int count = 2000;
+        TaskList tasks = listOf(count);
+        Set<Task> removed = ConcurrentHashMap.newKeySet();
+        AtomicInteger misses = new AtomicInteger();
+        List<Callable<Void>> workers = new ArrayList<>();
+        for (int t = 0; t < THREADS; t++) {
+            int offset = t * count / THREADS;
+            workers.add(() -> {
+                for (int i = 0; i < count; i++) {
+                    int id = (offset + i) % count + 1;
+                    try {
+                        Task task = tasks.removeTaskById(id);
+                        assertEquals(id, task.getId());
+                        assertTrue(removed.add(task));
+                    } catch (LadisException e) {
+                        misses.incrementAndGet();
+                    }
+                }
+                return null;
+            });
+        }
+        runConcurrently(workers);
+
+        assertEquals(0, tasks.size());
+        assertEquals(count, removed.size());
+        assertEquals(count * (THREADS - 1), misses.get());
+        assertEquals(count, tasks.getUnsavedChanges().size());
+    }
+
+    @Test
+    void removeAt_underContention_rejectsPositionsPastTheEnd() throws Exception {
+        int count = 2000;
+        TaskList tasks = listOf(count);
+        Set<Task> removed = ConcurrentHashMap.newKeySet();
+        List<Callable<Void>> workers = new ArrayList<>();
+        for (int t = 0; t < THREADS; t++) {
+            workers.add(() -> {
+                while (tasks.size() > 0) {
+                    // Another worker may take the last task between reading the size and removing
+                    TaskReference last = TaskReference.ofIndex(tasks.size() - 1);
+                    try {
+                        assertTrue(removed.add(last.removeFrom(tasks)));
+                    } catch (LadisException e) {
+                        assertTrue(e.getMessage().startsWith("Invalid task number"));
+                    }
+                }
+                return null;
+            });
+        }
+        runConcurrently(workers);
+
+        assertEquals(0, tasks.size());
+        assertEquals(count, removed.size());
+    }
+
+    @Test
+    void commandsById_markUnmarkAndDeleteConcurrently_actOnNamedTaskAndPersistFinalState() throws Exception {
+        int count = 200;
+        int operationsPerThread = 300;
+        Storage storage = new Storage(tempDir.resolve("ladis.txt").toString(), true, true);
+        TaskList tasks = storage.loadTaskList();
+        for (int i = 1; i <= count; i++) {
+            tasks.addTask(new Todo("Task " + i + "."));
+        }
+        storage.save(tasks);
+        Set<Integer> deleted = ConcurrentHashMap.newKeySet();
+        Set<Integer> missed = ConcurrentHashMap.newKeySet();
+        List<Callable<Void>> workers = new ArrayList<>();
+        for (int t = 0; t < THREADS; t++) {
+            Random random = new Random(t);
+            workers.add(() -> {
+                for (int i = 0; i < operationsPerThread; i++) {
+                    int id = random.nextInt(count) + 1;
+                    TaskReference task = TaskReference.ofId(id);
+                    int operation = random.nextInt(5);
+                    Command command = operation == 0 ? new DeleteCommand(task)
+                            : operation % 2 == 1 ? new MarkCommand(task) : new UnmarkCommand(task);
+                    try {
+                        CommandResult result = command.execute(tasks, storage);
+                        assertTrue(result.getMessage().contains("Task " + id + ".\n")
+                                || result.getMessage().endsWith("Task " + id + "."), result.getMessage());
+                        assertFalse(result.hasWarning(), result.getWarning());
+                        if (operation == 0) {
+                            assertTrue(deleted.add(id));
+                        }
+                    } catch (LadisException e) {
+                        missed.add(id);
+                    }
+                }
+                return null;
+            });
+        }
+        runConcurrently(workers);
+        storage.close();
+
+        assertEquals(count - deleted.size(), tasks.size());
+        assertTrue(deleted.containsAll(missed));
+        for (int id : deleted) {
+            assertEquals(null, tasks.getTaskById(id));
+        }
+        List<Task> expected = tasks.getSnapshot();
+        TaskList loaded = new Storage(tempDir.resolve("ladis.txt").toString(), true).loadTaskList();
+        assertEquals(expected.size(), loaded.size());
+        for (int i = 0; i < expected.size(); i++) {
+            Task task = loaded.getTask(i);
+            assertEquals(expected.get(i).getId(), task.getId());
+            assertEquals(expected.get(i).isDone(), task.isDone(), "Done flag of task #" + task.getId());
+        }
+    }
+
+    @Test
+    void snapshotsAndQueries_duringMutations_stayConsistent() throws Exception {
+        TaskList tasks = listOf(200);
+        AtomicBoolean isWriting = new AtomicBoolean(true);
+        List<Callable<Void>> workers = new ArrayList<>();
+        workers.add(() -> {
+            Random random = new Random(1);
+            for (int i = 0; i < 3000; i++) {
+                if (random.nextBoolean() || tasks.size() == 0) {
+                    tasks.addTask(new Todo("Added " + i));
+                } else {
+                    tasks.removeTask(random.nextInt(tasks.size()));
+                }
+            }
+            isWriting.set(false);
+            return null;
+        });
+        for (int t = 1; t < THREADS; t++) {
+            workers.add(() -> {
+                while (isWriting.get()) {
+                    List<Task> snapshot = tasks.getSnapshot();
+                    for (int i = 1; i < snapshot.size(); i++) {
+                        assertTrue(snapshot.get(i - 1).getId() < snapshot.get(i).getId());
+                    }
+                    for (Task task : tasks.findTasks("dded 1")) {
+                        assertTrue(task.getDescription().contains("dded 1"));
+                    }
+                }
+                return null;
+            });
+        }
+        runConcurrently(workers);
+
+        List<Task> snapshot = tasks.getSnapshot();
+        assertEquals(tasks.size(), snapshot.size());
+        for (int i = 0; i < snapshot.size(); i++) {
+            assertEquals(snapshot.get(i), tasks.getTaskById(snapshot.get(i).getId()));
+        }
+    }
+
+    @Test
+    void markSaved_savePoint_keepsLaterChanges() {
+        TaskList tasks = listOf(2);
+        tasks.addTask(new Todo("Before save"));
+        SavePoint savePoint = tasks.getSavePoint();
+        assertEquals(3, savePoint.getTasks().size());
+        tasks.addTask(new Todo("During save"));
+
+        tasks.markSaved(savePoint);
+        List<TaskChange> remaining = tasks.getUnsavedChanges();
+        assertEquals(1, remaining.size());
+        assertEquals("During save", remaining.get(0).getTask().getDescription());
+        assertEquals(3, savePoint.getTasks().size());
+    }
+}
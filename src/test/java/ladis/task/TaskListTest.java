@@ -5,11 +5,16 @@ import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 
+import java.time.LocalDateTime;
 import java.util.ArrayList;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Random;
 
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 
+import ladis.exception.DateTimeParseException;
 import ladis.exception.LadisException;
 
 public class TaskListTest {
@@ -138,7 +143,7 @@ public class TaskListTest {
         taskList.addTask(task1);
         taskList.addTask(task2);
 
-        ArrayList<Task> tasks = taskList.getTasks();
+        List<Task> tasks = taskList.getTasks();
         assertEquals(2, tasks.size());
         assertEquals(task1, tasks.get(0));
         assertEquals(task2, tasks.get(1));
@@ -171,4 +176,332 @@ public class TaskListTest {
         taskList.unmarkTask(0);
         assertFalse(taskList.getTask(0).isDone());
     }
+
+    @Test
+    void unsavedChanges_trackEachMutationInOrder() throws LadisException {
+        taskList.addTask(new Todo("Task 1"));
+        taskList.addTask(new Todo("Task 2"));
+        taskList.markTask(1);
+        taskList.removeTask(0);
+
+        List<TaskChange> changes = taskList.getUnsavedChanges();
+        assertEquals(4, changes.size());
+        assertEquals(TaskChange.Kind.ADDED, changes.get(0).getKind());
+        assertEquals(TaskChange.Kind.MARKED, changes.get(2).getKind());
+        assertEquals(1, changes.get(2).getIndex());
+        assertEquals(TaskChange.Kind.REMOVED, changes.get(3).getKind());
+        assertEquals(4, taskList.getVersion());
+        assertTrue(taskList.hasUnsavedChanges());
+    }
+
+    @Test
+    void markSaved_clearsUnsavedChanges() {
+        taskList.addTask(new Todo("Task 1"));
+        taskList.markSaved();
+
+        assertFalse(taskList.hasUnsavedChanges());
+        assertEquals(0, taskList.getUnsavedChanges().size());
+        assertEquals(1, taskList.getVersion());
+    }
+
+    @Test
+    void constructor_withTasks_startsWithoutUnsavedChanges() {
+        ArrayList<Task> initialTasks = new ArrayList<>();
+        initialTasks.add(new Todo("Task 1"));
+
+        assertFalse(new TaskList(initialTasks).hasUnsavedChanges());
+    }
+
+    @Test
+    void findTasks_substringInsideWord_matchesLikeContains() {
+        taskList.addTask(new Todo("Buy a Notebook"));
+        taskList.addTask(new Todo("Read book club notes"));
+        taskList.addTask(new Todo("Groceries"));
+
+        assertEquals(2, taskList.findTasks("BOOK").size());
+        assertEquals(1, taskList.findTasks("y a note").size());
+        assertEquals(0, taskList.findTasks("book  club").size());
+        assertEquals(2, taskList.findTasks(" ").size());
+    }
+
+    @Test
+    void findTasks_afterRemoval_keepsListOrder() {
+        taskList.addTask(new Todo("Report draft"));
+        taskList.addTask(new Todo("Lunch"));
+        taskList.addTask(new Todo("Report final"));
+        taskList.addTask(new Todo("Report review"));
+        taskList.removeTask(0);
+
+        List<Task> matches = taskList.findTasks("report");
+        assertEquals(2, matches.size());
+        assertEquals("Report final", matches.get(0).getDescription());
+        assertEquals("Report review", matches.get(1).getDescription());
+    }
+
+    @Test
+    void findTasks_randomLists_matchesLinearScan() {
+        String[] words = {"alpha", "beta", "gamma", "alphabet", "be", "ta-da", "x!y"};
+        String[] keywords = {"a", "al", "bet", "a b", "ta-", "!", "-da", "x!y", "mm", "zz", "a g", "zzz", "beta gam"};
+        Random random = new Random(42);
+        for (int i = 0; i < 500; i++) {
+            if (taskList.size() > 0 && random.nextInt(4) == 0) {
+                taskList.removeTask(random.nextInt(taskList.size()));
+            } else {
+                taskList.addTask(new Todo(words[random.nextInt(words.length)] + " "
+                        + words[random.nextInt(words.length)]));
+            }
+            for (String keyword : keywords) {
+                List<Task> expected = new ArrayList<>();
+                for (Task task : taskList.getTasks()) {
+                    if (task.getDescription().toLowerCase().contains(keyword)) {
+                        expected.add(task);
+                    }
+                }
+                assertEquals(expected, taskList.findTasks(keyword));
+            }
+        }
+    }
+
+    @Test
+    void filterTasks_randomChanges_matchesLinearScan() throws LadisException, DateTimeParseException {
+        Random random = new Random(18);
+        List<EnumSet<TaskType>> typeFilters = List.of(EnumSet.noneOf(TaskType.class), EnumSet.of(TaskType.TODO),
+                EnumSet.of(TaskType.DEADLINE, TaskType.EVENT));
+        Boolean[] doneFilters = {null, true, false};
+        for (int step = 0; step < 600; step++) {
+            int action = random.nextInt(5);
+            if (taskList.size() > 0 && action == 0) {
+                taskList.removeTask(random.nextInt(taskList.size()));
+            } else if (taskList.size() > 0 && action == 1) {
+                taskList.markTask(random.nextInt(taskList.size()));
+            } else if (taskList.size() > 0 && action == 2) {
+                taskList.unmarkTask(random.nextInt(taskList.size()));
+            } else if (step % 3 == 0) {
+                taskList.addTask(new Deadline("Deadline " + step, "2024-03-10"));
+            } else if (step % 3 == 1) {
+                taskList.addTask(new Event("Event " + step, "2024-03-01", "2024-03-05"));
+            } else {
+                taskList.addTask(new Todo("Todo " + step));
+            }
+            for (EnumSet<TaskType> types : typeFilters) {
+                for (Boolean isDone : doneFilters) {
+                    List<Task> expected = new ArrayList<>();
+                    for (Task task : taskList.getTasks()) {
+                        if ((types.isEmpty() || types.contains(task.getTaskType()))
+                                && (isDone == null || isDone == task.isDone())) {
+                            expected.add(task);
+                        }
+                    }
+                    assertEquals(expected, taskList.filterTasks(types, isDone));
+                }
+            }
+        }
+    }
+
+    @Test
+    void findTasksBetween_ordersByDueTimeThenListOrder() throws DateTimeParseException {
+        taskList.addTask(new Deadline("Late", "2024-03-10 1800"));
+        taskList.addTask(new Todo("No date"));
+        taskList.addTask(new Event("Trip", "2024-03-01", "2024-03-05"));
+        taskList.addTask(new Deadline("Early", "2024-03-10 0900"));
+        taskList.addTask(new Deadline("Same minute", "2024-03-10 1800"));
+        taskList.addTask(new Deadline("Outside", "2024-04-01"));
+
+        List<Task> due = taskList.findTasksBetween(LocalDateTime.of(2024, 3, 1, 0, 0),
+                LocalDateTime.of(2024, 3, 31, 23, 59));
+
+        assertEquals(4, due.size());
+        assertEquals("Trip", due.get(0).getDescription());
+        assertEquals("Early", due.get(1).getDescription());
+        assertEquals("Late", due.get(2).getDescription());
+        assertEquals("Same minute", due.get(3).getDescription());
+    }
+
+    @Test
+    void findTasksBetween_afterChanges_staysInSync() throws DateTimeParseException {
+        taskList.addTask(new Deadline("First", "2024-05-01"));
+        LocalDateTime from = LocalDateTime.of(2024, 5, 1, 0, 0);
+        LocalDateTime to = LocalDateTime.of(2024, 5, 31, 0, 0);
+        assertEquals(1, taskList.findTasksBetween(from, to).size());
+
+        taskList.addTask(new Deadline("Second", "2024-05-20"));
+        taskList.removeTask(0);
+
+        List<Task> due = taskList.findTasksBetween(from, to);
+        assertEquals(1, due.size());
+        assertEquals("Second", due.get(0).getDescription());
+        assertEquals(0, taskList.findTasksBetween(to, from).size());
+    }
+
+    @Test
+    void ids_stayWithTasksAcrossRemovals() throws LadisException {
+        Task first = new Todo("First");
+        Task second = new Todo("Second");
+        Task third = new Todo("Third");
+        taskList.addTask(first);
+        taskList.addTask(second);
+        taskList.addTask(third);
+        assertEquals(1, first.getId());
+        assertEquals(3, third.getId());
+
+        assertEquals(first, taskList.removeTaskById(1));
+        assertEquals(third, taskList.getTaskById(3));
+        assertEquals(1, taskList.getIndexOf(3));
+        assertEquals(null, taskList.getTaskById(1));
+        assertThrows(LadisException.class, () -> taskList.getIndexOf(1));
+
+        taskList.addTask(new Todo("Fourth"));
+        assertEquals(4, taskList.getTask(2).getId());
+    }
+
+    @Test
+    void constructor_keepsIncreasingIdsAndRenumbersOthers() {
+        ArrayList<Task> tasks = new ArrayList<>();
+        for (int id : new int[] {0, 5, 0, 3, 9}) {
+            Task task = new Todo("Task " + id);
+            task.setId(id);
+            tasks.add(task);
+        }
+        TaskList list = new TaskList(tasks);
+        int[] expected = {1, 5, 6, 7, 9};
+        for (int i = 0; i < expected.length; i++) {
+            assertEquals(expected[i], list.getTask(i).getId());
+            assertEquals(list.getTask(i), list.getTaskById(expected[i]));
+        }
+    }
+
+    @Test
+    void constructor_withLastId_numbersNewTasksAfterIt() {
+        ArrayList<Task> tasks = new ArrayList<>();
+        Task first = new Todo("First");
+        first.setId(1);
+        tasks.add(first);
+        TaskList list = new TaskList(tasks, 5);
+        assertEquals(1, first.getId());
+        assertEquals(5, list.getLastId());
+
+        Task second = new Todo("Second");
+        list.addTask(second);
+        assertEquals(6, second.getId());
+        assertEquals(6, list.getSavePoint().getLastId());
+    }
+
+    @Test
+    void taskReference_idsFollowTasksAcrossRemovals() throws LadisException {
+        Task first = new Todo("First");
+        Task second = new Todo("Second");
+        Task third = new Todo("Third");
+        taskList.addTask(first);
+        taskList.addTask(second);
+        taskList.addTask(third);
+        taskList.removeTask(0);
+
+        assertEquals(third, TaskReference.ofId(3).markIn(taskList));
+        assertTrue(third.isDone());
+        assertEquals(third, TaskReference.ofIndex(1).unmarkIn(taskList));
+        assertFalse(third.isDone());
+        assertEquals(second, TaskReference.ofId(2).removeFrom(taskList));
+        assertEquals(third, taskList.getTask(0));
+        assertEquals("#2", TaskReference.ofId(2).toString());
+        assertThrows(LadisException.class, () -> TaskReference.ofId(1).markIn(taskList));
+        assertThrows(LadisException.class, () -> TaskReference.ofId(2).removeFrom(taskList));
+        assertThrows(LadisException.class, () -> TaskReference.ofIndex(1).removeFrom(taskList));
+    }
+
+    @Test
+    void columnar_randomChanges_answersLikeObjectList() throws LadisException, DateTimeParseException {
+        TaskList columnar = TaskList.columnar(List.of(), 0);
+        Random random = new Random(16);
+        LocalDateTime from = LocalDateTime.of(2024, 3, 4, 0, 0);
+        LocalDateTime to = LocalDateTime.of(2024, 3, 12, 12, 0);
+        Boolean[] doneFilters = {null, true, false};
+        for (int step = 0; step < 400; step++) {
+            int action = random.nextInt(6);
+            int index = taskList.size() > 0 ? random.nextInt(taskList.size()) : -1;
+            boolean isEventAdded = false;
+            if (index >= 0 && action == 0) {
+                assertEquals(fileStrings(List.of(taskList.removeTaskAt(index))),
+                        fileStrings(List.of(columnar.removeTaskAt(index))));
+            } else if (index >= 0 && action == 1) {
+                assertEquals(taskList.markTask(index).toFileString(), columnar.markTask(index).toFileString());
+            } else if (index >= 0 && action == 2) {
+                int id = taskList.getTask(index).getId();
+                assertEquals(taskList.unmarkTaskById(id).toFileString(),
+                        columnar.unmarkTaskById(id).toFileString());
+            } else {
+                int day = 1 + random.nextInt(14);
+                String time = random.nextBoolean() ? "" : String.format(" %02d%02d", random.nextInt(24), 30);
+                String date = String.format("2024-03-%02d", day) + time;
+                String end = String.format("2024-03-%02d", day + random.nextInt(3));
+                isEventAdded = step % 3 == 1;
+                for (TaskList list : List.of(taskList, columnar)) {
+                    switch (step % 3) {
+                    case 0 -> list.addTask(new Deadline("Deadline " + step, date));
+                    case 1 -> list.addTask(new Event("Event " + step, date, end));
+                    default -> list.addTask(new Todo("Todo " + step));
+                    }
+                }
+            }
+
+            assertEquals(fileStrings(taskList.getSnapshot()), fileStrings(columnar.getSnapshot()));
+            assertEquals(fileStrings(taskList.findTasks("t 1")), fileStrings(columnar.findTasks("t 1")));
+            assertEquals(fileStrings(taskList.findTasksBetween(from, to)),
+                    fileStrings(columnar.findTasksBetween(from, to)));
+            for (Boolean isDone : doneFilters) {
+                assertEquals(fileStrings(taskList.filterTasks(EnumSet.of(TaskType.EVENT), isDone)),
+                        fileStrings(columnar.filterTasks(EnumSet.of(TaskType.EVENT), isDone)));
+            }
+            List<String> expectedConflicts = new ArrayList<>();
+            for (EventConflict conflict : taskList.findEventConflicts()) {
+                expectedConflicts.add(conflict.getFirst().getId() + "-" + conflict.getSecond().getId());
+            }
+            List<String> conflicts = new ArrayList<>();
+            for (EventConflict conflict : columnar.findEventConflicts()) {
+                conflicts.add(conflict.getFirst().getId() + "-" + conflict.getSecond().getId());
+            }
+            assertEquals(expectedConflicts, conflicts);
+            if (isEventAdded) {
+                Event added = (Event) taskList.getTask(taskList.size() - 1);
+                Event addedColumns = (Event) columnar.getTask(columnar.size() - 1);
+                assertEquals(fileStrings(taskList.findOverlappingEvents(added)),
+                        fileStrings(columnar.findOverlappingEvents(addedColumns)));
+            }
+        }
+        assertEquals(taskList.getLastId(), columnar.getLastId());
+        assertThrows(LadisException.class, () -> columnar.removeTaskAt(columnar.size()));
+    }
+
+    @Test
+    void columnar_idLookupsAndSnapshots_readFromColumns() throws LadisException {
+        ArrayList<Task> loaded = new ArrayList<>();
+        for (int i = 0; i < 10; i++) {
+            loaded.add(new Todo("Task " + i));
+        }
+        TaskList columnar = TaskList.columnar(loaded, 20);
+        columnar.removeTaskById(3);
+        List<Task> snapshot = columnar.getSnapshot();
+
+        assertEquals(3, columnar.getIndexOf(5));
+        assertEquals("Task 4", columnar.getTaskById(5).getDescription());
+        assertEquals(null, columnar.getTaskById(3));
+        assertThrows(LadisException.class, () -> columnar.getIndexOf(3));
+        assertTrue(columnar.markTaskById(5).isDone());
+        assertTrue(columnar.getTask(3).isDone());
+        assertFalse(snapshot.get(3).isDone());
+
+        Task added = new Todo("Added");
+        columnar.addTask(added);
+        assertEquals(21, added.getId());
+        assertEquals(9, snapshot.size());
+        assertEquals(10, columnar.size());
+        assertEquals(3, columnar.getUnsavedChanges().size());
+    }
+
+    private static List<String> fileStrings(List<? extends Task> tasks) {
+        List<String> strings = new ArrayList<>();
+        for (Task task : tasks) {
+            strings.add(task.toFileString());
+        }
+        return strings;
+    }
 }
@@ -2,11 +2,16 @@ package ladis.task;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertSame;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 
+import java.io.IOException;
+
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 
+import ladis.exception.DateTimeParseException;
+
 public class TaskTest {
     private Task todoTask;
 
@@ -66,4 +71,39 @@ public class TaskTest {
         todoTask.mark();
         assertEquals("[T][X] Buy groceries", todoTask.toString());
     }
+
+    @Test
+    void cachedStrings_markUnmarkAndSetId_rebuilt() {
+        assertSame(todoTask.toString(), todoTask.toString());
+        assertEquals("T | 0 | Buy groceries", todoTask.toFileString());
+
+        todoTask.mark();
+        assertEquals("[T][X] Buy groceries", todoTask.toString());
+        assertEquals("T | 1 | Buy groceries", todoTask.toFileString());
+        todoTask.setId(7);
+        assertEquals("T | 1 | Buy groceries | #7", todoTask.toFileString());
+        todoTask.unmark();
+        assertEquals("[T][ ] Buy groceries", todoTask.toString());
+        assertEquals("T | 0 | Buy groceries | #7", todoTask.toFileString());
+    }
+
+    @Test
+    void writeTo_everyType_matchesFileFormat() throws IOException, DateTimeParseException {
+        Task deadline = new Deadline("Submit report", "2024-12-25 0830");
+        Task event = new Event("Conference", "2024-12-20", "2024-12-22 1700");
+        deadline.mark();
+        deadline.setId(10);
+        event.setId(1234567);
+
+        assertEquals("T | 0 | Buy groceries", writeToString(todoTask));
+        assertEquals("D | 1 | Submit report | 2024-12-25 0830 | #10", writeToString(deadline));
+        assertEquals("E | 0 | Conference | 2024-12-20 | 2024-12-22 1700 | #1234567", writeToString(event));
+        assertEquals(deadline.toFileString(), writeToString(deadline));
+    }
+
+    private static String writeToString(Task task) throws IOException {
+        StringBuilder out = new StringBuilder();
+        task.writeTo(out);
+        return out.toString();
+    }
 }
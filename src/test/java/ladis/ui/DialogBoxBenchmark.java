@@ -0,0 +1,126 @@
+package ladis.ui;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.CountDownLatch;
+import java.util.function.Supplier;
+
+import javafx.application.Platform;
+import javafx.fxml.FXMLLoader;
+import javafx.scene.Node;
+import javafx.scene.Scene;
+import javafx.scene.control.Label;
+import javafx.scene.image.Image;
+import javafx.scene.image.ImageView;
+import javafx.scene.layout.HBox;
+import javafx.scene.layout.StackPane;
+
+/**
+ * Measures how many chat messages per second can be turned into dialog boxes and laid out, comparing
+ * boxes parsed from FXML for every message, as they used to be, with boxes built in code.
+ * Each message gets a new box, styled and laid out in a scene, which is what adding a message costs when
+ * no cell can be reused. Needs a desktop session for the JavaFX toolkit; run with
+ * {@code gradlew benchmarkDialogBox}.
+ */
+public class DialogBoxBenchmark {
+    private static final int WARMUP_ROUNDS = 3;
+    private static final int MEASURED_ROUNDS = 5;
+    private static final int MESSAGES_PER_ROUND = 2000;
+    private static final String LEGACY_FXML = "<?xml version=\"1.0\" encoding=\"UTF-8\"?>\n"
+            + "<?import javafx.geometry.Insets?>\n"
+            + "<?import javafx.scene.control.Label?>\n"
+            + "<?import javafx.scene.image.ImageView?>\n"
+            + "<?import javafx.scene.layout.HBox?>\n"
+            + "<fx:root alignment=\"TOP_RIGHT\" maxHeight=\"1.7976931348623157E308\""
+            + " maxWidth=\"1.7976931348623157E308\" prefWidth=\"400.0\" type=\"javafx.scene.layout.HBox\""
+            + " xmlns=\"http://javafx.com/javafx/17\" xmlns:fx=\"http://javafx.com/fxml/1\" spacing=\"10.0\">\n"
+            + "  <children>\n"
+            + "    <Label fx:id=\"dialog\" text=\"Label\" wrapText=\"true\" minHeight=\"-Infinity\" maxWidth=\"300.0\""
+            + " style=\"-fx-text-alignment: left; -fx-alignment: TOP_LEFT;\" />\n"
+            + "    <ImageView fx:id=\"displayPicture\" fitHeight=\"99.0\" fitWidth=\"99.0\" pickOnBounds=\"true\""
+            + " preserveRatio=\"true\" />\n"
+            + "  </children>\n"
+            + "  <padding>\n"
+            + "    <Insets bottom=\"15.0\" left=\"5.0\" right=\"5.0\" top=\"15.0\" />\n"
+            + "  </padding>\n"
+            + "</fx:root>\n";
+
+    private final Image userImage = new Image(getClass().getResourceAsStream("/images/LadisUser.jpg"));
+    private final ChatMessage message = ChatMessage.fromUser("list /type D /pending");
+    private final StackPane container = new StackPane();
+
+    /**
+     * Runs the benchmark on the JavaFX application thread and prints messages per second for each approach.
+     *
+     * @param args Not used.
+     * @throws InterruptedException If interrupted while waiting for the benchmark to finish.
+     */
+    public static void main(String[] args) throws InterruptedException {
+        CountDownLatch done = new CountDownLatch(1);
+        Platform.startup(() -> {
+            try {
+                new DialogBoxBenchmark().run();
+            } finally {
+                done.countDown();
+            }
+        });
+        done.await();
+        Platform.exit();
+    }
+
+    private void run() {
+        Scene scene = new Scene(container, 400, 600);
+        scene.getStylesheets().add(getClass().getResource("/css/main.css").toExternalForm());
+        scene.getStylesheets().add(getClass().getResource("/css/dialog-box.css").toExternalForm());
+
+        report("FXML per message", measure(this::parseLegacyBox));
+        report("built in code", measure(this::buildBox));
+    }
+
+    private Node parseLegacyBox() {
+        try {
+            HBox box = new HBox();
+            FXMLLoader loader = new FXMLLoader();
+            loader.setRoot(box);
+            loader.load(new ByteArrayInputStream(LEGACY_FXML.getBytes(StandardCharsets.UTF_8)));
+            Label dialog = (Label) loader.getNamespace().get("dialog");
+            ImageView displayPicture = (ImageView) loader.getNamespace().get("displayPicture");
+            dialog.setText(message.getText());
+            displayPicture.setImage(userImage);
+            return box;
+        } catch (IOException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private Node buildBox() {
+        DialogBox box = new DialogBox();
+        box.showMessage(message, userImage);
+        return box;
+    }
+
+    /**
+     * Renders rounds of messages with boxes from the factory and returns the best rate of the measured rounds.
+     */
+    private double measure(Supplier<Node> factory) {
+        double best = 0;
+        for (int round = 0; round < WARMUP_ROUNDS + MEASURED_ROUNDS; round++) {
+            long start = System.nanoTime();
+            for (int i = 0; i < MESSAGES_PER_ROUND; i++) {
+                container.getChildren().setAll(factory.get());
+                container.applyCss();
+                container.layout();
+            }
+            double perSecond = MESSAGES_PER_ROUND / ((System.nanoTime() - start) / 1e9);
+            if (round >= WARMUP_ROUNDS) {
+                best = Math.max(best, perSecond);
+            }
+        }
+        return best;
+    }
+
+    private static void report(String name, double perSecond) {
+        System.out.printf("%-18s %,10.0f messages/s%n", name, perSecond);
+    }
+}
@@ -6,6 +6,8 @@ import static org.junit.jupiter.api.Assertions.assertTrue;
 
 import java.time.LocalDate;
 import java.time.LocalTime;
+import java.time.format.DateTimeFormatter;
+import java.util.Locale;
 
 import org.junit.jupiter.api.Test;
 
@@ -59,6 +61,22 @@ public class DateTimeParserTest {
         assertEquals(LocalDate.of(2024, 2, 29), date);
     }
 
+    @Test
+    void parseDate_outOfRangeFields_throwParseException() {
+        String[] invalid = {"2024-13-01", "2024-0-10", "2024-02-30", "2023-02-29", "2024-04-31", "2024-010-05",
+            "2024-01-", "-01-05", "2024-01-05-", "+2024-01-05", "2024-1-5 "};
+        for (String date : invalid) {
+            assertThrows(DateTimeParseException.class, () -> DateTimeParser.parseDate(date));
+        }
+    }
+
+    @Test
+    void parseTime_outOfRangeFields_throwParseException() {
+        for (String time : new String[] {"2400", "1260", "-100", "12 0", "\u0661\u0662\u0660\u0660"}) {
+            assertThrows(DateTimeParseException.class, () -> DateTimeParser.parseTime(time));
+        }
+    }
+
     @Test
     void parseTime_standard() throws DateTimeParseException {
         LocalTime time = DateTimeParser.parseTime("1800");
@@ -208,4 +226,26 @@ public class DateTimeParserTest {
         String serialized = DateTimeParser.serializeDate(date);
         assertEquals("2024-01-01", serialized);
     }
+
+    @Test
+    void serializeAndFormat_everyMinuteOfDay_matchFormatterOutput() {
+        for (int minute = 0; minute < 24 * 60; minute++) {
+            LocalTime time = LocalTime.of(minute / 60, minute % 60);
+            assertEquals(time.format(DateTimeFormatter.ofPattern("HHmm")), DateTimeParser.serializeTime(time));
+            String expected = time.getMinute() == 0
+                    ? time.format(DateTimeFormatter.ofPattern("ha", Locale.ENGLISH)).toLowerCase()
+                    : (time.getHour() == 12 ? 12 : time.getHour() % 12)
+                            + time.format(DateTimeFormatter.ofPattern(":mma", Locale.ENGLISH)).toLowerCase();
+            assertEquals(expected, DateTimeParser.formatTime(time));
+        }
+    }
+
+    @Test
+    void serializeDate_anyYear_matchesFormatter() {
+        DateTimeFormatter format = DateTimeFormatter.ofPattern("yyyy-MM-dd");
+        for (LocalDate date : new LocalDate[] {LocalDate.of(2024, 12, 5), LocalDate.of(7, 1, 31),
+            LocalDate.of(0, 6, 15), LocalDate.of(9999, 12, 31), LocalDate.of(12345, 2, 28)}) {
+            assertEquals(date.format(format), DateTimeParser.serializeDate(date));
+        }
+    }
 }
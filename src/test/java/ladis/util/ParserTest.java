@@ -1,7 +1,9 @@
 package ladis.util;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.junit.jupiter.api.Assertions.assertSame;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 
@@ -12,13 +14,17 @@ import ladis.command.AddDeadlineCommand;
 import ladis.command.AddEventCommand;
 import ladis.command.AddTodoCommand;
 import ladis.command.Command;
+import ladis.command.ConflictsCommand;
 import ladis.command.DeleteCommand;
+import ladis.command.DueCommand;
 import ladis.command.ExitCommand;
 import ladis.command.FindCommand;
+import ladis.command.ListArchiveCommand;
 import ladis.command.ListCommand;
 import ladis.command.MarkCommand;
 import ladis.command.UnmarkCommand;
 import ladis.exception.LadisException;
+import ladis.task.TaskReference;
 
 public class ParserTest {
     private Parser parser;
@@ -40,6 +46,46 @@ public class ParserTest {
         assertInstanceOf(ListCommand.class, command);
     }
 
+    @Test
+    void parse_listFilters() throws LadisException {
+        assertFalse(((ListCommand) parser.parse("list")).isFiltered());
+        assertTrue(((ListCommand) parser.parse("list /pending")).isFiltered());
+        assertTrue(((ListCommand) parser.parse("list /done /type d /type E")).isFiltered());
+        assertTrue(((ListCommand) parser.parse("list /type T  /pending /pending")).isFiltered());
+        assertThrows(LadisException.class, () -> parser.parse("list /pending /done"));
+        assertThrows(LadisException.class, () -> parser.parse("list /type"));
+        assertThrows(LadisException.class, () -> parser.parse("list /type X"));
+        assertThrows(LadisException.class, () -> parser.parse("list /overdue"));
+    }
+
+    @Test
+    void parse_listArchiveCommand() throws LadisException {
+        assertInstanceOf(ListArchiveCommand.class, parser.parse("list archive"));
+        assertInstanceOf(ListArchiveCommand.class, parser.parse("list archive 3"));
+        assertThrows(LadisException.class, () -> parser.parse("list archive three"));
+    }
+
+    @Test
+    void parse_findArchiveCommand() throws LadisException {
+        FindCommand command = (FindCommand) parser.parse("find /archive report");
+        assertTrue(command.isArchiveSearch());
+        assertFalse(((FindCommand) parser.parse("find report")).isArchiveSearch());
+    }
+
+    @Test
+    void parse_dueAndBetweenCommands() throws LadisException {
+        assertInstanceOf(DueCommand.class, parser.parse("due 2024-12-25"));
+        assertInstanceOf(DueCommand.class, parser.parse("between 2024-12-01 /and 2024-12-31"));
+        assertThrows(LadisException.class, () -> parser.parse("due"));
+        assertThrows(LadisException.class, () -> parser.parse("between 2024-12-01"));
+        assertThrows(LadisException.class, () -> parser.parse("between 2024-12-31 /and 2024-12-01"));
+    }
+
+    @Test
+    void parse_conflictsCommand() throws LadisException {
+        assertInstanceOf(ConflictsCommand.class, parser.parse("conflicts"));
+    }
+
     @Test
     void parse_todoCommand() throws LadisException {
         Command command = parser.parse("todo Buy groceries");
@@ -90,6 +136,14 @@ public class ParserTest {
         assertEquals("list", parser.getCommand("list"));
         assertEquals("todo", parser.getCommand("todo Buy milk"));
         assertEquals("deadline", parser.getCommand("deadline Task /by 2024-12-25"));
+        assertEquals("", parser.getCommand(" todo"));
+        assertEquals("todos", parser.getCommand("todos Buy milk"));
+    }
+
+    @Test
+    void getCommand_knownCommand_returnsSharedConstant() {
+        assertSame("todo", parser.getCommand(new String("todo Buy milk")));
+        assertSame("unmark", parser.getCommand(new String("unmark 2")));
     }
 
     @Test
@@ -101,6 +155,17 @@ public class ParserTest {
         assertEquals(4, taskNum);
     }
 
+    @Test
+    void getTaskReference_numberOrId() throws LadisException {
+        assertEquals("3", parser.getTaskReference("delete 3", "delete").toString());
+        TaskReference byId = parser.getTaskReference("delete #12", "delete");
+        assertTrue(byId.isId());
+        assertEquals("#12", byId.toString());
+        assertInstanceOf(MarkCommand.class, parser.parse("mark #4"));
+        assertThrows(LadisException.class, () -> parser.parse("mark #abc"));
+        assertThrows(LadisException.class, () -> parser.parse("archive #0"));
+    }
+
     @Test
     void getTaskNumber_zeroIndexing() throws LadisException {
         int taskNum = parser.getTaskNumber("delete 1", "delete");
@@ -225,6 +290,29 @@ public class ParserTest {
         assertTrue(exception.getMessage().contains("Invalid"));
     }
 
+    @Test
+    void getEventInfo_flagsOutOfOrderOrRepeated_throws() {
+        assertThrows(LadisException.class, () -> parser.getEventInfo("event Trip /to 2024-12-22 /from 2024-12-20"));
+        assertThrows(LadisException.class, () -> parser.getEventInfo("event Trip /from 2024-12-20 /from 2024-12-22"));
+        assertThrows(LadisException.class, () -> parser.getEventInfo("event Trip /from 2024-12-20 /to "));
+    }
+
+    @Test
+    void getDeadlineInfo_flagInsideArguments_keepsTextAroundIt() throws LadisException {
+        String[] info = parser.getDeadlineInfo("deadline Read a/b /by 2024-12-25 /by");
+        assertEquals("Read a/b", info[0]);
+        assertEquals("2024-12-25 /by", info[1]);
+        assertThrows(LadisException.class, () -> parser.getDeadlineInfo("deadline Task /by "));
+    }
+
+    @Test
+    void getTaskReference_surroundingBlanks_ignored() throws LadisException {
+        assertEquals("3", parser.getTaskReference("mark  3 ", "mark").toString());
+        assertEquals("#12", parser.getTaskReference("mark   #12\t", "mark").toString());
+        assertThrows(LadisException.class, () -> parser.getTaskReference("mark #", "mark"));
+        assertThrows(LadisException.class, () -> parser.getTaskReference("mark 3 4", "mark"));
+    }
+
     @Test
     void parse_commandWithExtraSpaces() throws LadisException {
         Command command = parser.parse("mark   1");